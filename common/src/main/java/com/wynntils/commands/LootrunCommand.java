@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.commands;
@@ -386,7 +386,7 @@ public class LootrunCommand extends Command {
 
     private int screenLootrun(CommandContext<CommandSourceStack> context) {
         // Delay is needed to prevent chat screen overwriting the lootrun screen
-        Managers.TickScheduler.scheduleLater(
+        Managers.Scheduler.scheduleLater(
                 () -> WynntilsMenuScreenBase.openBook(WynntilsLootrunPathsScreen.create()), 2);
         return 1;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.commands;
@@ -75,7 +75,7 @@ public class QuestCommand extends Command {
     private int listQuests(CommandContext<CommandSourceStack> context, String sort) {
         ActivitySortOrder order = ActivitySortOrder.fromString(sort);
 
-        Models.Quest.rescanQuestBook(true, false);
+        Models.Quest.refreshQuestBook(true, false);
 
         if (Models.Quest.getQuestsRaw().isEmpty()) {
             context.getSource()
@@ -105,7 +105,7 @@ public class QuestCommand extends Command {
     private int searchQuests(CommandContext<CommandSourceStack> context) {
         String searchText = context.getArgument("text", String.class);
 
-        Models.Quest.rescanQuestBook(true, false);
+        Models.Quest.refreshQuestBook(true, false);
 
         if (Models.Quest.getQuestsRaw().isEmpty()) {
             context.getSource()
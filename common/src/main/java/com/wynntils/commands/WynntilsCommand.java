@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.commands;
@@ -11,18 +11,30 @@ import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.components.type.StartupTime;
 import com.wynntils.core.consumers.commands.Command;
+import com.wynntils.core.events.type.EventListenerMetrics;
+import com.wynntils.core.events.type.EventMetrics;
+import com.wynntils.core.mod.type.SchedulerMetrics;
 import com.wynntils.core.net.ApiResponse;
 import com.wynntils.core.net.UrlId;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.container.type.ContainerQueryMetrics;
+import com.wynntils.models.players.type.UserLookupMetrics;
 import com.wynntils.screens.base.WynntilsMenuScreenBase;
 import com.wynntils.screens.wynntilsmenu.WynntilsMenuScreen;
 import com.wynntils.services.athena.UpdateService;
 import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.mc.McUtils;
+import com.wynntils.utils.render.TextLayoutCache;
+import com.wynntils.utils.type.CacheStats;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -40,6 +52,7 @@ import net.minecraft.network.chat.Style;
 
 public class WynntilsCommand extends Command {
     private static final Pattern STATUS_HEADING = Pattern.compile("<h1 class='status-page__title'>(.*)</h1>");
+    private static final File DEBUG_FOLDER = WynntilsMod.getModStorageDir("debug");
 
     public void registerWithCommands(
             Consumer<LiteralArgumentBuilder<CommandSourceStack>> consumer, List<Command> commands) {
@@ -72,7 +85,24 @@ public class WynntilsCommand extends Command {
                         .then(Commands.literal("profile")
                                 .then(Commands.literal("reset").executes(this::profileReset))
                                 .then(Commands.literal("showAnnotations").executes(this::profileShowAnnotations))
-                                .then(Commands.literal("showOverlays").executes(this::profileShowOverlays))))
+                                .then(Commands.literal("showOverlays").executes(this::profileShowOverlays)))
+                        .then(Commands.literal("scheduler").executes(this::showSchedulerMetrics))
+                        .then(Commands.literal("events")
+                                .then(Commands.literal("enable").executes(context -> setEventMetrics(context, true)))
+                                .then(Commands.literal("disable").executes(context -> setEventMetrics(context, false)))
+                                .then(Commands.literal("reset").executes(this::resetEventMetrics))
+                                .then(Commands.literal("dump").executes(this::dumpEventMetrics))
+                                .executes(this::showEventMetrics))
+                        .then(Commands.literal("layouts")
+                                .then(Commands.literal("reset").executes(this::resetTextLayoutStats))
+                                .executes(this::showTextLayoutStats))
+                        .then(Commands.literal("startup").executes(this::showStartupTimes))
+                        .then(Commands.literal("athena")
+                                .then(Commands.literal("reset").executes(this::resetUserLookupMetrics))
+                                .executes(this::showUserLookupMetrics))
+                        .then(Commands.literal("queries")
+                                .then(Commands.literal("reset").executes(this::resetQueryMetrics))
+                                .executes(this::showQueryMetrics)))
                 .then(Commands.literal("discord").executes(this::discordLink))
                 .then(Commands.literal("donate").executes(this::donateLink))
                 .then(Commands.literal("help").executes(this::help))
@@ -116,6 +146,294 @@ public class WynntilsCommand extends Command {
         return 1;
     }
 
+    private int showSchedulerMetrics(CommandContext<CommandSourceStack> context) {
+        SchedulerMetrics metrics = Managers.Scheduler.getMetrics();
+
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.scheduler.tasks",
+                                        metrics.pendingTickTasks(),
+                                        metrics.queuedAsyncTasks(),
+                                        metrics.activeWorkers(),
+                                        metrics.workerThreads())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.scheduler.latency",
+                                        metrics.completedAsyncTasks(),
+                                        "%.2f".formatted(metrics.averageAsyncLatencyMs()),
+                                        metrics.maxAsyncLatencyMs())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
+    private int showUserLookupMetrics(CommandContext<CommandSourceStack> context) {
+        UserLookupMetrics metrics = Models.Player.getLookupMetrics();
+
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.athena.batches",
+                                        metrics.lookups(),
+                                        metrics.batches(),
+                                        "%.1f".formatted(metrics.averageBatchSize()),
+                                        "%.1f".formatted(metrics.averageBatchLatencyMs()),
+                                        metrics.maxBatchLatencyMs())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.athena.cache",
+                                        metrics.cachedUsers(),
+                                        metrics.cachedNonUsers(),
+                                        metrics.cacheHits())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
+    private int resetUserLookupMetrics(CommandContext<CommandSourceStack> context) {
+        Models.Player.resetLookupMetrics();
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable("command.wynntils.debug.athena.cleared")
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+
+        return 1;
+    }
+
+    private int showStartupTimes(CommandContext<CommandSourceStack> context) {
+        List<StartupTime> startupTimes = WynntilsMod.getStartupTimes();
+        if (startupTimes.isEmpty()) {
+            context.getSource()
+                    .sendFailure(Component.translatable("command.wynntils.debug.startup.none")
+                            .withStyle(ChatFormatting.YELLOW));
+            return 1;
+        }
+
+        for (StartupTime startupTime : startupTimes) {
+            context.getSource()
+                    .sendSuccess(
+                            () -> Component.translatable(
+                                            startupTime.parallel()
+                                                    ? "command.wynntils.debug.startup.timeParallel"
+                                                    : "command.wynntils.debug.startup.time",
+                                            startupTime.name(),
+                                            "%.1f".formatted(startupTime.durationMs()))
+                                    .withStyle(ChatFormatting.AQUA),
+                            false);
+        }
+
+        return 1;
+    }
+
+    private int showQueryMetrics(CommandContext<CommandSourceStack> context) {
+        List<ContainerQueryMetrics> queryMetrics = Handlers.ContainerQuery.getQueryMetrics();
+        if (queryMetrics.isEmpty()) {
+            context.getSource()
+                    .sendFailure(Component.translatable("command.wynntils.debug.queries.none")
+                            .withStyle(ChatFormatting.YELLOW));
+            return 1;
+        }
+
+        for (ContainerQueryMetrics metrics : queryMetrics) {
+            context.getSource()
+                    .sendSuccess(
+                            () -> Component.translatable(
+                                            "command.wynntils.debug.queries.query",
+                                            metrics.name(),
+                                            metrics.runs(),
+                                            metrics.failures(),
+                                            metrics.merged(),
+                                            "%.0f".formatted(metrics.averageDurationMs()),
+                                            "%.1f".formatted(metrics.averageSteps()))
+                                    .withStyle(ChatFormatting.AQUA),
+                            false);
+        }
+
+        Handlers.ContainerQuery.getStepDelays()
+                .forEach((container, delay) -> context.getSource()
+                        .sendSuccess(
+                                () -> Component.translatable(
+                                                "command.wynntils.debug.queries.delay",
+                                                StyledText.fromString(container).getStringWithoutFormatting(),
+                                                delay)
+                                        .withStyle(ChatFormatting.GRAY),
+                                false));
+
+        return 1;
+    }
+
+    private int resetQueryMetrics(CommandContext<CommandSourceStack> context) {
+        Handlers.ContainerQuery.resetQueryMetrics();
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable("command.wynntils.debug.queries.cleared")
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+
+        return 1;
+    }
+
+    private int setEventMetrics(CommandContext<CommandSourceStack> context, boolean enabled) {
+        WynntilsMod.setEventMetricsEnabled(enabled);
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        enabled
+                                                ? "command.wynntils.debug.events.enabled"
+                                                : "command.wynntils.debug.events.disabled")
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+
+        return 1;
+    }
+
+    private int showEventMetrics(CommandContext<CommandSourceStack> context) {
+        List<EventMetrics> eventMetrics = WynntilsMod.getEventMetrics();
+        if (eventMetrics.isEmpty() && !WynntilsMod.isEventMetricsEnabled()) {
+            context.getSource()
+                    .sendFailure(Component.translatable("command.wynntils.debug.events.notEnabled")
+                            .withStyle(ChatFormatting.YELLOW));
+            return 1;
+        }
+        if (eventMetrics.isEmpty()) {
+            context.getSource()
+                    .sendFailure(Component.translatable("command.wynntils.debug.events.none")
+                            .withStyle(ChatFormatting.YELLOW));
+            return 1;
+        }
+
+        StringBuilder eventList = new StringBuilder();
+        eventMetrics.stream().limit(10).forEach(metrics -> eventList.append(formatEventMetrics(metrics)));
+
+        // Listeners are summed per owner, which for most listeners is the feature they belong to
+        Map<String, Double> timeByOwner = new HashMap<>();
+        Map<String, Long> invocationsByOwner = new HashMap<>();
+        for (EventListenerMetrics metrics : WynntilsMod.getEventListenerMetrics()) {
+            timeByOwner.merge(metrics.owner(), metrics.totalTimeMs(), Double::sum);
+            invocationsByOwner.merge(metrics.owner(), metrics.invocations(), Long::sum);
+        }
+
+        StringBuilder ownerList = new StringBuilder();
+        timeByOwner.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(10)
+                .forEach(entry -> ownerList.append("%9.2f ms, %8d c  %s\n"
+                        .formatted(entry.getValue(), invocationsByOwner.get(entry.getKey()), entry.getKey())));
+
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable("command.wynntils.debug.events.slowestEvents")
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+        context.getSource()
+                .sendSuccess(() -> Component.literal(eventList.toString()).withStyle(ChatFormatting.AQUA), false);
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable("command.wynntils.debug.events.slowestOwners")
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+        context.getSource()
+                .sendSuccess(() -> Component.literal(ownerList.toString()).withStyle(ChatFormatting.AQUA), false);
+
+        return 1;
+    }
+
+    private int dumpEventMetrics(CommandContext<CommandSourceStack> context) {
+        StringBuilder dump = new StringBuilder("Events, by total listener time\n");
+        WynntilsMod.getEventMetrics().forEach(metrics -> dump.append(formatEventMetrics(metrics)));
+
+        dump.append("\nListeners, by total time\n");
+        WynntilsMod.getEventListenerMetrics()
+                .forEach(metrics -> dump.append("%9.2f ms, %8d c, max %7.2f ms  %s\n"
+                        .formatted(
+                                metrics.totalTimeMs(),
+                                metrics.invocations(),
+                                metrics.maxTimeMs(),
+                                metrics.listener())));
+
+        String fileName = "events-" + System.currentTimeMillis() + ".txt";
+        File dumpFile = new File(DEBUG_FOLDER, fileName);
+        FileUtils.mkdir(DEBUG_FOLDER);
+
+        try {
+            Files.writeString(dumpFile.toPath(), dump.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            WynntilsMod.warn("Failed to write event metrics to " + fileName, e);
+            context.getSource()
+                    .sendFailure(Component.translatable("command.wynntils.debug.events.dumpFailed", fileName)
+                            .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable("command.wynntils.debug.events.dumped", fileName)
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+
+        return 1;
+    }
+
+    private int resetEventMetrics(CommandContext<CommandSourceStack> context) {
+        WynntilsMod.resetEventMetrics();
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable("command.wynntils.debug.events.cleared")
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+
+        return 1;
+    }
+
+    private int showTextLayoutStats(CommandContext<CommandSourceStack> context) {
+        CacheStats stats = TextLayoutCache.getStats();
+
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.layouts.stats",
+                                        stats.size(),
+                                        stats.maxSize(),
+                                        stats.hits(),
+                                        stats.misses(),
+                                        "%.1f".formatted(stats.getHitRate() * 100))
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
+    private int resetTextLayoutStats(CommandContext<CommandSourceStack> context) {
+        TextLayoutCache.resetStats();
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable("command.wynntils.debug.layouts.cleared")
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+
+        return 1;
+    }
+
+    private static String formatEventMetrics(EventMetrics metrics) {
+        return "%9.2f ms, %8d posts, %7.1f/s, %3d listeners  %s\n"
+                .formatted(
+                        metrics.totalListenerTimeMs(),
+                        metrics.posts(),
+                        metrics.postsPerSecond(),
+                        metrics.listenerCount(),
+                        metrics.eventName());
+    }
+
     private void showProfilingData(
             CommandContext<CommandSourceStack> context,
             Map<Class<?>, Integer> profilingTimes,
@@ -191,7 +509,7 @@ public class WynntilsCommand extends Command {
                                 .withStyle(ChatFormatting.YELLOW),
                         false);
 
-        Managers.TickScheduler.scheduleLater(
+        Managers.Scheduler.scheduleLater(
                 () -> {
                     FileUtils.deleteFolder(Managers.Net.getCacheDir());
                     FileUtils.deleteFolder(Services.Update.getUpdatesFolder());
@@ -367,7 +685,7 @@ public class WynntilsCommand extends Command {
 
     private int menu(CommandContext<CommandSourceStack> context) {
         // Delay is needed to prevent chat screen overwriting the menu screen
-        Managers.TickScheduler.scheduleLater(() -> WynntilsMenuScreenBase.openBook(WynntilsMenuScreen.create()), 2);
+        Managers.Scheduler.scheduleLater(() -> WynntilsMenuScreenBase.openBook(WynntilsMenuScreen.create()), 2);
         return 1;
     }
 
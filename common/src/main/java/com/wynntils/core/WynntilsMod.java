@@ -1,11 +1,12 @@
 /*
- * Copyright © Wynntils 2021-2023.
+ * Copyright © Wynntils 2021-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.wynntils.core.components.ComponentLoader;
 import com.wynntils.core.components.CoreComponent;
 import com.wynntils.core.components.Handler;
 import com.wynntils.core.components.Handlers;
@@ -15,21 +16,26 @@ import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Service;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.components.type.StartupTime;
 import com.wynntils.core.events.EventBusWrapper;
+import com.wynntils.core.events.type.EventListenerMetrics;
+import com.wynntils.core.events.type.EventMetrics;
 import com.wynntils.core.mod.event.WynntilsCrashEvent;
 import com.wynntils.core.mod.type.CrashType;
 import com.wynntils.utils.mc.McUtils;
+import com.wynntils.utils.render.TextLayoutCache;
 import java.io.File;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Collectors;
 import net.minecraft.SharedConstants;
 import net.minecraftforge.eventbus.api.Event;
-import net.minecraftforge.eventbus.api.IEventBus;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,16 +46,16 @@ public final class WynntilsMod {
     public static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
-    private static final File MOD_STORAGE_ROOT = new File(McUtils.mc().gameDirectory, MOD_ID);
 
     private static ModLoader modLoader;
     private static String version = "";
     private static boolean developmentBuild = false;
     private static boolean developmentEnvironment;
-    private static IEventBus eventBus;
+    private static EventBusWrapper eventBus;
     private static File modJar;
     private static boolean initCompleted = false;
     private static final Map<Class<? extends CoreComponent>, List<CoreComponent>> componentMap = new HashMap<>();
+    private static final List<StartupTime> startupTimes = new ArrayList<>();
 
     public static ModLoader getModLoader() {
         return modLoader;
@@ -73,13 +79,48 @@ public final class WynntilsMod {
     }
 
     public static void postEventOnMainThread(Event event) {
-        Managers.TickScheduler.scheduleNextTick(() -> postEvent(event));
+        Managers.Scheduler.scheduleNextTick(() -> postEvent(event));
+    }
+
+    /**
+     * @return whether posting an event of the given type would reach any listener
+     */
+    public static boolean hasEventListeners(Class<? extends Event> eventClass) {
+        return eventBus != null && eventBus.hasListeners(eventClass);
+    }
+
+    public static boolean isEventMetricsEnabled() {
+        return eventBus.isMetricsEnabled();
+    }
+
+    public static void setEventMetricsEnabled(boolean enabled) {
+        eventBus.setMetricsEnabled(enabled);
+    }
+
+    public static List<EventMetrics> getEventMetrics() {
+        return eventBus.getEventMetrics();
+    }
+
+    public static List<EventListenerMetrics> getEventListenerMetrics() {
+        return eventBus.getListenerMetrics();
+    }
+
+    public static void resetEventMetrics() {
+        eventBus.resetMetrics();
     }
 
     public static void reloadAllComponentData() {
-        componentMap.get(Manager.class).forEach(c -> ((Manager) c).reloadData());
-        componentMap.get(Model.class).forEach(c -> ((Model) c).reloadData());
-        componentMap.get(Service.class).forEach(c -> ((Service) c).reloadData());
+        componentMap.get(Manager.class).forEach(CoreComponent::reloadData);
+        new ComponentLoader(getDataLoadedComponents()).loadAll();
+    }
+
+    /**
+     * @return how long each step of the startup took, slowest first
+     */
+    public static List<StartupTime> getStartupTimes() {
+        return startupTimes.stream()
+                .sorted(Comparator.comparingDouble(StartupTime::durationMs).reversed())
+                .toList();
     }
 
     private static void handleExceptionInEventListener(Throwable t, Event event) {
@@ -125,7 +166,8 @@ public final class WynntilsMod {
     }
 
     public static File getModStorageDir(String dirName) {
-        return new File(MOD_STORAGE_ROOT, dirName);
+        // Not kept in a static field, so this class can be loaded without a running client, like in benchmarks
+        return new File(new File(McUtils.mc().gameDirectory, MOD_ID), dirName);
     }
 
     public static InputStream getModResourceAsStream(String resourceName) {
@@ -158,6 +200,9 @@ public final class WynntilsMod {
 
     // Ran when resources (including I18n) are available
     public static void onResourcesFinishedLoading() {
+        // A resource pack can change the font, so text has to be laid out again
+        TextLayoutCache.invalidateAll();
+
         if (initCompleted) return;
         initCompleted = true;
 
@@ -192,13 +237,32 @@ public final class WynntilsMod {
         registerComponents(Models.class, Model.class);
         registerComponents(Services.class, Service.class);
 
+        // Managers load their data when created, as the other components rely on them
+        long loadStartTime = System.nanoTime();
+        List<StartupTime> loadTimes = new ComponentLoader(getDataLoadedComponents()).loadAll();
+        startupTimes.addAll(loadTimes);
+        LOGGER.info(
+                "Wynntils: Loaded data of {} components in {} ms; slowest: {}",
+                loadTimes.size(),
+                (System.nanoTime() - loadStartTime) / 1_000_000,
+                describeSlowest(loadTimes));
+
         // Init storage for loaded components immediately
         Managers.Storage.initComponents();
 
         addCrashCallbacks();
     }
 
+    private static List<CoreComponent> getDataLoadedComponents() {
+        List<CoreComponent> components = new ArrayList<>(componentMap.get(Model.class));
+        components.addAll(componentMap.get(Service.class));
+        return components;
+    }
+
     private static void registerComponents(Class<?> registryClass, Class<? extends CoreComponent> componentClass) {
+        // The components are created when the registry class is first accessed below
+        long startTime = System.nanoTime();
+
         // Register all handler singletons as event listeners
         List<CoreComponent> components = componentMap.computeIfAbsent(componentClass, k -> new ArrayList<>());
 
@@ -215,6 +279,26 @@ public final class WynntilsMod {
                         throw new RuntimeException(e);
                     }
                 });
+
+        addStartupTime(registryClass.getSimpleName(), startTime);
+    }
+
+    private static void runTimed(String name, Runnable step) {
+        long startTime = System.nanoTime();
+        step.run();
+        addStartupTime(name, startTime);
+    }
+
+    private static void addStartupTime(String name, long startTime) {
+        startupTimes.add(new StartupTime(name, (System.nanoTime() - startTime) / 1_000_000d, false));
+    }
+
+    private static String describeSlowest(List<StartupTime> times) {
+        return times.stream()
+                .sorted(Comparator.comparingDouble(StartupTime::durationMs).reversed())
+                .limit(5)
+                .map(time -> String.format(Locale.ROOT, "%s (%.1f ms)", time.name(), time.durationMs()))
+                .collect(Collectors.joining(", "));
     }
 
     private static void parseVersion(String modVersion) {
@@ -227,21 +311,29 @@ public final class WynntilsMod {
     }
 
     private static void initFeatures() {
+        // These touch Minecraft state and depend on each other, so they must run in order on the main thread
         // Init all features and functions. Now resources (i.e I18n) are available.
-        Managers.Feature.init();
-        Managers.Function.init();
+        runTimed("Features", Managers.Feature::init);
+        runTimed("Functions", Managers.Function::init);
 
         // Init config and data from files
-        Managers.Config.init();
-        Managers.Storage.initFeatures();
+        runTimed("Configs", Managers.Config::init);
+        runTimed("Feature storage", Managers.Storage::initFeatures);
 
         // Init services that depends on I18n
-        Services.Statistics.init();
+        runTimed("Statistics", Services.Statistics::init);
 
         LOGGER.info(
                 "Wynntils: {} features and {} functions are now loaded and ready",
                 Managers.Feature.getFeatures().size(),
                 Managers.Function.getFunctions().size());
+        LOGGER.info(
+                "Wynntils: Startup steps took {} ms in total; slowest: {}",
+                Math.round(startupTimes.stream()
+                        .filter(time -> !time.parallel())
+                        .mapToDouble(StartupTime::durationMs)
+                        .sum()),
+                describeSlowest(startupTimes));
     }
 
     private static void addCrashCallbacks() {
@@ -0,0 +1,133 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.components;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.type.StartupTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads the data of a set of components, each one after the components it depends on.
+ *
+ * Components which declare {@link CoreComponent#canLoadDataInParallel()} are loaded on worker threads,
+ * as soon as their dependencies are done. All other components are loaded on the calling thread,
+ * in dependency order. {@link #loadAll()} returns when every component has finished loading.
+ */
+public final class ComponentLoader {
+    private static final long LOAD_TIMEOUT_SECONDS = 30;
+
+    private final List<CoreComponent> components;
+    private final Executor executor = runnable -> Managers.Scheduler.runAsync(runnable);
+    private final List<StartupTime> loadTimes = Collections.synchronizedList(new ArrayList<>());
+
+    public ComponentLoader(List<CoreComponent> components) {
+        this.components = components;
+    }
+
+    /**
+     * @return how long each component took to load, slowest first
+     */
+    public List<StartupTime> loadAll() {
+        Map<CoreComponent, CompletableFuture<Void>> loaded = new IdentityHashMap<>();
+
+        for (CoreComponent component : getLoadOrder()) {
+            CompletableFuture<?>[] dependencies = component.getDependencies().stream()
+                    .map(loaded::get)
+                    .filter(Objects::nonNull)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture<Void> dependenciesLoaded = CompletableFuture.allOf(dependencies);
+
+            if (component.canLoadDataInParallel()) {
+                loaded.put(component, dependenciesLoaded.thenRunAsync(() -> load(component, true), executor));
+            } else {
+                await(dependenciesLoaded, component.getClass().getSimpleName());
+                load(component, false);
+                loaded.put(component, CompletableFuture.completedFuture(null));
+            }
+        }
+
+        await(CompletableFuture.allOf(loaded.values().toArray(CompletableFuture[]::new)), "all components");
+
+        List<StartupTime> sortedTimes = new ArrayList<>(loadTimes);
+        sortedTimes.sort(Comparator.comparingDouble(StartupTime::durationMs).reversed());
+        return sortedTimes;
+    }
+
+    private void load(CoreComponent component, boolean parallel) {
+        long startTime = System.nanoTime();
+
+        try {
+            component.reloadData();
+        } catch (Throwable t) {
+            WynntilsMod.error("Failed to load data for " + component.getClass().getSimpleName(), t);
+        }
+
+        double durationMs = (System.nanoTime() - startTime) / 1_000_000d;
+        loadTimes.add(new StartupTime(component.getClass().getSimpleName(), durationMs, parallel));
+    }
+
+    /**
+     * Orders the components so every component comes after its dependencies. Dependencies outside
+     * of the loaded components are considered already loaded.
+     */
+    private List<CoreComponent> getLoadOrder() {
+        Set<CoreComponent> componentSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        componentSet.addAll(components);
+
+        Set<CoreComponent> ordered = new LinkedHashSet<>();
+        Set<CoreComponent> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CoreComponent component : components) {
+            addInLoadOrder(component, componentSet, visiting, ordered);
+        }
+
+        return new ArrayList<>(ordered);
+    }
+
+    private void addInLoadOrder(
+            CoreComponent component,
+            Set<CoreComponent> componentSet,
+            Set<CoreComponent> visiting,
+            Set<CoreComponent> ordered) {
+        if (ordered.contains(component)) return;
+        if (!visiting.add(component)) {
+            WynntilsMod.warn("Dependency cycle found when loading " + component.getClass().getSimpleName());
+            return;
+        }
+
+        for (CoreComponent dependency : component.getDependencies()) {
+            if (componentSet.contains(dependency)) {
+                addInLoadOrder(dependency, componentSet, visiting, ordered);
+            }
+        }
+
+        visiting.remove(component);
+        ordered.add(component);
+    }
+
+    private static void await(CompletableFuture<?> future, String description) {
+        try {
+            future.get(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            WynntilsMod.warn("Timed out waiting for " + description + " to load");
+        } catch (ExecutionException e) {
+            WynntilsMod.error("Failed waiting for " + description + " to load", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
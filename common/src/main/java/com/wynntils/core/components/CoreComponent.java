@@ -1,18 +1,45 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.components;
 
 import com.google.common.base.CaseFormat;
 import com.wynntils.core.persisted.storage.Storageable;
+import java.util.List;
 import java.util.Locale;
 
 public abstract class CoreComponent implements Storageable {
+    private final List<? extends CoreComponent> dependencies;
+
+    protected CoreComponent(List<? extends CoreComponent> dependencies) {
+        this.dependencies = List.copyOf(dependencies);
+    }
+
     @Override
     public String getStorageJsonName() {
         String name = this.getClass().getSimpleName().replace(getTypeName(), "");
         String nameCamelCase = CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_CAMEL, name);
         return getTypeName().toLowerCase(Locale.ROOT) + "." + nameCamelCase;
     }
+
+    public List<? extends CoreComponent> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Loads, or reloads, the data this component needs, like downloaded json files.
+     * This is called once at startup, after all components have been created, and later
+     * whenever a reload of all data is requested.
+     */
+    public void reloadData() {}
+
+    /**
+     * Whether {@link #reloadData()} can run on a worker thread, in parallel with other components.
+     * This must only be true if it does not touch Minecraft state, nor data of components other
+     * than its dependencies.
+     */
+    public boolean canLoadDataInParallel() {
+        return false;
+    }
 }
@@ -1,9 +1,11 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.components;
 
+import java.util.List;
+
 /**
  * Handlers span the bridge between Minecraft and Wynncraft. They manage a certain
  * aspect of Minecraft functionality, and with some Wynncraft knowledge, they distribute
@@ -13,7 +15,9 @@ package com.wynntils.core.components;
  * Handlers are created as singletons in the {@link Handlers} holding class.
  */
 public abstract class Handler extends CoreComponent {
-    protected Handler() {}
+    protected Handler() {
+        super(List.of());
+    }
 
     @Override
     public String getTypeName() {
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.components;
@@ -13,7 +13,7 @@ import com.wynntils.core.json.JsonManager;
 import com.wynntils.core.keybinds.KeyBindManager;
 import com.wynntils.core.mod.ConnectionManager;
 import com.wynntils.core.mod.CrashReportManager;
-import com.wynntils.core.mod.TickSchedulerManager;
+import com.wynntils.core.mod.SchedulerManager;
 import com.wynntils.core.net.NetManager;
 import com.wynntils.core.net.UrlManager;
 import com.wynntils.core.notifications.NotificationManager;
@@ -38,8 +38,8 @@ public final class Managers {
     public static final KeyBindManager KeyBind = new KeyBindManager();
     public static final NotificationManager Notification = new NotificationManager();
     public static final PersistedManager Persisted = new PersistedManager();
+    public static final SchedulerManager Scheduler = new SchedulerManager();
     public static final StorageManager Storage = new StorageManager();
-    public static final TickSchedulerManager TickScheduler = new TickSchedulerManager();
     public static final UpfixerManager Upfixer = new UpfixerManager();
 
     // Managers with constructor dependencies, ordered alphabetically as far as possible
@@ -96,7 +96,6 @@ public final class Models {
     public static final ObjectivesModel Objectives = new ObjectivesModel();
     public static final PartyModel Party = new PartyModel();
     public static final InventoryModel Inventory = new InventoryModel();
-    public static final PlayerModel Player = new PlayerModel();
     public static final ProfessionModel Profession = new ProfessionModel();
     public static final QuestModel Quest = new QuestModel();
     public static final RaidModel Raid = new RaidModel();
@@ -122,6 +121,7 @@ public final class Models {
     public static final ActivityModel Activity = new ActivityModel(Marker);
     public static final GuildAttackTimerModel GuildAttackTimer = new GuildAttackTimerModel(Marker);
     public static final LootrunModel Lootrun = new LootrunModel(Marker);
+    public static final PlayerModel Player = new PlayerModel(Party, Friends);
     public static final RewardsModel Rewards = new RewardsModel(WynnItem);
     public static final IngredientModel Ingredient = new IngredientModel(WynnItem);
 }
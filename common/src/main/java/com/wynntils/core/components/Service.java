@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.components;
@@ -18,17 +18,14 @@ import java.util.List;
  */
 public abstract class Service extends CoreComponent {
     protected Service(List<Service> dependencies) {
-        // dependencies are technically not used, but only required
-        // as a reminder for implementers to be wary about dependencies
-
-        // A manager is responsible for never accessing another manager except
-        // those listed in the dependencies, due to bootstrapping ordering
+        // A service is responsible for never accessing another service except
+        // those listed in the dependencies, due to bootstrapping ordering.
+        // The dependencies also decide the order data is loaded in at startup.
+        super(dependencies);
     }
 
     @Override
     public String getTypeName() {
         return "Service";
     }
-
-    public void reloadData() {}
 }
@@ -0,0 +1,11 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.components.type;
+
+/**
+ * How long a step of the mod startup took.
+ * @param parallel whether the step ran on a worker thread, in parallel with other steps
+ */
+public record StartupTime(String name, double durationMs, boolean parallel) {}
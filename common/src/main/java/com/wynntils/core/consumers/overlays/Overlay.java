@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.overlays;
@@ -9,6 +9,7 @@ import com.google.common.collect.ComparisonChain;
 import com.mojang.blaze3d.platform.Window;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.consumers.features.AbstractConfigurable;
 import com.wynntils.core.mod.type.CrashType;
@@ -88,6 +89,9 @@ public abstract class Overlay extends AbstractConfigurable implements Comparable
         }
 
         callOnConfigUpdate(config);
+
+        // Overlays can hide scoreboard segments, depending on their config
+        Handlers.Scoreboard.refreshSegments();
     }
 
     protected abstract void onConfigUpdate(Config<?> config);
@@ -7,6 +7,7 @@ package com.wynntils.core.consumers.overlays;
 import com.mojang.blaze3d.platform.Window;
 import com.mojang.blaze3d.vertex.BufferBuilder;
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Manager;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.consumers.features.Feature;
@@ -89,6 +90,8 @@ public final class OverlayManager extends Manager {
 
         enabledOverlays.remove(disabledOverlay);
         WynntilsMod.unregisterEventListener(disabledOverlay);
+        // Segments hidden by the overlay are shown again, or the other way around
+        Handlers.Scoreboard.refreshSegments();
 
         enabledOverlays.forEach(
                 overlay -> overlay.getConfigOptionFromString("userEnabled").ifPresent(overlay::callOnConfigUpdate));
@@ -103,6 +106,8 @@ public final class OverlayManager extends Manager {
 
         enabledOverlays.add(enableOverlay);
         WynntilsMod.registerEventListener(enableOverlay);
+        // Segments hidden by the overlay are shown again, or the other way around
+        Handlers.Scoreboard.refreshSegments();
 
         enabledOverlays.forEach(
                 overlay -> overlay.getConfigOptionFromString("userEnabled").ifPresent(overlay::callOnConfigUpdate));
@@ -1,33 +1,253 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.events;
 
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.events.type.EventListenerMetrics;
+import com.wynntils.core.events.type.EventMetrics;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 import net.minecraftforge.eventbus.BusBuilderImpl;
 import net.minecraftforge.eventbus.EventBus;
 import net.minecraftforge.eventbus.api.BusBuilder;
 import net.minecraftforge.eventbus.api.Event;
-import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.EventListenerHelper;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBusInvokeDispatcher;
+import net.minecraftforge.eventbus.api.IEventListener;
+import org.apache.commons.lang3.reflect.FieldUtils;
 
+/**
+ * The event bus used by Wynntils. On top of the Forge event bus, it can tell cheaply if an event type has
+ * any listeners, so hot paths can avoid creating events nobody listens to.
+ *
+ * When metrics are enabled, it also keeps per event type and per listener statistics. This costs two clock
+ * reads per listener call, so it is off by default outside of development.
+ *
+ * In development, it also checks that events are posted on the thread they are annotated for.
+ */
 public final class EventBusWrapper extends EventBus {
-    private EventBusWrapper(BusBuilderImpl busBuilder) {
+    private static final int POST_HISTORY_SECONDS = 60;
+    private static final int POSTS_PER_SECOND_WINDOW_SECONDS = 10;
+
+    private final boolean checkThreads;
+    // -1 if the bus id could not be read, and listeners can not be looked up
+    private final int busId;
+    private final IEventBusInvokeDispatcher timedDispatcher = this::invokeListener;
+
+    private volatile boolean metricsEnabled;
+    private boolean listenerLookupFailed = false;
+
+    // Replaced, not cleared, when listeners change, so a lookup racing with a registration
+    // can never store a stale answer in the new cache
+    private volatile Map<Class<?>, Boolean> hasListenersCache = new ConcurrentHashMap<>();
+
+    private final Map<Class<? extends Event>, EventTypeStats> eventTypeStats = new ConcurrentHashMap<>();
+    private final Map<IEventListener, ListenerStats> listenerStats = new ConcurrentHashMap<>();
+    // Listeners are recreated every time their owner is registered, so stats are kept by name
+    private final Map<String, ListenerStats> listenerStatsByName = new ConcurrentHashMap<>();
+
+    private EventBusWrapper(BusBuilderImpl busBuilder, boolean developmentEnvironment) {
         super(busBuilder);
+        this.checkThreads = developmentEnvironment;
+        this.metricsEnabled = developmentEnvironment;
+        this.busId = readBusId();
     }
 
-    public static IEventBus createEventBus() {
-        if (WynntilsMod.isDevelopmentEnvironment()) {
-            return new EventBusWrapper((BusBuilderImpl) BusBuilder.builder());
-        } else {
-            return BusBuilder.builder().build();
+    public static EventBusWrapper createEventBus() {
+        return createEventBus(WynntilsMod.isDevelopmentEnvironment());
+    }
+
+    public static EventBusWrapper createEventBus(boolean developmentEnvironment) {
+        return new EventBusWrapper((BusBuilderImpl) BusBuilder.builder(), developmentEnvironment);
+    }
+
+    @Override
+    public void register(Object target) {
+        super.register(target);
+
+        String owner = getOwnerName(target);
+        for (IEventListener listener : getRegisteredListeners(target)) {
+            String name = owner + "." + getMethodName(listener);
+            listenerStats.put(listener, listenerStatsByName.computeIfAbsent(name, k -> new ListenerStats(owner, k)));
         }
+
+        hasListenersCache = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void unregister(Object object) {
+        List<IEventListener> listeners = getRegisteredListeners(object);
+
+        super.unregister(object);
+
+        listeners.forEach(listenerStats::remove);
+        hasListenersCache = new ConcurrentHashMap<>();
     }
 
     @Override
     public boolean post(Event event) {
         Class<? extends Event> eventClass = event.getClass();
+        if (checkThreads) {
+            checkThread(eventClass);
+        }
+
+        if (!metricsEnabled) return super.post(event);
+
+        eventTypeStats.computeIfAbsent(eventClass, EventTypeStats::new).recordPost();
+
+        return post(event, timedDispatcher);
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * Starts or stops collecting statistics. Collected statistics are kept until reset.
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    /**
+     * @return whether any listener would receive an event of the given type
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        // Without the bus id, nothing can be skipped
+        if (busId < 0) return true;
+
+        Map<Class<?>, Boolean> cache = hasListenersCache;
+
+        Boolean hasListeners = cache.get(eventClass);
+        if (hasListeners == null) {
+            hasListeners = getListenerCount(eventClass) > 0;
+            cache.put(eventClass, hasListeners);
+        }
+
+        return hasListeners;
+    }
+
+    /**
+     * @return the statistics of every event type posted since the last reset, by most listener time first
+     */
+    public List<EventMetrics> getEventMetrics() {
+        return eventTypeStats.values().stream()
+                .map(EventTypeStats::toMetrics)
+                .sorted(Comparator.comparingDouble(EventMetrics::totalListenerTimeMs).reversed())
+                .toList();
+    }
+
+    /**
+     * @return the statistics of every listener invoked since the last reset, by most time spent first
+     */
+    public List<EventListenerMetrics> getListenerMetrics() {
+        return listenerStatsByName.values().stream()
+                .filter(stats -> stats.invocations.sum() > 0)
+                .map(ListenerStats::toMetrics)
+                .sorted(Comparator.comparingDouble(EventListenerMetrics::totalTimeMs).reversed())
+                .toList();
+    }
+
+    public void resetMetrics() {
+        eventTypeStats.clear();
+        listenerStatsByName.values().forEach(ListenerStats::reset);
+    }
+
+    private void invokeListener(IEventListener listener, Event event) {
+        long start = System.nanoTime();
+        try {
+            listener.invoke(event);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+
+            ListenerStats stats = listenerStats.get(listener);
+            if (stats != null) {
+                stats.record(elapsed);
+            }
+
+            EventTypeStats typeStats = eventTypeStats.get(event.getClass());
+            if (typeStats != null) {
+                typeStats.listenerTimeNanos.add(elapsed);
+            }
+        }
+    }
+
+    private int getListenerCount(Class<? extends Event> eventClass) {
+        if (busId < 0) return 0;
+
+        int count = 0;
+        for (IEventListener listener : EventListenerHelper.getListenerList(eventClass).getListeners(busId)) {
+            // The listener list contains a marker for each priority, which are not real listeners
+            if (!(listener instanceof EventPriority)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<IEventListener> getRegisteredListeners(Object target) {
+        if (listenerLookupFailed) return List.of();
+
+        try {
+            Map<Object, List<IEventListener>> listeners =
+                    (Map<Object, List<IEventListener>>) FieldUtils.readField(this, "listeners", true);
+            List<IEventListener> targetListeners = listeners.get(target);
+            return targetListeners == null ? List.of() : List.copyOf(targetListeners);
+        } catch (IllegalAccessException | IllegalArgumentException | ClassCastException e) {
+            // Only listener statistics depend on this, so keep going without them
+            listenerLookupFailed = true;
+            WynntilsMod.warn("Cannot read event listeners, listener statistics are disabled", e);
+            return List.of();
+        }
+    }
+
+    private int readBusId() {
+        try {
+            return (int) FieldUtils.readField(this, "busID", true);
+        } catch (IllegalAccessException | IllegalArgumentException | ClassCastException e) {
+            // The field is private to the event bus library, and may change with it
+            WynntilsMod.warn("Cannot read the event bus id, events will be posted without checking for listeners", e);
+            return -1;
+        }
+    }
+
+    private static String getOwnerName(Object target) {
+        Class<?> ownerClass = target instanceof Class<?> clazz ? clazz : target.getClass();
+
+        // Anonymous and lambda classes have no useful simple name
+        String simpleName = ownerClass.getSimpleName();
+        return simpleName.isEmpty() ? ownerClass.getName() : simpleName;
+    }
+
+    private static String getEventName(Class<? extends Event> eventClass) {
+        // Keep the outer class of nested events, like ContainerSetSlotEvent.Pre
+        return eventClass.getName().substring(eventClass.getPackageName().length() + 1).replace('$', '.');
+    }
+
+    private static String getMethodName(IEventListener listener) {
+        // Listeners created for a @SubscribeEvent method describe themselves as "ASM: <owner> <name><descriptor>"
+        String description = listener.toString();
+        int descriptorStart = description.lastIndexOf('(');
+        if (descriptorStart < 0) return description;
+
+        int nameStart = description.lastIndexOf(' ', descriptorStart) + 1;
+        return description.substring(nameStart, descriptorStart);
+    }
+
+    private static void checkThread(Class<? extends Event> eventClass) {
         EventThread threadAnnotation = eventClass.getDeclaredAnnotation(EventThread.class);
         String threadName = Thread.currentThread().getName();
         if (threadAnnotation == null) {
@@ -50,7 +270,106 @@ public final class EventBusWrapper extends EventBus {
                         + threadAnnotation.value() + " on thread " + threadName);
             }
         }
+    }
+
+    private final class EventTypeStats {
+        private final Class<? extends Event> eventClass;
+        private final LongAdder posts = new LongAdder();
+        private final LongAdder listenerTimeNanos = new LongAdder();
+        private final PostHistory postHistory = new PostHistory();
+
+        private EventTypeStats(Class<? extends Event> eventClass) {
+            this.eventClass = eventClass;
+        }
+
+        private void recordPost() {
+            posts.increment();
+            postHistory.increment();
+        }
+
+        private EventMetrics toMetrics() {
+            return new EventMetrics(
+                    getEventName(eventClass),
+                    posts.sum(),
+                    postHistory.getAveragePerSecond(POSTS_PER_SECOND_WINDOW_SECONDS),
+                    getListenerCount(eventClass),
+                    listenerTimeNanos.sum() / 1_000_000d);
+        }
+    }
+
+    /**
+     * Posts per second over the last POST_HISTORY_SECONDS, in one bucket per second. Posting only touches
+     * the bucket of the current second, without locking, as events are posted from several threads.
+     */
+    private static final class PostHistory {
+        private final LongAdder[] buckets = new LongAdder[POST_HISTORY_SECONDS];
+        // The second each bucket currently counts
+        private final AtomicLongArray bucketSeconds = new AtomicLongArray(POST_HISTORY_SECONDS);
+
+        private PostHistory() {
+            Arrays.setAll(buckets, i -> new LongAdder());
+        }
+
+        private void increment() {
+            long second = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+            int index = (int) (second % POST_HISTORY_SECONDS);
+
+            long bucketSecond = bucketSeconds.get(index);
+            if (bucketSecond != second && bucketSeconds.compareAndSet(index, bucketSecond, second)) {
+                // A post racing with the reset may be lost, which is fine for statistics
+                buckets[index].reset();
+            }
+
+            buckets[index].increment();
+        }
+
+        private double getAveragePerSecond(int seconds) {
+            long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+
+            long sum = 0;
+            for (int i = 0; i < POST_HISTORY_SECONDS; i++) {
+                if (now - bucketSeconds.get(i) < seconds) {
+                    sum += buckets[i].sum();
+                }
+            }
 
-        return super.post(event);
+            return (double) sum / seconds;
+        }
+    }
+
+    private static final class ListenerStats {
+        private final String owner;
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder totalTimeNanos = new LongAdder();
+        private final AtomicLong maxTimeNanos = new AtomicLong();
+
+        private ListenerStats(String owner, String name) {
+            this.owner = owner;
+            this.name = name;
+        }
+
+        private void record(long elapsedNanos) {
+            invocations.increment();
+            totalTimeNanos.add(elapsedNanos);
+            if (elapsedNanos > maxTimeNanos.get()) {
+                maxTimeNanos.accumulateAndGet(elapsedNanos, Math::max);
+            }
+        }
+
+        private void reset() {
+            invocations.reset();
+            totalTimeNanos.reset();
+            maxTimeNanos.set(0);
+        }
+
+        private EventListenerMetrics toMetrics() {
+            return new EventListenerMetrics(
+                    owner,
+                    name,
+                    invocations.sum(),
+                    totalTimeNanos.sum() / 1_000_000d,
+                    maxTimeNanos.get() / 1_000_000d);
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.events;
@@ -21,6 +21,14 @@ public final class MixinHelper {
         WynntilsMod.postEvent(event);
     }
 
+    /**
+     * Lets mixins on hot paths skip creating an event when nothing would receive it.
+     * Listeners of a parent event class also count as listeners of its subclasses.
+     */
+    public static boolean hasListeners(Class<? extends Event> eventClass) {
+        return WynntilsMod.hasEventListeners(eventClass);
+    }
+
     /**
      * Post event without checking if we are connected to a Wynncraft server
      */
@@ -0,0 +1,8 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.events.type;
+
+public record EventListenerMetrics(
+        String owner, String listener, long invocations, double totalTimeMs, double maxTimeMs) {}
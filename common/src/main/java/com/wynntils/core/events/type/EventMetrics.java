@@ -0,0 +1,8 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.events.type;
+
+public record EventMetrics(
+        String eventName, long posts, double postsPerSecond, int listenerCount, double totalListenerTimeMs) {}
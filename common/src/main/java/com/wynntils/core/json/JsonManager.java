@@ -41,6 +41,7 @@ public final class JsonManager extends Manager {
             .registerTypeAdapter(CrowdSourcedData.class, new CrowdSourcedData.CrowdSourceDataSerializer())
             .registerTypeAdapter(SavedItem.class, new SavedItem.SavedItemSerializer())
             .registerTypeAdapterFactory(new EnumUtils.EnumTypeAdapterFactory<>())
+            .registerTypeAdapterFactory(new OptionalTypeAdapterFactory())
             .enableComplexMapKeySerialization()
             .setPrettyPrinting()
             .serializeNulls()
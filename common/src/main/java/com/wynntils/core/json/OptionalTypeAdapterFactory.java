@@ -0,0 +1,63 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+/**
+ * Writes an {@link Optional} as its value, or null if empty. Gson can not access the fields of
+ * {@link Optional} by reflection, so this is needed to persist records with optional components.
+ */
+public final class OptionalTypeAdapterFactory implements TypeAdapterFactory {
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != Optional.class) return null;
+
+        Type valueType = type.getType() instanceof ParameterizedType parameterizedType
+                ? parameterizedType.getActualTypeArguments()[0]
+                : Object.class;
+        TypeAdapter<?> valueAdapter = gson.getAdapter(TypeToken.get(valueType));
+
+        return (TypeAdapter<T>) new OptionalTypeAdapter<>(valueAdapter);
+    }
+
+    private static final class OptionalTypeAdapter<E> extends TypeAdapter<Optional<E>> {
+        private final TypeAdapter<E> valueAdapter;
+
+        private OptionalTypeAdapter(TypeAdapter<E> valueAdapter) {
+            this.valueAdapter = valueAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, Optional<E> value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                out.nullValue();
+                return;
+            }
+
+            valueAdapter.write(out, value.get());
+        }
+
+        @Override
+        public Optional<E> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return Optional.empty();
+            }
+
+            return Optional.ofNullable(valueAdapter.read(in));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Manager;
+import com.wynntils.core.mod.type.SchedulerMetrics;
+import com.wynntils.mc.event.TickAlwaysEvent;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+/**
+ * The single place where Wynntils schedules work.
+ *
+ * Tasks that must run on the main thread are scheduled in ticks, and kept in a timer wheel,
+ * so each tick only looks at the tasks due in that tick, no matter how many tasks are pending.
+ *
+ * Background tasks (IO, network polling, timers) share one small worker pool, instead of
+ * each component creating its own executor. Repeating tasks must be cancelled by their owner
+ * when they are no longer needed, typically on disconnect.
+ */
+public final class SchedulerManager extends Manager {
+    // Must be a power of two
+    private static final int WHEEL_SIZE = 256;
+    private static final int WORKER_THREADS =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+    private static final long SHUTDOWN_TIMEOUT_MS = 2000;
+
+    // Tasks can be scheduled from any thread, but the wheel is only touched on the main thread
+    private final Queue<TickTask> incomingTickTasks = new ConcurrentLinkedQueue<>();
+    private final List<Runnable> shutdownTasks = new CopyOnWriteArrayList<>();
+    private final TickTimerWheel tickTimerWheel = new TickTimerWheel();
+
+    private final ScheduledThreadPoolExecutor workerPool;
+
+    private final AtomicLong completedAsyncTasks = new AtomicLong();
+    private final AtomicLong totalAsyncLatencyNanos = new AtomicLong();
+    private final AtomicLong maxAsyncLatencyNanos = new AtomicLong();
+
+    public SchedulerManager() {
+        super(List.of());
+
+        workerPool = new ScheduledThreadPoolExecutor(
+                WORKER_THREADS,
+                new ThreadFactoryBuilder()
+                        .setNameFormat("wynntils-worker-%d")
+                        .setDaemon(true)
+                        .build());
+        workerPool.setKeepAliveTime(WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        workerPool.allowCoreThreadTimeOut(true);
+        workerPool.setRemoveOnCancelPolicy(true);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "wynntils-scheduler-shutdown"));
+    }
+
+    /**
+     * Runs the task on the main thread, in the given amount of ticks after the next tick.
+     */
+    public void scheduleLater(Runnable runnable, int ticksDelay) {
+        incomingTickTasks.add(new TickTask(runnable, Math.max(0, ticksDelay)));
+    }
+
+    /**
+     * Runs the task on the main thread, in the next tick.
+     */
+    public void scheduleNextTick(Runnable runnable) {
+        scheduleLater(runnable, 0);
+    }
+
+    /**
+     * Runs the task on a worker thread as soon as possible.
+     */
+    public Future<?> runAsync(Runnable runnable) {
+        return workerPool.submit(measured(runnable, System.nanoTime()));
+    }
+
+    /**
+     * Runs the task on a worker thread, after the given delay.
+     */
+    public ScheduledFuture<?> scheduleAsync(Runnable runnable, long delay, TimeUnit unit) {
+        long due = System.nanoTime() + unit.toNanos(delay);
+        return workerPool.schedule(measured(runnable, due), delay, unit);
+    }
+
+    /**
+     * Runs the task on a worker thread repeatedly, with the given delay between the end of one run
+     * and the start of the next. The owner must cancel the returned future when it is no longer needed.
+     */
+    public ScheduledFuture<?> scheduleAsyncWithFixedDelay(
+            Runnable runnable, long initialDelay, long delay, TimeUnit unit) {
+        return workerPool.scheduleWithFixedDelay(guarded(runnable), initialDelay, delay, unit);
+    }
+
+    /**
+     * Runs the task on a worker thread repeatedly, at a fixed rate.
+     * The owner must cancel the returned future when it is no longer needed.
+     */
+    public ScheduledFuture<?> scheduleAsyncAtFixedRate(
+            Runnable runnable, long initialDelay, long period, TimeUnit unit) {
+        return workerPool.scheduleAtFixedRate(guarded(runnable), initialDelay, period, unit);
+    }
+
+    /**
+     * Runs the task on the shutdown thread when the game exits, before the worker pool is shut down.
+     * This is meant for flushing state which would otherwise only be written by a delayed task.
+     */
+    public void runOnShutdown(Runnable runnable) {
+        shutdownTasks.add(runnable);
+    }
+
+    public SchedulerMetrics getMetrics() {
+        long completed = completedAsyncTasks.get();
+        double averageLatencyMs = completed == 0 ? 0 : totalAsyncLatencyNanos.get() / 1_000_000d / completed;
+
+        return new SchedulerMetrics(
+                tickTimerWheel.size() + incomingTickTasks.size(),
+                workerPool.getQueue().size(),
+                workerPool.getActiveCount(),
+                workerPool.getPoolSize(),
+                completed,
+                averageLatencyMs,
+                TimeUnit.NANOSECONDS.toMillis(maxAsyncLatencyNanos.get()));
+    }
+
+    public void resetMetrics() {
+        completedAsyncTasks.set(0);
+        totalAsyncLatencyNanos.set(0);
+        maxAsyncLatencyNanos.set(0);
+    }
+
+    // The priority is set to HIGHEST to ensure that the tasks are run
+    // before any other tick event listeners could schedule new tasks
+    // making it run in the same tick
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onTick(TickAlwaysEvent e) {
+        TickTask task;
+        while ((task = incomingTickTasks.poll()) != null) {
+            tickTimerWheel.add(task);
+        }
+
+        tickTimerWheel.advance();
+    }
+
+    private void shutdown() {
+        // Delayed tasks, like storage writes, may be scheduled far ahead, so let their owners flush now
+        shutdownTasks.forEach(task -> guarded(task).run());
+
+        workerPool.shutdown();
+
+        try {
+            // Give running tasks a chance to finish
+            if (!workerPool.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                workerPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workerPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Runnable measured(Runnable runnable, long dueNanos) {
+        return () -> {
+            long latency = Math.max(0, System.nanoTime() - dueNanos);
+            totalAsyncLatencyNanos.addAndGet(latency);
+            maxAsyncLatencyNanos.accumulateAndGet(latency, Math::max);
+            completedAsyncTasks.incrementAndGet();
+
+            guarded(runnable).run();
+        };
+    }
+
+    private static Runnable guarded(Runnable runnable) {
+        // An exception would otherwise be swallowed by the future, and stop repeating tasks
+        return () -> {
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                WynntilsMod.error("Exception in scheduled task", t);
+            }
+        };
+    }
+
+    private static final class TickTask {
+        private final Runnable runnable;
+        private final int ticksDelay;
+        private int remainingRounds;
+
+        private TickTask(Runnable runnable, int ticksDelay) {
+            this.runnable = runnable;
+            this.ticksDelay = ticksDelay;
+        }
+    }
+
+    /**
+     * A hashed timer wheel. A task with a delay of n ticks is put in the slot n ticks ahead of the
+     * current one, together with how many full turns of the wheel it has to wait.
+     */
+    private static final class TickTimerWheel {
+        private final List<List<TickTask>> slots = new ArrayList<>(WHEEL_SIZE);
+        private int currentSlot = 0;
+        private int size = 0;
+
+        private TickTimerWheel() {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                slots.add(new ArrayList<>());
+            }
+        }
+
+        private void add(TickTask task) {
+            task.remainingRounds = task.ticksDelay / WHEEL_SIZE;
+            slots.get((currentSlot + task.ticksDelay) & (WHEEL_SIZE - 1)).add(task);
+            size++;
+        }
+
+        private void advance() {
+            List<TickTask> slot = slots.get(currentSlot);
+            currentSlot = (currentSlot + 1) & (WHEEL_SIZE - 1);
+
+            if (slot.isEmpty()) return;
+
+            List<TickTask> dueTasks = new ArrayList<>();
+            Iterator<TickTask> it = slot.iterator();
+            while (it.hasNext()) {
+                TickTask task = it.next();
+                if (task.remainingRounds > 0) {
+                    task.remainingRounds--;
+                    continue;
+                }
+
+                dueTasks.add(task);
+                it.remove();
+                size--;
+            }
+
+            // Run after removal, so tasks scheduling new tasks never see a half-processed slot
+            for (TickTask task : dueTasks) {
+                try {
+                    task.runnable.run();
+                } catch (Throwable t) {
+                    WynntilsMod.error("Exception in task scheduled on main thread", t);
+                }
+            }
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod.type;
+
+public record SchedulerMetrics(
+        int pendingTickTasks,
+        int queuedAsyncTasks,
+        int activeWorkers,
+        int workerThreads,
+        long completedAsyncTasks,
+        double averageAsyncLatencyMs,
+        long maxAsyncLatencyMs) {}
@@ -24,8 +24,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import org.apache.commons.lang3.reflect.FieldUtils;
@@ -37,7 +35,6 @@ public final class StorageManager extends Manager {
     private static final String FILE_SUFFIX = ".data.json";
     private final File userStorageFile;
 
-    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
     private final Map<String, Storage<?>> storages = new TreeMap<>();
     private final Map<Storage<?>, Type> storageTypes = new HashMap<>();
     private final Map<Storage<?>, Storageable> storageOwner = new HashMap<>();
@@ -45,7 +42,7 @@ public final class StorageManager extends Manager {
     private JsonObject storageObject;
 
     private long lastPersisted;
-    private boolean scheduledPersist;
+    private volatile boolean scheduledPersist;
 
     private boolean storageInitialized = false;
 
@@ -54,6 +51,9 @@ public final class StorageManager extends Manager {
 
         userStorageFile = new File(
                 STORAGE_DIR, UndashedUuid.toString(McUtils.mc().getUser().getProfileId()) + FILE_SUFFIX);
+
+        // A scheduled persist may be up to SAVE_INTERVAL away when the game exits
+        Managers.Scheduler.runOnShutdown(this::flush);
     }
 
     public void initComponents() {
@@ -112,7 +112,7 @@ public final class StorageManager extends Manager {
         long now = System.currentTimeMillis();
         long delay = Math.max((lastPersisted + SAVE_INTERVAL) - now, 0);
 
-        executor.schedule(
+        Managers.Scheduler.scheduleAsync(
                 () -> {
                     scheduledPersist = false;
                     lastPersisted = System.currentTimeMillis();
@@ -123,6 +123,12 @@ public final class StorageManager extends Manager {
         scheduledPersist = true;
     }
 
+    private void flush() {
+        if (!storageInitialized || !scheduledPersist) return;
+
+        writeToJson();
+    }
+
     private void runUpfixers() {
         storageObject = Managers.Json.loadPreciousJson(userStorageFile);
 
@@ -152,7 +158,7 @@ public final class StorageManager extends Manager {
         });
     }
 
-    private void writeToJson() {
+    private synchronized void writeToJson() {
         JsonObject storageJson = new JsonObject();
 
         // Save upfixers
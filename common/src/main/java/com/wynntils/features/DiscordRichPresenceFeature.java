@@ -200,6 +200,6 @@ public class DiscordRichPresenceFeature extends Feature {
         }
 
         // Schedule next check
-        Managers.TickScheduler.scheduleLater(this::checkTerritory, TERRITORY_TICKS_DELAY);
+        Managers.Scheduler.scheduleLater(this::checkTerritory, TERRITORY_TICKS_DELAY);
     }
 }
@@ -59,6 +59,8 @@ import org.lwjgl.glfw.GLFW;
 
 @ConfigCategory(Category.CHAT)
 public class ChatItemFeature extends Feature {
+    private static final String CHAT_ITEM_SOURCE = "From chat";
+
     @RegisterKeyBind
     private final KeyBind shareItemKeybind =
             new KeyBind("Share Item", GLFW.GLFW_KEY_F3, true, null, slot -> shareItem(slot, true));
@@ -213,7 +215,8 @@ public class ChatItemFeature extends Feature {
 
         while (matcher.find()) {
             EncodedByteBuffer encodedByteBuffer = EncodedByteBuffer.fromUtf16String(matcher.group());
-            ErrorOr<WynnItem> errorOrDecodedItem = Models.ItemEncoding.decodeItem(encodedByteBuffer);
+            ErrorOr<FakeItemStack> errorOrDecodedItem = Models.ItemEncoding.decodeItemStack(
+                    encodedByteBuffer, CHAT_ITEM_SOURCE, wynnItem -> new FakeItemStack(wynnItem, CHAT_ITEM_SOURCE));
 
             String unformattedString = partToReplace.getString(null, PartStyle.StyleType.NONE);
 
@@ -253,7 +256,7 @@ public class ChatItemFeature extends Feature {
             PartStyle partStyle = partToReplace.getPartStyle();
 
             StyledTextPart first = new StyledTextPart(firstPart, partStyle.getStyle(), null, Style.EMPTY);
-            List<StyledTextPart> itemParts = createItemPart(decodedItem);
+            List<StyledTextPart> itemParts = createItemPart(new FakeItemStack(decodedItem, CHAT_ITEM_SOURCE));
             StyledTextPart last = new StyledTextPart(lastPart, partStyle.getStyle(), null, Style.EMPTY);
 
             changes.remove(partToReplace);
@@ -277,7 +280,8 @@ public class ChatItemFeature extends Feature {
         return new StyledTextPart(originalString, style, null, Style.EMPTY);
     }
 
-    private List<StyledTextPart> createItemPart(WynnItem wynnItem) {
+    private List<StyledTextPart> createItemPart(FakeItemStack itemStack) {
+        WynnItem wynnItem = itemStack.getWynnItem();
         List<StyledTextPart> parts = new ArrayList<>();
 
         StyledText nameText = StyledText.fromString(wynnItem.getClass().getSimpleName());
@@ -309,7 +313,6 @@ public class ChatItemFeature extends Feature {
             style = style.withColor(tierItemProperty.getGearTier().getChatFormatting());
         }
 
-        ItemStack itemStack = new FakeItemStack(wynnItem, "From chat");
         HoverEvent.ItemStackInfo itemHoverEvent = new HoverEvent.ItemStackInfo(itemStack);
         ((ItemStackInfoAccessor) itemHoverEvent).setItemStack(itemStack);
         style = style.withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_ITEM, itemHoverEvent));
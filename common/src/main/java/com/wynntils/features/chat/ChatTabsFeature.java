@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.features.chat;
@@ -71,7 +71,7 @@ public class ChatTabsFeature extends Feature {
             // It can happen that client-side messages are sent from some other thread
             // That will cause race conditions with vanilla ChatComponent code, so
             // schedule this update by the renderer thread instead
-            Managers.TickScheduler.scheduleNextTick(() -> Services.ChatTab.matchMessage(event));
+            Managers.Scheduler.scheduleNextTick(() -> Services.ChatTab.matchMessage(event));
         }
     }
 
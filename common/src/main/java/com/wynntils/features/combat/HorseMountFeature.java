@@ -139,7 +139,7 @@ public class HorseMountFeature extends Feature {
             alreadySetPrevItem = true;
         }
 
-        Managers.TickScheduler.scheduleLater(
+        Managers.Scheduler.scheduleLater(
                 () -> {
                     LocalPlayer player = McUtils.player();
                     if (player == null) return;
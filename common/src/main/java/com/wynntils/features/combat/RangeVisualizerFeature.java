@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.features.combat;
@@ -90,8 +90,7 @@ public class RangeVisualizerFeature extends Feature {
             validGear = Models.CharacterStats.getWornGear();
         } else {
             // Other players must be in party
-            if (!Models.Party.getPartyMembers()
-                    .contains(StyledText.fromComponent(player.getName()).getStringWithoutFormatting())) return;
+            if (!Models.Player.isPartyMember(player)) return;
 
             validGear = new ArrayList<>();
             // Check main hand
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2021-2023.
+ * Copyright © Wynntils 2021-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.features.debug;
@@ -13,13 +13,21 @@ import com.wynntils.core.persisted.config.Config;
 import com.wynntils.core.persisted.config.ConfigCategory;
 import com.wynntils.mc.event.PacketEvent.PacketReceivedEvent;
 import com.wynntils.mc.event.PacketEvent.PacketSentEvent;
+import com.wynntils.utils.FileUtils;
+import com.wynntils.utils.mc.PacketCapture;
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.common.ClientboundKeepAlivePacket;
 import net.minecraft.network.protocol.common.ServerboundKeepAlivePacket;
 import net.minecraft.network.protocol.game.ClientboundAddEntityPacket;
 import net.minecraft.network.protocol.game.ClientboundBlockUpdatePacket;
+import net.minecraft.network.protocol.game.ClientboundBossEventPacket;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import net.minecraft.network.protocol.game.ClientboundContainerClosePacket;
 import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
 import net.minecraft.network.protocol.game.ClientboundContainerSetDataPacket;
 import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket;
@@ -28,14 +36,22 @@ import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.network.protocol.game.ClientboundLevelParticlesPacket;
 import net.minecraft.network.protocol.game.ClientboundLightUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundMoveEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundOpenScreenPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerChatPacket;
 import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket;
 import net.minecraft.network.protocol.game.ClientboundRotateHeadPacket;
 import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundSetChunkCacheCenterPacket;
+import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
 import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
 import net.minecraft.network.protocol.game.ClientboundSetEntityMotionPacket;
 import net.minecraft.network.protocol.game.ClientboundSetEquipmentPacket;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetPlayerTeamPacket;
+import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
 import net.minecraft.network.protocol.game.ClientboundSetTimePacket;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
 import net.minecraft.network.protocol.game.ClientboundTeleportEntityPacket;
 import net.minecraft.network.protocol.game.ClientboundUpdateAdvancementsPacket;
 import net.minecraft.network.protocol.game.ClientboundUpdateAttributesPacket;
@@ -50,6 +66,8 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 @StartDisabled
 @ConfigCategory(Category.DEBUG)
 public class PacketDebuggerFeature extends Feature {
+    private static final File CAPTURE_FOLDER = WynntilsMod.getModStorageDir("debug");
+
     /* These packets just spam the log; ignore them. */
     private static final List<Class<? extends Packet<?>>> IGNORE_LIST = List.of(
             // General
@@ -97,9 +115,56 @@ public class PacketDebuggerFeature extends Feature {
 
     private static final Class<? extends Packet<?>> PARTICLE_PACKET_CLASS = ClientboundLevelParticlesPacket.class;
 
+    /* The packets the Wynntils handlers and models react to, and the entity packets needed to make sense of them */
+    private static final Set<Class<? extends Packet<?>>> CAPTURED_PACKETS = Set.of(
+            // Chat
+            ClientboundSystemChatPacket.class,
+            ClientboundPlayerChatPacket.class,
+            // Containers
+            ClientboundOpenScreenPacket.class,
+            ClientboundContainerClosePacket.class,
+            ClientboundContainerSetContentPacket.class,
+            ClientboundContainerSetSlotPacket.class,
+            // Entities
+            ClientboundAddEntityPacket.class,
+            ClientboundRemoveEntitiesPacket.class,
+            ClientboundSetEntityDataPacket.class,
+            ClientboundTeleportEntityPacket.class,
+            // Scoreboard
+            ClientboundSetObjectivePacket.class,
+            ClientboundSetDisplayObjectivePacket.class,
+            ClientboundSetScorePacket.class,
+            ClientboundSetPlayerTeamPacket.class,
+            // Others
+            ClientboundLevelParticlesPacket.class,
+            ClientboundBossEventPacket.class,
+            ClientboundBundlePacket.class);
+
     @Persisted
     private final Config<PacketFilterType> packetFilterType = new Config<>(PacketFilterType.FILTERED);
 
+    @Persisted
+    private final Config<Boolean> capturePackets = new Config<>(false);
+
+    private PacketCapture.Writer captureWriter;
+
+    @Override
+    protected void onConfigUpdate(Config<?> config) {
+        if (config.getFieldName().equals("capturePackets")) {
+            updateCapture();
+        }
+    }
+
+    @Override
+    public void onEnable() {
+        updateCapture();
+    }
+
+    @Override
+    public void onDisable() {
+        stopCapture();
+    }
+
     private String describePacket(Packet<?> packet) {
         return ReflectionToStringBuilder.toString(packet, ToStringStyle.SHORT_PREFIX_STYLE)
                 .replaceFirst("net\\.minecraft\\.network\\.protocol\\..*\\.", "");
@@ -116,11 +181,60 @@ public class PacketDebuggerFeature extends Feature {
     @SubscribeEvent
     public void onPacketReceived(PacketReceivedEvent<?> e) {
         Packet<?> packet = e.getPacket();
+        capturePacket(packet);
+
         if (packetFilterType.get().isPacketExcluded(packet.getClass())) return;
 
         WynntilsMod.info("RECV packet: " + describePacket(packet));
     }
 
+    private synchronized void capturePacket(Packet<?> packet) {
+        if (captureWriter == null || !CAPTURED_PACKETS.contains(packet.getClass())) return;
+
+        try {
+            captureWriter.write(packet);
+        } catch (IOException e) {
+            WynntilsMod.error("Failed to capture packet, stopping the capture", e);
+            stopCapture();
+        }
+    }
+
+    private synchronized void updateCapture() {
+        if (capturePackets.get() && isEnabled()) {
+            startCapture();
+        } else {
+            stopCapture();
+        }
+    }
+
+    private synchronized void startCapture() {
+        if (captureWriter != null) return;
+
+        String fileName = "packets-" + System.currentTimeMillis() + PacketCapture.FILE_EXTENSION;
+        File captureFile = new File(CAPTURE_FOLDER, fileName);
+        FileUtils.mkdir(CAPTURE_FOLDER);
+
+        try {
+            captureWriter = PacketCapture.createWriter(captureFile);
+            WynntilsMod.info("Started capturing packets to " + captureFile.getName());
+        } catch (IOException e) {
+            WynntilsMod.error("Failed to start packet capture", e);
+        }
+    }
+
+    private synchronized void stopCapture() {
+        if (captureWriter == null) return;
+
+        try {
+            captureWriter.close();
+            WynntilsMod.info("Stopped capturing packets, captured " + captureWriter.getPacketCount() + " packets");
+        } catch (IOException e) {
+            WynntilsMod.error("Failed to finish packet capture", e);
+        }
+
+        captureWriter = null;
+    }
+
     private enum PacketFilterType {
         ALL(packetClass -> false),
         FILTERED(IGNORE_LIST::contains),
@@ -252,7 +252,7 @@ public class ContainerSearchFeature extends Feature {
         if (currentContainer instanceof GuildBankContainer) {
             long diff = System.currentTimeMillis() - guildBankLastSearch;
             if (diff < GUILD_BANK_SEARCH_DELAY) {
-                Managers.TickScheduler.scheduleLater(
+                Managers.Scheduler.scheduleLater(
                         () -> tryAutoSearch(abstractContainerScreen), (int) (GUILD_BANK_SEARCH_DELAY - diff) / 50);
                 return;
             }
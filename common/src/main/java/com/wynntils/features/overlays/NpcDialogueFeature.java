@@ -27,8 +27,6 @@ import com.wynntils.utils.mc.McUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import net.minecraft.ChatFormatting;
@@ -73,7 +71,6 @@ public class NpcDialogueFeature extends Feature {
     @Persisted
     public final Config<Integer> dialogAutoProgressAdditionalTimePerWord = new Config<>(300); // Milliseconds
 
-    private final ScheduledExecutorService autoProgressExecutor = Executors.newSingleThreadScheduledExecutor();
     private ScheduledFuture<?> scheduledAutoProgressKeyPress = null;
 
     // Normal mode
@@ -193,7 +190,7 @@ public class NpcDialogueFeature extends Feature {
     private ScheduledFuture<?> scheduledSneakPress(List<StyledText> dialogue) {
         long delay = Models.NpcDialogue.calculateMessageReadTime(dialogue);
 
-        return autoProgressExecutor.schedule(
+        return Managers.Scheduler.scheduleAsync(
                 () -> McUtils.sendPacket(new ServerboundPlayerCommandPacket(
                         McUtils.player(), ServerboundPlayerCommandPacket.Action.PRESS_SHIFT_KEY)),
                 delay,
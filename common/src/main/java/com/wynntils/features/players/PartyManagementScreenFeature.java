@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.features.players;
@@ -78,19 +78,19 @@ public class PartyManagementScreenFeature extends Feature {
 
     @SubscribeEvent
     public void onFriendLeave(FriendsEvent.Left e) {
-        Managers.TickScheduler.scheduleLater(this::reloadScreenWidgets, 3);
+        Managers.Scheduler.scheduleLater(this::reloadScreenWidgets, 3);
     }
 
     // The events for the lists are required as it is possible that there is a delay from Wynn which causes the screen
     // to init before the new lists are received.
     @SubscribeEvent
     public void onFriendsList(FriendsEvent.Listed e) {
-        Managers.TickScheduler.scheduleLater(this::reloadScreenWidgets, 2);
+        Managers.Scheduler.scheduleLater(this::reloadScreenWidgets, 2);
     }
 
     @SubscribeEvent
     public void onOnlineFriendsList(FriendsEvent.OnlineListed e) {
-        Managers.TickScheduler.scheduleLater(this::reloadScreenWidgets, 2);
+        Managers.Scheduler.scheduleLater(this::reloadScreenWidgets, 2);
     }
     // endregion
 
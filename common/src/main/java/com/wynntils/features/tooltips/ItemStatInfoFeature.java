@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.features.tooltips;
@@ -30,11 +30,12 @@ import com.wynntils.utils.mc.KeyboardUtils;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.Pair;
 import com.wynntils.utils.wynn.ColorScaleUtils;
-import java.util.Deque;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import net.minecraft.ChatFormatting;
@@ -87,6 +88,19 @@ public class ItemStatInfoFeature extends Feature {
     @Persisted
     public final Config<Boolean> showMaxValues = new Config<>(true);
 
+    // Tooltip builders cache their lines for as long as the style and decorator stay the same,
+    // so these are only recreated when the configs change
+    private final Map<SuffixType, IdentificationDecorator> decorators = new EnumMap<>(SuffixType.class);
+    private TooltipStyle identifiableTooltipStyle;
+    private TooltipStyle craftedTooltipStyle;
+
+    @Override
+    protected void onConfigUpdate(Config<?> config) {
+        decorators.clear();
+        identifiableTooltipStyle = null;
+        craftedTooltipStyle = null;
+    }
+
     @SubscribeEvent
     public void onTooltipPre(ItemTooltipRenderEvent.Pre event) {
         if (KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_RIGHT_SHIFT)) return;
@@ -143,21 +157,23 @@ public class ItemStatInfoFeature extends Feature {
                         WynnItemData.TOOLTIP_KEY, () -> Handlers.Tooltip.fromParsedItemStack(itemStack, itemInfo));
         if (builder == null) return null;
 
-        IdentificationDecorator decorator = identificationDecorations.get() ? new IdentificationDecorator() : null;
-        TooltipStyle currentIdentificationStyle = new TooltipStyle(
-                identificationsOrdering.get(),
-                groupIdentifications.get(),
-                showBestValueLastAlways.get(),
-                showStars.get(),
-                false // this only applies to crafted items
-                );
-        LinkedList<Component> tooltips = new LinkedList<>(
-                builder.getTooltipLines(Models.Character.getClassType(), currentIdentificationStyle, decorator));
+        IdentificationDecorator decorator = identificationDecorations.get() ? getDecorator() : null;
+        if (identifiableTooltipStyle == null) {
+            identifiableTooltipStyle = new TooltipStyle(
+                    identificationsOrdering.get(),
+                    groupIdentifications.get(),
+                    showBestValueLastAlways.get(),
+                    showStars.get(),
+                    false // this only applies to crafted items
+                    );
+        }
+        List<Component> tooltips =
+                builder.getTooltipLines(Models.Character.getClassType(), identifiableTooltipStyle, decorator);
 
         // Update name depending on overall percentage; this needs to be done every rendering
         // for rainbow/defective effects
         if (overallPercentageInName.get() && itemInfo.hasOverallValue()) {
-            updateItemName(itemInfo, tooltips);
+            return getTooltipWithUpdatedName(itemInfo, tooltips);
         }
         return tooltips;
     }
@@ -170,19 +186,23 @@ public class ItemStatInfoFeature extends Feature {
                         () -> Handlers.Tooltip.fromParsedItemStack(itemStack, craftedItemProperty));
         if (builder == null) return null;
 
-        TooltipStyle currentIdentificationStyle = new TooltipStyle(
-                identificationsOrdering.get(),
-                groupIdentifications.get(),
-                false, // irrelevant for crafted items
-                false, // irrelevant for crafted items
-                showMaxValues.get());
-        List<Component> tooltips = new LinkedList<>(
-                builder.getTooltipLines(Models.Character.getClassType(), currentIdentificationStyle, null));
+        if (craftedTooltipStyle == null) {
+            craftedTooltipStyle = new TooltipStyle(
+                    identificationsOrdering.get(),
+                    groupIdentifications.get(),
+                    false, // irrelevant for crafted items
+                    false, // irrelevant for crafted items
+                    showMaxValues.get());
+        }
 
-        return tooltips;
+        return builder.getTooltipLines(Models.Character.getClassType(), craftedTooltipStyle, null);
     }
 
-    private void updateItemName(IdentifiableItemProperty itemInfo, Deque<Component> tooltips) {
+    private IdentificationDecorator getDecorator() {
+        return decorators.computeIfAbsent(SuffixType.fromKeyboard(), IdentificationDecorator::new);
+    }
+
+    private List<Component> getTooltipWithUpdatedName(IdentifiableItemProperty itemInfo, List<Component> tooltips) {
         MutableComponent name;
         if (perfect.get() && itemInfo.isPerfect()) {
             name = ComponentUtils.makeRainbowStyle("Perfect " + itemInfo.getName());
@@ -190,15 +210,40 @@ public class ItemStatInfoFeature extends Feature {
             name = ComponentUtils.makeObfuscated(
                     "Defective " + itemInfo.getName(), obfuscationChanceStart.get(), obfuscationChanceEnd.get());
         } else {
-            name = tooltips.getFirst().copy();
+            name = tooltips.get(0).copy();
             name.append(ColorScaleUtils.getPercentageTextComponent(
                     itemInfo.getOverallPercentage(), colorLerp.get(), decimalPlaces.get()));
         }
-        tooltips.removeFirst();
-        tooltips.addFirst(name);
+
+        List<Component> updatedTooltips = new ArrayList<>(tooltips);
+        updatedTooltips.set(0, name);
+        return updatedTooltips;
+    }
+
+    private enum SuffixType {
+        PERCENT,
+        RANGE,
+        REROLL,
+        INNER_ROLL;
+
+        private static SuffixType fromKeyboard() {
+            boolean shiftDown = KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_SHIFT);
+            boolean controlDown = KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_CONTROL);
+
+            if (shiftDown && controlDown) return INNER_ROLL;
+            if (shiftDown) return RANGE;
+            if (controlDown) return REROLL;
+            return PERCENT;
+        }
     }
 
     private class IdentificationDecorator implements TooltipIdentificationDecorator {
+        private final SuffixType suffixType;
+
+        private IdentificationDecorator(SuffixType suffixType) {
+            this.suffixType = suffixType;
+        }
+
         @Override
         public MutableComponent getSuffix(
                 StatActualValue statActualValue, StatPossibleValues possibleValues, TooltipStyle style) {
@@ -209,16 +254,12 @@ public class ItemStatInfoFeature extends Feature {
                 return Component.literal(" [NEW]").withStyle(ChatFormatting.GOLD);
             }
 
-            if (KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_SHIFT)
-                    && KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_CONTROL)) {
-                return getInnerRollSuffix(style, statActualValue, possibleValues);
-            } else if (KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_SHIFT)) {
-                return getRangeSuffix(style, statActualValue, possibleValues);
-            } else if (KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_CONTROL)) {
-                return getRerollSuffix(style, statActualValue, possibleValues);
-            } else {
-                return getPercentSuffix(style, statActualValue, possibleValues);
-            }
+            return switch (suffixType) {
+                case INNER_ROLL -> getInnerRollSuffix(style, statActualValue, possibleValues);
+                case RANGE -> getRangeSuffix(style, statActualValue, possibleValues);
+                case REROLL -> getRerollSuffix(style, statActualValue, possibleValues);
+                case PERCENT -> getPercentSuffix(style, statActualValue, possibleValues);
+            };
         }
 
         private MutableComponent getInnerRollSuffix(
@@ -57,7 +57,7 @@ public class ChangelogFeature extends Feature {
                         waitForScreen = true;
                         changelogData = changelog;
                     } else {
-                        Managers.TickScheduler.scheduleNextTick(
+                        Managers.Scheduler.scheduleNextTick(
                                 () -> McUtils.mc().setScreen(ChangelogScreen.create(changelog)));
                     }
                 },
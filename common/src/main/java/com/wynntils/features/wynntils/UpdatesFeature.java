@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.features.wynntils;
@@ -36,7 +36,7 @@ public class UpdatesFeature extends Feature {
         if (!event.isFirstJoinWorld()) return;
 
         CompletableFuture.runAsync(() -> Services.Update.getLatestBuild()
-                .whenCompleteAsync((version, throwable) -> Managers.TickScheduler.scheduleNextTick(() -> {
+                .whenCompleteAsync((version, throwable) -> Managers.Scheduler.scheduleNextTick(() -> {
                     if (version == null) {
                         WynntilsMod.info(
                                 "Couldn't fetch latest version, not attempting update reminder or auto-update.");
@@ -10,11 +10,10 @@ import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.bossbar.event.BossBarAddedEvent;
 import com.wynntils.mc.event.BossHealthUpdateEvent;
 import com.wynntils.utils.type.Pair;
-import java.util.ArrayList;
+import com.wynntils.utils.type.PrefixIndex;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
@@ -26,11 +25,56 @@ import net.minecraft.world.BossEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class BossBarHandler extends Handler {
-    private final Map<UUID, TrackedBar> presentBars = new HashMap<>();
-    private final List<TrackedBar> knownBars = new ArrayList<>();
+    // The length of a formatting code, which is what bar patterns are keyed on
+    private static final int PREFIX_KEY_LENGTH = 2;
+    private static final String REGEX_METACHARACTERS = "\\[](){}.*+?^$|";
+    private static final String REGEX_QUANTIFIERS = "*+?{";
+
+    private final Map<UUID, PresentBar> presentBars = new HashMap<>();
+
+    // Patterns to try for names by their formatting code, in registration order
+    private final PrefixIndex<BarPattern> barPatterns = new PrefixIndex<>(PREFIX_KEY_LENGTH);
 
     public void registerBar(TrackedBar trackedBar) {
-        knownBars.add(trackedBar);
+        for (Pattern pattern : trackedBar.patterns) {
+            BarPattern barPattern = new BarPattern(trackedBar, pattern, getLiteralPrefix(pattern));
+            barPatterns.add(barPattern, List.of(barPattern.literalPrefix()));
+        }
+    }
+
+    private Pair<BarPattern, Matcher> findBarPattern(String name) {
+        for (BarPattern barPattern : barPatterns.get(name)) {
+            if (!name.startsWith(barPattern.literalPrefix())) continue;
+
+            Matcher matcher = barPattern.pattern().matcher(name);
+            if (matcher.matches()) return Pair.of(barPattern, matcher);
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the text every match of the pattern must start with, which is the pattern's leading
+     * characters up to the first regex construct. This can be empty.
+     */
+    private static String getLiteralPrefix(Pattern pattern) {
+        if ((pattern.flags() & (Pattern.LITERAL | Pattern.CASE_INSENSITIVE | Pattern.COMMENTS)) != 0) return "";
+
+        String regex = pattern.pattern();
+        int start = regex.startsWith("^") ? 1 : 0;
+
+        int end = start;
+        while (end < regex.length() && REGEX_METACHARACTERS.indexOf(regex.charAt(end)) == -1) {
+            end++;
+        }
+
+        // A quantifier makes the character before it optional
+        if (end < regex.length() && end > start && REGEX_QUANTIFIERS.indexOf(regex.charAt(end)) != -1) {
+            end--;
+        }
+
+        // An alternation anywhere means matches might not share a prefix
+        return regex.indexOf('|') == -1 ? regex.substring(start, end) : "";
     }
 
     // FixPacketBugsFeature gets in the way if receiveCanceled is not set
@@ -58,16 +102,12 @@ public class BossBarHandler extends Handler {
                 boolean darkenScreen,
                 boolean playMusic,
                 boolean createWorldFog) {
-            Optional<Pair<TrackedBar, Matcher>> trackedBarOpt = knownBars.stream()
-                    .flatMap(trackedBar -> trackedBar.patterns.stream().map(pattern -> new Pair<>(trackedBar, pattern)))
-                    .map(pair ->
-                            new Pair<>(pair.a(), StyledText.fromComponent(name).getMatcher(pair.b())))
-                    .filter(pair -> pair.b().matches())
-                    .findFirst();
-            if (trackedBarOpt.isEmpty()) return;
+            String nameString = StyledText.fromComponent(name).getString();
+            Pair<BarPattern, Matcher> match = findBarPattern(nameString);
+            if (match == null) return;
 
-            TrackedBar trackedBar = trackedBarOpt.get().a();
-            Matcher matcher = trackedBarOpt.get().b();
+            BarPattern barPattern = match.a();
+            TrackedBar trackedBar = barPattern.trackedBar();
 
             LerpingBossEvent bossEvent =
                     new LerpingBossEvent(id, name, progress, color, overlay, darkenScreen, playMusic, createWorldFog);
@@ -84,66 +124,94 @@ public class BossBarHandler extends Handler {
                 trackedBar.setRendered(true);
             }
 
-            trackedBar.onUpdateName(matcher);
+            trackedBar.onUpdateName(match.b());
 
-            presentBars.put(id, trackedBar);
+            presentBars.put(id, new PresentBar(trackedBar, barPattern.pattern(), nameString));
         }
 
-        private void handleBarUpdate(UUID id, Consumer<TrackedBar> consumer) {
-            TrackedBar trackedBar = presentBars.get(id);
+        private void handleBarUpdate(UUID id, Consumer<PresentBar> consumer) {
+            PresentBar presentBar = presentBars.get(id);
 
-            if (trackedBar != null) {
-                if (!trackedBar.isRendered()) {
+            if (presentBar != null) {
+                if (!presentBar.trackedBar.isRendered()) {
                     event.setCanceled(true);
                 }
 
-                consumer.accept(trackedBar);
+                consumer.accept(presentBar);
             }
         }
 
         @Override
         public void remove(UUID id) {
-            handleBarUpdate(id, trackedBar -> {
-                trackedBar.reset();
+            handleBarUpdate(id, presentBar -> {
+                presentBar.trackedBar.reset();
                 presentBars.remove(id);
             });
         }
 
         @Override
         public void updateProgress(UUID id, float progress) {
-            handleBarUpdate(id, trackedBar -> {
-                trackedBar.getEvent().setProgress(progress);
-                trackedBar.onUpdateProgress(progress);
+            handleBarUpdate(id, presentBar -> {
+                presentBar.trackedBar.getEvent().setProgress(progress);
+                presentBar.trackedBar.onUpdateProgress(progress);
             });
         }
 
         @Override
         public void updateName(UUID id, Component name) {
-            handleBarUpdate(id, trackedBar -> {
-                StyledText nameText = StyledText.fromComponent(name);
+            handleBarUpdate(id, presentBar -> {
+                String nameString = StyledText.fromComponent(name).getString();
+
+                // Bars like the ability bars resend their name often, even when nothing changed
+                if (nameString.equals(presentBar.name)) return;
+
+                presentBar.name = nameString;
+
+                // The pattern that matched last time is the most likely to match again
+                Matcher matcher = presentBar.matchedPattern.matcher(nameString);
+                if (matcher.matches()) {
+                    presentBar.trackedBar.onUpdateName(matcher);
+                    return;
+                }
 
-                for (Pattern pattern : trackedBar.patterns) {
-                    Matcher matcher = nameText.getMatcher(pattern);
+                for (Pattern pattern : presentBar.trackedBar.patterns) {
+                    if (pattern == presentBar.matchedPattern) continue;
+
+                    matcher = pattern.matcher(nameString);
                     if (matcher.matches()) {
-                        trackedBar.onUpdateName(matcher);
+                        presentBar.matchedPattern = pattern;
+                        presentBar.trackedBar.onUpdateName(matcher);
                         return;
                     }
                 }
 
                 WynntilsMod.error("Failed to match already matched boss bar");
-                return;
             });
         }
 
         // We need to cancel the event even though we don't process it here
         @Override
         public void updateStyle(UUID id, BossEvent.BossBarColor color, BossEvent.BossBarOverlay overlay) {
-            handleBarUpdate(id, trackedBar -> {});
+            handleBarUpdate(id, presentBar -> {});
         }
 
         @Override
         public void updateProperties(UUID id, boolean darkenScreen, boolean playMusic, boolean createWorldFog) {
-            handleBarUpdate(id, trackedBar -> {});
+            handleBarUpdate(id, presentBar -> {});
+        }
+    }
+
+    private record BarPattern(TrackedBar trackedBar, Pattern pattern, String literalPrefix) {}
+
+    private static final class PresentBar {
+        private final TrackedBar trackedBar;
+        private Pattern matchedPattern;
+        private String name;
+
+        private PresentBar(TrackedBar trackedBar, Pattern matchedPattern, String name) {
+            this.trackedBar = trackedBar;
+            this.matchedPattern = matchedPattern;
+            this.name = name;
         }
     }
 }
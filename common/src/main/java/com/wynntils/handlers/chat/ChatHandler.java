@@ -360,7 +360,7 @@ public final class ChatHandler extends Handler {
         // Wait a tick for slowdown, and then send the event
         delayedDialogue = dialog;
         delayedType = type;
-        Managers.TickScheduler.scheduleNextTick(() -> {
+        Managers.Scheduler.scheduleNextTick(() -> {
             if (delayedDialogue != null) {
                 List<Component> dialogToSend = delayedDialogue;
                 delayedDialogue = null;
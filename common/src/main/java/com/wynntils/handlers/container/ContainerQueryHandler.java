@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.container;
@@ -9,6 +9,7 @@ import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handler;
 import com.wynntils.handlers.container.type.ContainerContent;
 import com.wynntils.handlers.container.type.ContainerContentChangeType;
+import com.wynntils.handlers.container.type.ContainerQueryMetrics;
 import com.wynntils.mc.event.ContainerSetContentEvent;
 import com.wynntils.mc.event.ContainerSetSlotEvent;
 import com.wynntils.mc.event.LocalSoundEvent;
@@ -17,9 +18,13 @@ import com.wynntils.mc.event.TickEvent;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.wynn.ItemUtils;
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.network.chat.Component;
@@ -31,11 +36,14 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public final class ContainerQueryHandler extends Handler {
     private static final int NO_CONTAINER = -2;
+    private static final int NOT_MEASURED = -1;
     private static final int OPERATION_TIMEOUT_TICKS = 60; // normal operation is ~10 ticks
-    private static final int NEXT_OPERATION_DELAY_TICKS = 5; // normal operation is ~10 ticks
+    private static final int MAX_TRACKED_QUERY_NAMES = 100;
     private static final String MENU_CLICK_SOUND = "minecraft.block.wooden_pressure_plate.click_on";
 
-    private final LinkedList<ContainerQueryStep> queuedQueries = new LinkedList<>();
+    private final Deque<ContainerQueryStep> queuedQueries = new ArrayDeque<>();
+    private final ContainerQueryPacing pacing = new ContainerQueryPacing();
+    private final Map<String, QueryStats> queryStats = new LinkedHashMap<>();
 
     private ContainerQueryStep currentStep;
     private String firstStepName;
@@ -43,11 +51,22 @@ public final class ContainerQueryHandler extends Handler {
     private Component currentTitle;
     private MenuType<?> currentMenuType;
     private ContainerContent currentContent;
+    // The content the container had when it was opened, to tell if the next query can start in it
+    private List<ItemStack> openedItems;
     private int containerId = NO_CONTAINER;
     private int lastHandledContentId = NO_CONTAINER;
     private List<ItemStack> lastHandledItems = List.of();
     private int ticksRemaining;
     private int ticksUntilNextOperation = -1;
+    // Whether the current step has timed out once, and is waiting to be taken again
+    private boolean retryPending = false;
+    private boolean stepRetried = false;
+
+    private int tickCount = 0;
+    private int stepStartTick;
+    private int lastDelayTicks = 0;
+    private long queryStartNanos;
+    private int querySteps;
 
     public void runQuery(ContainerQueryStep firstStep) {
         if (currentStep != null) {
@@ -75,8 +94,7 @@ public final class ContainerQueryHandler extends Handler {
             return;
         }
 
-        currentStep = firstStep;
-        firstStepName = firstStep.getName();
+        startQuery(firstStep);
         resetTimer();
         try {
             if (!firstStep.startStep(null)) {
@@ -96,6 +114,7 @@ public final class ContainerQueryHandler extends Handler {
 
         // Cancel all queued queries
         for (ContainerQueryStep queuedQuery : queuedQueries) {
+            getQueryStats(queuedQuery.getName()).ifPresent(stats -> stats.failures++);
             queuedQuery.onError("Container query interrupted by user");
         }
         queuedQueries.clear();
@@ -112,8 +131,27 @@ public final class ContainerQueryHandler extends Handler {
         return;
     }
 
+    public List<ContainerQueryMetrics> getQueryMetrics() {
+        return queryStats.entrySet().stream()
+                .map(entry -> entry.getValue().toMetrics(entry.getKey()))
+                .toList();
+    }
+
+    /**
+     * @return the current delay in ticks between steps, per container title
+     */
+    public Map<String, Integer> getStepDelays() {
+        return pacing.getDelays();
+    }
+
+    public void resetQueryMetrics() {
+        queryStats.clear();
+    }
+
     @SubscribeEvent
     public void onTick(TickEvent event) {
+        tickCount++;
+
         if (currentStep == null) return;
 
         if (ticksUntilNextOperation >= 0) {
@@ -123,6 +161,8 @@ public final class ContainerQueryHandler extends Handler {
                 try {
                     // Reset the timer for the next operation
                     ticksUntilNextOperation = -1;
+                    retryPending = false;
+                    stepStartTick = tickCount;
                     // Return true iff taking the next step succeeded
                     if (currentStep.startStep(currentContent)) return;
                 } catch (Throwable t) {
@@ -131,12 +171,7 @@ public final class ContainerQueryHandler extends Handler {
                 }
 
                 // We're done
-                endQuery();
-                McUtils.sendPacket(new ServerboundContainerClosePacket(containerId));
-                // Start next query in queue, if any
-                if (!queuedQueries.isEmpty()) {
-                    runQuery(queuedQueries.pop());
-                }
+                finishQuery();
             }
 
             return;
@@ -145,7 +180,26 @@ public final class ContainerQueryHandler extends Handler {
         ticksRemaining--;
 
         if (ticksRemaining <= 0) {
-            raiseError("Container reply timed out");
+            if (currentTitle != null && lastDelayTicks > 0) {
+                // The step was probably taken too soon after the last one
+                pacing.onTimeout(currentTitle.getString(), lastDelayTicks);
+            }
+
+            if (stepRetried) {
+                raiseError("Container reply timed out");
+                return;
+            }
+
+            // Take the step again once, after the backed off delay. If the reply to the first try
+            // arrives in the meantime, it is used instead.
+            WynntilsMod.warn("Container reply timed out for " + firstStepName + ", retrying the step");
+            stepRetried = true;
+            retryPending = true;
+            lastDelayTicks = currentTitle == null
+                    ? ContainerQueryPacing.DEFAULT_DELAY_TICKS
+                    : pacing.getDelay(currentTitle.getString());
+            ticksUntilNextOperation = lastDelayTicks;
+            resetTimer();
         }
     }
 
@@ -158,6 +212,7 @@ public final class ContainerQueryHandler extends Handler {
             containerId = e.getContainerId();
             currentTitle = e.getTitle();
             currentMenuType = e.getMenuType();
+            openedItems = null;
             resetTimer();
             e.setCanceled(true);
         } else {
@@ -197,7 +252,7 @@ public final class ContainerQueryHandler extends Handler {
         }
 
         // We already processed the current step and are waiting to execute it
-        if (ticksUntilNextOperation >= 0) return;
+        if (ticksUntilNextOperation >= 0 && !retryPending) return;
 
         if (containerId == lastHandledContentId && ItemUtils.isItemListsEqual(e.getItems(), lastHandledItems)) {
             // After opening a new container, Wynncraft sometimes sends contents twice. Ignore this.
@@ -210,6 +265,9 @@ public final class ContainerQueryHandler extends Handler {
         lastHandledItems = e.getItems();
         currentContent =
                 new ContainerContent(ImmutableList.copyOf(e.getItems()), currentTitle, currentMenuType, containerId);
+        if (openedItems == null) {
+            openedItems = currentContent.items();
+        }
         resetTimer();
 
         try {
@@ -251,7 +309,7 @@ public final class ContainerQueryHandler extends Handler {
         }
 
         // We already processed the current step and are waiting to execute it
-        if (ticksUntilNextOperation >= 0) return;
+        if (ticksUntilNextOperation >= 0 && !retryPending) return;
 
         lastHandledContentId = containerId;
 
@@ -280,6 +338,18 @@ public final class ContainerQueryHandler extends Handler {
     }
 
     private void processContainer(ContainerContent currentContainer) throws ContainerQueryException {
+        // A late reply to a timed out step, so it does not need to be taken again
+        if (retryPending) {
+            retryPending = false;
+            ticksUntilNextOperation = -1;
+        }
+        stepRetried = false;
+
+        querySteps++;
+        if (stepStartTick != NOT_MEASURED) {
+            pacing.onReply(currentTitle.getString(), tickCount - stepStartTick);
+        }
+
         currentStep.handleContent(currentContainer);
 
         ContainerQueryStep nextStep = currentStep.getNextStep(currentContainer);
@@ -287,23 +357,77 @@ public final class ContainerQueryHandler extends Handler {
         if (nextStep != null) {
             // Go on and query another container
             currentStep = nextStep;
-            ticksUntilNextOperation = NEXT_OPERATION_DELAY_TICKS;
+            lastDelayTicks = pacing.getDelay(currentTitle.getString());
+            ticksUntilNextOperation = lastDelayTicks;
         } else {
             // We're done
-            endQuery();
-            McUtils.sendPacket(new ServerboundContainerClosePacket(containerId));
-            // Start next query in queue, if any
-            if (!queuedQueries.isEmpty()) {
-                runQuery(queuedQueries.pop());
-            }
+            finishQuery();
         }
     }
 
+    private void finishQuery() {
+        long durationNanos = System.nanoTime() - queryStartNanos;
+        getQueryStats(firstStepName).ifPresent(stats -> stats.recordRun(durationNanos, querySteps));
+
+        ContainerQueryStep nextQuery = queuedQueries.peek();
+        if (nextQuery != null && continueInOpenContainer(nextQuery)) return;
+
+        int closedContainerId = containerId;
+        endQuery();
+        McUtils.sendPacket(new ServerboundContainerClosePacket(closedContainerId));
+        // Start next query in queue, if any
+        if (!queuedQueries.isEmpty()) {
+            runQuery(queuedQueries.pop());
+        }
+    }
+
+    /**
+     * If the next query starts by opening the container that is already open, and the container has not been
+     * changed since it was opened, the next query is started on it directly, instead of closing and reopening it.
+     */
+    private boolean continueInOpenContainer(ContainerQueryStep nextQuery) {
+        if (currentContent == null || openedItems == null) return false;
+        if (!ItemUtils.isItemListsEqual(openedItems, currentContent.items())) return false;
+        if (!nextQuery.verifyContainer(currentTitle, currentMenuType)) return false;
+
+        Int2ObjectArrayMap<ItemStack> changeMap = new Int2ObjectArrayMap<>();
+        currentContent.items().forEach(itemStack -> changeMap.put(changeMap.size(), itemStack));
+        if (!nextQuery.verifyContentChange(currentContent, changeMap, ContainerContentChangeType.SET_CONTENT)) {
+            return false;
+        }
+
+        queuedQueries.pop();
+        startQuery(nextQuery);
+        getQueryStats(firstStepName).ifPresent(stats -> stats.merged++);
+        // No request was sent, so there is no reply latency to measure
+        stepStartTick = NOT_MEASURED;
+        resetTimer();
+
+        try {
+            processContainer(currentContent);
+        } catch (Throwable t) {
+            raiseError("Error while processing content for " + firstStepName + ": " + t.getMessage());
+        }
+
+        return true;
+    }
+
+    private void startQuery(ContainerQueryStep firstStep) {
+        currentStep = firstStep;
+        firstStepName = firstStep.getName();
+        queryStartNanos = System.nanoTime();
+        querySteps = 0;
+        stepStartTick = tickCount;
+        lastDelayTicks = 0;
+        stepRetried = false;
+    }
+
     private void raiseError(String errorMsg) {
         if (currentStep == null) {
             WynntilsMod.error("Internal error in ContainerQueryManager: handleError called with no currentStep");
             return;
         }
+        getQueryStats(firstStepName).ifPresent(stats -> stats.failures++);
         currentStep.onError(errorMsg);
         endQuery();
     }
@@ -314,10 +438,44 @@ public final class ContainerQueryHandler extends Handler {
         lastHandledItems = List.of();
         currentStep = null;
         currentContent = null;
+        currentTitle = null;
+        openedItems = null;
         ticksUntilNextOperation = -1;
+        retryPending = false;
+    }
+
+    private Optional<QueryStats> getQueryStats(String name) {
+        // Some query names contain the name of what they query, so keep the number of names bounded
+        if (!queryStats.containsKey(name) && queryStats.size() >= MAX_TRACKED_QUERY_NAMES) return Optional.empty();
+
+        return Optional.of(queryStats.computeIfAbsent(name, k -> new QueryStats()));
     }
 
     private void resetTimer() {
         ticksRemaining = OPERATION_TIMEOUT_TICKS;
     }
+
+    private static final class QueryStats {
+        private int runs;
+        private int failures;
+        private int merged;
+        private long totalDurationNanos;
+        private long totalSteps;
+
+        private void recordRun(long durationNanos, int steps) {
+            runs++;
+            totalDurationNanos += durationNanos;
+            totalSteps += steps;
+        }
+
+        private ContainerQueryMetrics toMetrics(String name) {
+            return new ContainerQueryMetrics(
+                    name,
+                    runs,
+                    failures,
+                    merged,
+                    runs == 0 ? 0 : totalDurationNanos / 1_000_000d / runs,
+                    runs == 0 ? 0 : (double) totalSteps / runs);
+        }
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.container;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides how long to wait before taking the next step in a container, per container title.
+ *
+ * Wynncraft ignores clicks that come too soon after the previous container update, which shows
+ * up as a timed out query. Starting from the old fixed delay, the delay is shrunk by a tick after
+ * a number of replies in a row that were no slower than usual. It is never shrunk down to a delay that
+ * has timed out before, nor below half the usual reply latency, as a click sent sooner likely reaches the
+ * server before it is done with the previous one. A timeout doubles the delay, and a reply much slower
+ * than usual, which means the server is busy, grows it by a tick.
+ */
+final class ContainerQueryPacing {
+    static final int DEFAULT_DELAY_TICKS = 5;
+
+    private static final int MIN_DELAY_TICKS = 1;
+    private static final int MAX_DELAY_TICKS = 20;
+    private static final int REPLIES_BEFORE_SHRINKING = 4;
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final double SLOW_REPLY_FACTOR = 2;
+
+    private final Map<String, ContainerPace> paces = new HashMap<>();
+
+    int getDelay(String container) {
+        ContainerPace pace = paces.get(container);
+        return pace == null ? DEFAULT_DELAY_TICKS : pace.delayTicks;
+    }
+
+    Map<String, Integer> getDelays() {
+        Map<String, Integer> delays = new HashMap<>();
+        paces.forEach((container, pace) -> delays.put(container, pace.delayTicks));
+        return delays;
+    }
+
+    void onReply(String container, int latencyTicks) {
+        ContainerPace pace = paces.computeIfAbsent(container, k -> new ContainerPace());
+
+        if (pace.averageLatencyTicks > 0 && latencyTicks > pace.averageLatencyTicks * SLOW_REPLY_FACTOR) {
+            pace.delayTicks = Math.min(MAX_DELAY_TICKS, pace.delayTicks + 1);
+            pace.repliesInRow = 0;
+        } else if (pace.averageLatencyTicks > 0 && latencyTicks > pace.averageLatencyTicks) {
+            // Somewhat slow, so this does not show that a shorter delay would work
+            pace.repliesInRow = 0;
+        } else if (++pace.repliesInRow >= REPLIES_BEFORE_SHRINKING) {
+            pace.repliesInRow = 0;
+            int minDelayTicks = Math.max(
+                    Math.max(MIN_DELAY_TICKS, pace.timedOutDelayTicks + 1),
+                    (int) Math.ceil(pace.averageLatencyTicks / 2));
+            if (pace.delayTicks > minDelayTicks) {
+                pace.delayTicks--;
+            }
+        }
+
+        pace.averageLatencyTicks = pace.averageLatencyTicks == 0
+                ? latencyTicks
+                : pace.averageLatencyTicks + (latencyTicks - pace.averageLatencyTicks) * LATENCY_SMOOTHING;
+    }
+
+    void onTimeout(String container, int usedDelayTicks) {
+        ContainerPace pace = paces.computeIfAbsent(container, k -> new ContainerPace());
+
+        pace.timedOutDelayTicks = Math.max(pace.timedOutDelayTicks, usedDelayTicks);
+        pace.delayTicks = Math.min(MAX_DELAY_TICKS, Math.max(pace.delayTicks * 2, pace.timedOutDelayTicks + 1));
+        pace.repliesInRow = 0;
+    }
+
+    private static final class ContainerPace {
+        private int delayTicks = DEFAULT_DELAY_TICKS;
+        // The largest delay that has been too short, the delay is never shrunk to this again
+        private int timedOutDelayTicks = 0;
+        private int repliesInRow = 0;
+        private double averageLatencyTicks = 0;
+    }
+}
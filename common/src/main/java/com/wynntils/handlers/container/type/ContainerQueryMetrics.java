@@ -0,0 +1,8 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.container.type;
+
+public record ContainerQueryMetrics(
+        String name, int runs, int failures, int merged, double averageDurationMs, double averageSteps) {}
@@ -17,23 +17,34 @@ import com.wynntils.mc.event.RemoveEntitiesEvent;
 import com.wynntils.mc.event.SetEntityDataEvent;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.utils.mc.McUtils;
+import com.wynntils.utils.mc.PosUtils;
 import com.wynntils.utils.mc.type.Location;
+import com.wynntils.utils.type.PrefixIndex;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import net.minecraft.core.Position;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.syncher.EntityDataSerializer;
 import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class LabelHandler extends Handler {
-    private final List<LabelParser> parsers = new ArrayList<>();
+    // The length of a formatting code, which is what parsers are keyed on
+    private static final int PREFIX_KEY_LENGTH = 2;
+
+    // Parsers to try for labels by their formatting code, in registration order
+    private final PrefixIndex<LabelParser> parsers = new PrefixIndex<>(PREFIX_KEY_LENGTH);
 
     private final Map<Integer, LabelInfo> liveLabels = new HashMap<>();
+    // Live labels by the chunk column of their location
+    private final Map<Long, Map<Integer, LabelInfo>> liveLabelsByChunk = new HashMap<>();
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onEntitySetData(SetEntityDataEvent event) {
@@ -63,7 +74,13 @@ public class LabelHandler extends Handler {
 
                 LabelInfo labelInfo = tryIdentifyLabel(newName, entity);
                 if (labelInfo != null) {
-                    liveLabels.put(entity.getId(), labelInfo);
+                    addLiveLabel(labelInfo);
+                } else {
+                    // The entity may have been showing a label we identified before
+                    LabelInfo removedLabel = removeLiveLabel(entity.getId());
+                    if (removedLabel != null) {
+                        WynntilsMod.postEvent(new LabelsRemovedEvent(List.of(removedLabel)));
+                    }
                 }
 
                 EntityLabelChangedEvent labelChangedEvent =
@@ -100,11 +117,14 @@ public class LabelHandler extends Handler {
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onEntitiesRemoved(RemoveEntitiesEvent event) {
-        List<LabelInfo> removedLabels = liveLabels.values().stream()
-                .filter(label -> event.getEntityIds().contains(label.getEntity().getId()))
-                .toList();
+        List<LabelInfo> removedLabels = new ArrayList<>();
+        for (int entityId : event.getEntityIds()) {
+            LabelInfo removedLabel = removeLiveLabel(entityId);
+            if (removedLabel != null) {
+                removedLabels.add(removedLabel);
+            }
+        }
 
-        removedLabels.forEach(label -> liveLabels.remove(label.getEntity().getId()));
         WynntilsMod.postEvent(new LabelsRemovedEvent(removedLabels));
     }
 
@@ -112,16 +132,99 @@ public class LabelHandler extends Handler {
     public void onWorldStateChange(WorldStateEvent event) {
         List<LabelInfo> oldLabels = new ArrayList<>(liveLabels.values());
         liveLabels.clear();
+        liveLabelsByChunk.clear();
         WynntilsMod.postEvent(new LabelsRemovedEvent(oldLabels));
     }
 
     public void registerParser(LabelParser labelParser) {
-        parsers.add(labelParser);
+        parsers.add(labelParser, labelParser.getPrefixes());
+    }
+
+    /**
+     * Returns the live labels whose location is within the given radius of the position.
+     * Only the chunks overlapping the radius are looked at.
+     */
+    public List<LabelInfo> getLabelsNear(Position position, double radius) {
+        return getLabelsNear(position, radius, LabelInfo.class);
+    }
+
+    public <T extends LabelInfo> List<T> getLabelsNear(Position position, double radius, Class<T> labelClass) {
+        List<T> labels = new ArrayList<>();
+        double radiusSqr = radius * radius;
+
+        PosUtils.forEachChunkNear(position, radius, chunkKey -> {
+            Map<Integer, LabelInfo> chunkLabels = liveLabelsByChunk.get(chunkKey);
+            if (chunkLabels == null) return;
+
+            for (LabelInfo label : chunkLabels.values()) {
+                if (!labelClass.isInstance(label)) continue;
+
+                Location location = label.getLocation();
+                double dx = location.x() - position.x();
+                double dy = location.y() - position.y();
+                double dz = location.z() - position.z();
+                if (dx * dx + dy * dy + dz * dz > radiusSqr) continue;
+
+                labels.add(labelClass.cast(label));
+            }
+        });
+
+        return labels;
+    }
+
+    private void addLiveLabel(LabelInfo labelInfo) {
+        int entityId = labelInfo.getEntity().getId();
+
+        // Renamed labels replace the previous label of the entity
+        removeLiveLabel(entityId);
+
+        liveLabels.put(entityId, labelInfo);
+        liveLabelsByChunk
+                .computeIfAbsent(getChunkKey(labelInfo.getLocation()), key -> new LinkedHashMap<>())
+                .put(entityId, labelInfo);
+    }
+
+    private LabelInfo removeLiveLabel(int entityId) {
+        LabelInfo labelInfo = liveLabels.remove(entityId);
+        if (labelInfo == null) return null;
+
+        long chunkKey = getChunkKey(labelInfo.getLocation());
+        Map<Integer, LabelInfo> chunkLabels = liveLabelsByChunk.get(chunkKey);
+        if (chunkLabels != null) {
+            chunkLabels.remove(entityId);
+            if (chunkLabels.isEmpty()) {
+                liveLabelsByChunk.remove(chunkKey);
+            }
+        }
+
+        return labelInfo;
+    }
+
+    private static long getChunkKey(Location location) {
+        return ChunkPos.asLong(location.x() >> 4, location.z() >> 4);
+    }
+
+    private static boolean matchesPrefix(LabelParser parser, String name) {
+        List<String> prefixes = parser.getPrefixes();
+        if (prefixes.isEmpty()) return true;
+
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) return true;
+        }
+
+        return false;
     }
 
     private LabelInfo tryIdentifyLabel(StyledText name, Entity entity) {
-        for (LabelParser parser : parsers) {
-            LabelInfo info = parser.getInfo(name, Location.containing(entity.position()), entity);
+        String nameString = name.getString();
+        List<LabelParser> candidates = parsers.get(nameString);
+        if (candidates.isEmpty()) return null;
+
+        Location location = Location.containing(entity.position());
+        for (LabelParser parser : candidates) {
+            if (!matchesPrefix(parser, nameString)) continue;
+
+            LabelInfo info = parser.getInfo(name, location, entity);
 
             if (info == null) continue;
 
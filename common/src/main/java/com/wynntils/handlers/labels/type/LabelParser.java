@@ -6,6 +6,7 @@ package com.wynntils.handlers.labels.type;
 
 import com.wynntils.core.text.StyledText;
 import com.wynntils.utils.mc.type.Location;
+import java.util.List;
 import net.minecraft.world.entity.Entity;
 
 @FunctionalInterface
@@ -15,4 +16,13 @@ public interface LabelParser<T extends LabelInfo> {
      * @return The label info, or null if the label is not valid for this parser.
      */
     T getInfo(StyledText label, Location location, Entity entity);
+
+    /**
+     * The prefixes a label's formatted string must start with for this parser to accept it, used to skip
+     * parsers cheaply. Each prefix must start with a formatting code, like "§d". An empty list means
+     * the parser is tried for every label.
+     */
+    default List<String> getPrefixes() {
+        return List.of();
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.particle;
@@ -14,46 +14,57 @@ import com.wynntils.handlers.particle.type.UnverifiedParticle;
 import com.wynntils.mc.event.ParticleAddedEvent;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import net.minecraft.core.Position;
+import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class ParticleHandler extends Handler {
     private final Map<ParticleType, ParticleVerifier> particleVerifiers = new EnumMap<>(ParticleType.class);
+    // Dispatches a particle effect to the registered particle types which can be built from it,
+    // so particles of unrelated effects are rejected with a single lookup
+    private final Map<ParticleOptions, List<ParticleType>> particleTypesByEffect = new HashMap<>();
 
     private final Set<UnverifiedParticle> unverifiedParticles = new HashSet<>();
+    // All unverified particles are started from the same particle, so they share the particle effect
+    private ParticleOptions unverifiedParticleEffect;
 
     @SubscribeEvent
     public void onParticleAdded(ParticleAddedEvent event) {
-        Position particlePosition = new Vec3(event.getX(), event.getY(), event.getZ());
+        ParticleOptions particleEffect = event.getParticle();
 
         // We depend on the fact that particle groups are sent in order:
         // If we have A and B particle animation, then we will receive all A particles, then all B particles
         if (unverifiedParticles.isEmpty()) {
-            for (ParticleType particleType : particleVerifiers.keySet()) {
-                // Check if the this type is compatible with the particle effect type
-                if (!particleType.getCompatibleParticleEffect().equals(event.getParticle())) continue;
+            List<ParticleType> compatibleTypes = particleTypesByEffect.get(particleEffect);
+            if (compatibleTypes == null) return;
 
-                UnverifiedParticle unverifiedParticleOfType = new UnverifiedParticle(particleType, event.getParticle());
+            Position particlePosition = new Vec3(event.getX(), event.getY(), event.getZ());
+
+            for (ParticleType particleType : compatibleTypes) {
+                UnverifiedParticle unverifiedParticleOfType = new UnverifiedParticle(particleType, particleEffect);
 
                 // Check if the particle passes the verifier
-                if (unverifiedParticleOfType.addNewParticle(particlePosition, event.getParticle())) {
+                if (unverifiedParticleOfType.addNewParticle(particlePosition, particleEffect)) {
                     unverifiedParticles.add(unverifiedParticleOfType);
+                    unverifiedParticleEffect = particleEffect;
                 }
             }
         } else {
+            // Only particles of the same effect can continue the unverified particles
+            if (!unverifiedParticleEffect.equals(particleEffect)) return;
+
+            Position particlePosition = new Vec3(event.getX(), event.getY(), event.getZ());
             List<UnverifiedParticle> invalidParticles = new ArrayList<>();
 
             for (UnverifiedParticle unverifiedParticle : unverifiedParticles) {
-                // Check if the this type is compatible with the particle effect type
-                if (!unverifiedParticle.getParticleEffect().equals(event.getParticle())) continue;
-
                 // Check if the particle passes the verifier
-                if (unverifiedParticle.addNewParticle(particlePosition, event.getParticle())) {
+                if (unverifiedParticle.addNewParticle(particlePosition, particleEffect)) {
                     ParticleVerifier.VerificationResult verificationResult = unverifiedParticle.verifyCompleteness();
 
                     switch (verificationResult) {
@@ -84,7 +95,11 @@ public class ParticleHandler extends Handler {
     }
 
     public void registerParticleVerifier(ParticleType particleType, ParticleVerifier particleVerifier) {
-        particleVerifiers.put(particleType, particleVerifier);
+        if (particleVerifiers.put(particleType, particleVerifier) != null) return;
+
+        particleTypesByEffect
+                .computeIfAbsent(particleType.getCompatibleParticleEffect(), k -> new ArrayList<>())
+                .add(particleType);
     }
 
     public ParticleVerifier getParticleVerifier(ParticleType particleType) {
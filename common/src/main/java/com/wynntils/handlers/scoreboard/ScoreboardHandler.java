@@ -1,10 +1,9 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.scoreboard;
 
-import com.google.common.collect.ImmutableList;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handler;
 import com.wynntils.core.text.PartStyle;
@@ -15,14 +14,21 @@ import com.wynntils.handlers.scoreboard.type.SegmentMatcher;
 import com.wynntils.mc.event.ScoreboardSetDisplayObjectiveEvent;
 import com.wynntils.mc.event.ScoreboardSetObjectiveEvent;
 import com.wynntils.mc.event.ScoreboardSetScoreEvent;
+import com.wynntils.mc.event.TickEvent;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
+import com.wynntils.utils.type.BoundedCache;
 import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
@@ -44,14 +50,39 @@ public final class ScoreboardHandler extends Handler {
             .withStyle(ChatFormatting.GOLD);
     private static final int MAX_SCOREBOARD_LINE = 16;
     private static final ScoreboardPart FALLBACK_SCOREBOARD_PART = new FallbackScoreboardPart();
+    private static final StyledText FIRST_LINE = StyledText.fromString("À");
 
     private String currentScoreboardName = "";
     private List<Pair<ScoreboardPart, ScoreboardSegment>> scoreboardSegments = new ArrayList<>();
 
     private final List<ScoreboardPart> scoreboardParts = new ArrayList<>();
 
+    // Wynncraft sends many score updates in a single tick, so updates are handled once per tick
+    private boolean updatePending = false;
+
+    // The lines of the last update, to skip updates that did not change anything
+    private List<ScoreboardLine> currentLines = List.of();
+    private Map<String, StyledText> styledLines = Map.of();
+
+    // Headers rarely change, so avoid matching them against every part on every update
+    private final BoundedCache<String, ScoreboardPart> headerPartCache = new BoundedCache<>(64);
+
+    // The lines currently set on our objective, so it can be patched instead of recreated
+    private Objective wynntilsObjective;
+    private final Map<String, Integer> wynntilsObjectiveLines = new HashMap<>();
+
     public void addPart(ScoreboardPart scoreboardPart) {
         scoreboardParts.add(scoreboardPart);
+        headerPartCache.invalidateAll();
+    }
+
+    /**
+     * Rebuilds the scoreboard on the next tick, even if no line changed, so that segments which are
+     * now hidden or shown, like after a config change, are updated.
+     */
+    public void refreshSegments() {
+        currentLines = List.of();
+        updatePending = !currentScoreboardName.isEmpty();
     }
 
     private boolean isValidScoreboardName(String scoreboardName) {
@@ -66,14 +97,14 @@ public final class ScoreboardHandler extends Handler {
     public void onSetScore(ScoreboardSetScoreEvent event) {
         if (!currentScoreboardName.equals(event.getObjectiveName())) return;
 
-        handleUpdate();
+        updatePending = true;
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onSetObjective(ScoreboardSetObjectiveEvent event) {
         if (!currentScoreboardName.equals(event.getObjectiveName())) return;
 
-        handleUpdate();
+        updatePending = true;
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
@@ -81,11 +112,20 @@ public final class ScoreboardHandler extends Handler {
         if (!isValidScoreboardName(event.getObjectiveName())) return;
 
         currentScoreboardName = event.getObjectiveName();
-        handleUpdate();
+        updatePending = true;
 
         event.setCanceled(true);
     }
 
+    // Packets are handled before the tick, so all updates received since the last tick are handled together
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onTick(TickEvent event) {
+        if (!updatePending) return;
+        updatePending = false;
+
+        handleUpdate();
+    }
+
     @SubscribeEvent
     public void onWorldStateChange(WorldStateEvent event) {
         if (event.getNewState() == WorldState.WORLD) return;
@@ -94,12 +134,21 @@ public final class ScoreboardHandler extends Handler {
 
         scoreboardSegments = new ArrayList<>();
         currentScoreboardName = "";
+        updatePending = false;
+        currentLines = List.of();
+        styledLines = Map.of();
+        wynntilsObjective = null;
+        wynntilsObjectiveLines.clear();
     }
 
     private void handleUpdate() {
         // 1. Get a reconstructed scoreboard from the current scoreboard state
         List<ScoreboardLine> reconstructedScoreboard = getCurrentScoreboardState(currentScoreboardName);
 
+        // Updates often only set a score to the value it already had
+        if (reconstructedScoreboard.equals(currentLines) && isWynntilsObjectiveDisplayed()) return;
+        currentLines = reconstructedScoreboard;
+
         // 2. Verify that the scoreboard is in a semi-valid state
         // (in a state where we can make sense of it, even if the actual data is still being updated)
         List<ScoreboardPart> validParts = getValidScoreboardParts(reconstructedScoreboard);
@@ -108,20 +157,32 @@ public final class ScoreboardHandler extends Handler {
         calculateScoreboardSegments(reconstructedScoreboard, validParts);
 
         // 4. Create our own scoreboard to hide specific segments
-        createScoreboardFromSegments(reconstructedScoreboard);
+        createScoreboardFromSegments();
     }
 
     private List<ScoreboardLine> getCurrentScoreboardState(String currentScoreboardName) {
         Scoreboard scoreboard = McUtils.mc().level.getScoreboard();
         Objective objective = scoreboard.getObjective(currentScoreboardName);
-        List<Score> lines = new ArrayList<>(scoreboard.getPlayerScores(objective));
+        List<Score> scores = new ArrayList<>(scoreboard.getPlayerScores(objective));
 
         // Lines are by default in reverse order
-        Collections.reverse(lines);
+        Collections.reverse(scores);
+
+        // Only parse the lines that are new since the last update
+        Map<String, StyledText> newStyledLines = new HashMap<>();
+        List<ScoreboardLine> lines = new ArrayList<>(scores.size());
+        for (Score score : scores) {
+            StyledText line = styledLines.get(score.getOwner());
+            if (line == null) {
+                line = StyledText.fromString(score.getOwner());
+            }
+
+            newStyledLines.put(score.getOwner(), line);
+            lines.add(new ScoreboardLine(line, score.getScore()));
+        }
 
-        return lines.stream()
-                .map(s -> new ScoreboardLine(StyledText.fromString(s.getOwner()), s.getScore()))
-                .toList();
+        styledLines = newStyledLines;
+        return lines;
     }
 
     private List<ScoreboardPart> getValidScoreboardParts(List<ScoreboardLine> reconstructedScoreboard) {
@@ -142,22 +203,17 @@ public final class ScoreboardHandler extends Handler {
         }
 
         // 1. Check for duplicate lines
-        List<StyledText> lines = new ArrayList<>();
+        Set<StyledText> lines = new HashSet<>();
         for (ScoreboardLine line : reconstructedScoreboard) {
-            if (lines.contains(line.line())) {
+            if (!lines.add(line.line())) {
                 // We found a duplicate line, so the scoreboard is invalid
                 return List.of();
             }
-
-            lines.add(line.line());
         }
 
         // 2. Check for gaps in the scores
-        int lastScore = reconstructedScoreboard.stream()
-                .map(ScoreboardLine::score)
-                .findFirst()
-                .orElse(0);
-        for (ScoreboardLine line : reconstructedScoreboard.stream().skip(1).toList()) {
+        int lastScore = reconstructedScoreboard.get(0).score();
+        for (ScoreboardLine line : reconstructedScoreboard.subList(1, reconstructedScoreboard.size())) {
             if (line.score() >= lastScore) {
                 // We found a non strictly decreasing score, so the scoreboard is invalid
                 // Note: lastScore - line.score() should always be 1,
@@ -169,11 +225,7 @@ public final class ScoreboardHandler extends Handler {
         }
 
         // 3. Check for a new line at the start
-        if (!reconstructedScoreboard.stream()
-                .findFirst()
-                .map(ScoreboardLine::line)
-                .orElse(StyledText.EMPTY)
-                .equals(StyledText.fromString("À"))) {
+        if (!reconstructedScoreboard.get(0).line().equals(FIRST_LINE)) {
             // We did not find a new line at the start, so the scoreboard is invalid
             return List.of();
         }
@@ -187,7 +239,7 @@ public final class ScoreboardHandler extends Handler {
         //                        This is a valid case because the scoreboard cannot fit all segments,
         //                        so it will only display the x lines.
         int currentIndex = 1;
-        List<ScoreboardLine> scoreboardLines = reconstructedScoreboard.stream().toList();
+        List<ScoreboardLine> scoreboardLines = reconstructedScoreboard;
 
         List<ScoreboardPart> scoreboardParts = new ArrayList<>();
         while (currentIndex < scoreboardLines.size()) {
@@ -240,9 +292,15 @@ public final class ScoreboardHandler extends Handler {
     private void calculateScoreboardSegments(
             List<ScoreboardLine> reconstructedScoreboard, List<ScoreboardPart> validParts) {
         int currentIndex = 1;
-        List<ScoreboardLine> scoreboardLines = reconstructedScoreboard.stream().toList();
+        List<ScoreboardLine> scoreboardLines = reconstructedScoreboard;
 
-        List<Pair<ScoreboardPart, ScoreboardSegment>> oldSegments = ImmutableList.copyOf(scoreboardSegments);
+        // The fallback part can have multiple segments, but it is never compared
+        Map<ScoreboardPart, ScoreboardSegment> oldSegments = new HashMap<>();
+        for (Pair<ScoreboardPart, ScoreboardSegment> oldPair : scoreboardSegments) {
+            if (oldPair.key() == FALLBACK_SCOREBOARD_PART) continue;
+
+            oldSegments.put(oldPair.key(), oldPair.value());
+        }
         scoreboardSegments = new ArrayList<>();
 
         int validPartIndex = 0;
@@ -288,91 +346,117 @@ public final class ScoreboardHandler extends Handler {
             scoreboardSegments.add(new Pair<>(calculatedPart, segment));
         }
 
-        // Handle segment removals
-        for (Pair<ScoreboardPart, ScoreboardSegment> oldPair : oldSegments) {
-            // Special case for the fallback part, don't call onSegmentRemove
-            if (oldPair.key() == FALLBACK_SCOREBOARD_PART) continue;
-
-            Optional<Pair<ScoreboardPart, ScoreboardSegment>> segmentOpt = scoreboardSegments.stream()
-                    .filter(pair -> pair.key() == oldPair.key())
-                    .findFirst();
-            if (segmentOpt.isEmpty()) {
-                oldPair.key().onSegmentRemove(oldPair.value());
-            }
-        }
-
-        // Handle segment changes
+        // Handle segment changes, only for segments that are different from the last update
+        Set<ScoreboardPart> currentParts = new HashSet<>();
         for (Pair<ScoreboardPart, ScoreboardSegment> pair : scoreboardSegments) {
             // Special case for the fallback part, don't call onSegmentChange
             if (pair.key() == FALLBACK_SCOREBOARD_PART) continue;
 
-            Optional<Pair<ScoreboardPart, ScoreboardSegment>> oldSegmentOpt = oldSegments.stream()
-                    .filter(oldPair -> oldPair.key() == pair.key())
-                    .findFirst();
-            if (oldSegmentOpt.isEmpty() || !oldSegmentOpt.get().value().equals(pair.value())) {
+            currentParts.add(pair.key());
+
+            if (!pair.value().equals(oldSegments.get(pair.key()))) {
                 pair.key().onSegmentChange(pair.value());
             }
         }
+
+        // Handle segment removals
+        for (Map.Entry<ScoreboardPart, ScoreboardSegment> oldEntry : oldSegments.entrySet()) {
+            if (!currentParts.contains(oldEntry.getKey())) {
+                oldEntry.getKey().onSegmentRemove(oldEntry.getValue());
+            }
+        }
     }
 
-    private void createScoreboardFromSegments(List<ScoreboardLine> reconstructedScoreboard) {
-        Scoreboard scoreboard = McUtils.player().getScoreboard();
+    private void createScoreboardFromSegments() {
+        Map<String, Integer> lines = new LinkedHashMap<>();
 
-        Objective oldObjective = scoreboard.getObjective(SCOREBOARD_KEY);
-        if (oldObjective != null) {
-            scoreboard.removeObjective(oldObjective);
-        }
+        if (scoreboardSegments.stream().map(Pair::value).anyMatch(ScoreboardSegment::isVisible)) {
+            int currentScoreboardLine = MAX_SCOREBOARD_LINE;
 
-        Objective wynntilsObjective = scoreboard.addObjective(
-                SCOREBOARD_KEY,
-                ObjectiveCriteria.DUMMY,
-                SCOREBOARD_TITLE_COMPONENT,
-                ObjectiveCriteria.RenderType.INTEGER);
+            // Insert the first line at the top
+            lines.put("À", currentScoreboardLine);
+            currentScoreboardLine--;
 
-        scoreboard.setDisplayObjective(DisplaySlot.SIDEBAR, wynntilsObjective);
+            int separatorCount = 2;
 
-        if (scoreboardSegments.stream().map(Pair::value).noneMatch(ScoreboardSegment::isVisible)) return;
+            // Insert the visible segments
+            for (int i = 0; i < scoreboardSegments.size(); i++) {
+                ScoreboardSegment scoreboardSegment = scoreboardSegments.get(i).value();
+                if (!scoreboardSegment.isVisible()) continue;
 
-        int currentScoreboardLine = MAX_SCOREBOARD_LINE;
+                lines.put(scoreboardSegment.getHeader().getString(), currentScoreboardLine);
+                currentScoreboardLine--;
 
-        // Insert the first line at the top
-        scoreboard.getOrCreatePlayerScore("À", wynntilsObjective).setScore(currentScoreboardLine);
-        currentScoreboardLine--;
+                for (StyledText line : scoreboardSegment.getContent()) {
+                    lines.put(line.getString(), currentScoreboardLine);
+                    currentScoreboardLine--;
+                }
 
-        int separatorCount = 2;
+                if (i != scoreboardSegments.size() - 1) {
+                    lines.put(StringUtils.repeat('À', separatorCount), currentScoreboardLine);
+                    currentScoreboardLine--;
+                    separatorCount++;
+                }
+            }
+        }
 
-        // Insert the visible segments
-        List<ScoreboardSegment> segments =
-                scoreboardSegments.stream().map(Pair::value).toList();
-        for (int i = 0; i < segments.size(); i++) {
-            ScoreboardSegment scoreboardSegment = segments.get(i);
-            if (!scoreboardSegment.isVisible()) continue;
+        updateWynntilsObjective(lines);
+    }
 
-            scoreboard
-                    .getOrCreatePlayerScore(scoreboardSegment.getHeader().getString(), wynntilsObjective)
-                    .setScore(currentScoreboardLine);
-            currentScoreboardLine--;
+    private void updateWynntilsObjective(Map<String, Integer> lines) {
+        Scoreboard scoreboard = McUtils.player().getScoreboard();
 
-            for (StyledText line : scoreboardSegment.getContent()) {
-                scoreboard
-                        .getOrCreatePlayerScore(line.getString(), wynntilsObjective)
-                        .setScore(currentScoreboardLine);
-                currentScoreboardLine--;
+        // The objective is only recreated if it is gone, like after a world change
+        Objective objective = scoreboard.getObjective(SCOREBOARD_KEY);
+        if (objective == null || objective != wynntilsObjective) {
+            if (objective != null) {
+                scoreboard.removeObjective(objective);
             }
 
-            if (i != segments.size() - 1) {
-                scoreboard
-                        .getOrCreatePlayerScore(StringUtils.repeat('À', separatorCount), wynntilsObjective)
-                        .setScore(currentScoreboardLine);
-                currentScoreboardLine--;
-                separatorCount++;
-            }
+            wynntilsObjective = scoreboard.addObjective(
+                    SCOREBOARD_KEY,
+                    ObjectiveCriteria.DUMMY,
+                    SCOREBOARD_TITLE_COMPONENT,
+                    ObjectiveCriteria.RenderType.INTEGER);
+            wynntilsObjectiveLines.clear();
+        }
+
+        if (scoreboard.getDisplayObjective(DisplaySlot.SIDEBAR) != wynntilsObjective) {
+            scoreboard.setDisplayObjective(DisplaySlot.SIDEBAR, wynntilsObjective);
+        }
+
+        // Remove the lines that are gone, then only set the scores that changed
+        Iterator<Map.Entry<String, Integer>> it = wynntilsObjectiveLines.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Integer> entry = it.next();
+            if (lines.containsKey(entry.getKey())) continue;
+
+            scoreboard.resetPlayerScore(entry.getKey(), wynntilsObjective);
+            it.remove();
+        }
+
+        for (Map.Entry<String, Integer> entry : lines.entrySet()) {
+            Integer currentScore = wynntilsObjectiveLines.put(entry.getKey(), entry.getValue());
+            if (entry.getValue().equals(currentScore)) continue;
+
+            scoreboard.getOrCreatePlayerScore(entry.getKey(), wynntilsObjective).setScore(entry.getValue());
         }
     }
 
+    private boolean isWynntilsObjectiveDisplayed() {
+        Scoreboard scoreboard = McUtils.player().getScoreboard();
+
+        return wynntilsObjective != null
+                && scoreboard.getObjective(SCOREBOARD_KEY) == wynntilsObjective
+                && scoreboard.getDisplayObjective(DisplaySlot.SIDEBAR) == wynntilsObjective;
+    }
+
     private ScoreboardPart getScoreboardPartForHeader(ScoreboardLine scoreboardLine) {
-        String unformattedLine = scoreboardLine.line().getString(PartStyle.StyleType.NONE);
+        return headerPartCache.get(
+                scoreboardLine.line().getString(PartStyle.StyleType.NONE), this::findScoreboardPartForHeader);
+    }
 
+    private ScoreboardPart findScoreboardPartForHeader(String unformattedLine) {
         for (ScoreboardPart part : scoreboardParts) {
             if (part.getSegmentMatcher()
                     .headerPattern()
@@ -11,65 +11,81 @@ import com.wynntils.models.character.type.ClassType;
 import com.wynntils.models.elements.type.Skill;
 import com.wynntils.models.stats.type.StatListOrdering;
 import com.wynntils.models.wynnitem.parsing.WynnItemParser;
+import com.wynntils.utils.type.BoundedCache;
 import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import net.minecraft.network.chat.Component;
 
 public abstract class TooltipBuilder {
     protected static final TooltipStyle DEFAULT_TOOLTIP_STYLE =
             new TooltipStyle(StatListOrdering.WYNNCRAFT, false, false, true, true);
+
+    // Identical items (e.g. the same unidentified gear in the trade market or bank) have identical lore,
+    // so they can share the result of splitting it into header and footer
+    private static final BoundedCache<List<Component>, Pair<List<Component>, List<Component>>> HEADER_FOOTER_CACHE =
+            new BoundedCache<>(256);
+
     protected final List<Component> header;
     protected final List<Component> footer;
 
-    // The identificationsCache is only valid if the cached dependencies matchs
+    // The tooltipCache is only valid if the cached dependencies match
     protected ClassType cachedCurrentClass;
     protected TooltipStyle cachedStyle;
     protected TooltipIdentificationDecorator cachedDecorator;
-    protected List<Component> identificationsCache;
+    protected List<Component> tooltipCache;
 
     protected TooltipBuilder(List<Component> header, List<Component> footer) {
-        this.header = header;
-        this.footer = footer;
+        this.header = List.copyOf(header);
+        this.footer = List.copyOf(footer);
     }
 
     public List<Component> getTooltipLines(ClassType currentClass) {
         return getTooltipLines(currentClass, DEFAULT_TOOLTIP_STYLE, null);
     }
 
+    /**
+     * Returns the assembled tooltip. The returned list is immutable, and is shared between calls
+     * as long as the current class, style and decorator stay the same.
+     */
     public List<Component> getTooltipLines(
             ClassType currentClass, TooltipStyle style, TooltipIdentificationDecorator decorator) {
-        List<Component> tooltip = new ArrayList<>();
-
-        // Header and footer are always constant
-        tooltip.addAll(header);
-
-        List<Component> identifications;
-
         // Identification lines are rendered differently depending on current class, requested
         // style and provided decorator. If all match, use cache.
-        if (currentClass != cachedCurrentClass || cachedStyle != style || cachedDecorator != decorator) {
-            identifications = getIdentificationLines(currentClass, style, decorator);
-            identificationsCache = identifications;
-            cachedCurrentClass = currentClass;
-            cachedStyle = style;
-            cachedDecorator = decorator;
-        } else {
-            identifications = identificationsCache;
+        if (tooltipCache != null
+                && currentClass == cachedCurrentClass
+                && Objects.equals(style, cachedStyle)
+                && decorator == cachedDecorator) {
+            return tooltipCache;
         }
 
-        tooltip.addAll(identifications);
+        List<Component> identifications = getIdentificationLines(currentClass, style, decorator);
 
+        // Header and footer are always constant
+        List<Component> tooltip = new ArrayList<>(header.size() + identifications.size() + footer.size());
+        tooltip.addAll(header);
+        tooltip.addAll(identifications);
         tooltip.addAll(footer);
 
-        return tooltip;
+        tooltipCache = Collections.unmodifiableList(tooltip);
+        cachedCurrentClass = currentClass;
+        cachedStyle = style;
+        cachedDecorator = decorator;
+
+        return tooltipCache;
     }
 
     protected abstract List<Component> getIdentificationLines(
             ClassType currentClass, TooltipStyle style, TooltipIdentificationDecorator decorator);
 
     protected static Pair<List<Component>, List<Component>> extractHeaderAndFooter(List<Component> lore) {
+        return HEADER_FOOTER_CACHE.get(List.copyOf(lore), TooltipBuilder::splitHeaderAndFooter);
+    }
+
+    private static Pair<List<Component>, List<Component>> splitHeaderAndFooter(List<Component> lore) {
         List<Component> header = new ArrayList<>();
         List<Component> footer = new ArrayList<>();
 
@@ -131,6 +147,6 @@ public abstract class TooltipBuilder {
             footer.add(0, Component.literal(""));
         }
 
-        return Pair.of(header, footer);
+        return Pair.of(List.copyOf(header), List.copyOf(footer));
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2021-2023.
+ * Copyright © Wynntils 2021-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.mc.mixin;
@@ -109,6 +109,8 @@ public abstract class AbstractContainerScreenMixin {
             method = "renderSlot(Lnet/minecraft/client/gui/GuiGraphics;Lnet/minecraft/world/inventory/Slot;)V",
             at = @At("HEAD"))
     private void renderSlotPre(GuiGraphics guiGraphics, Slot slot, CallbackInfo info) {
+        if (!MixinHelper.hasListeners(SlotRenderEvent.Pre.class)) return;
+
         MixinHelper.post(new SlotRenderEvent.Pre(guiGraphics, (Screen) (Object) this, slot));
     }
 
@@ -120,6 +122,8 @@ public abstract class AbstractContainerScreenMixin {
                             target =
                                     "Lnet/minecraft/client/gui/GuiGraphics;renderItemDecorations(Lnet/minecraft/client/gui/Font;Lnet/minecraft/world/item/ItemStack;IILjava/lang/String;)V"))
     private void renderSlotPreCount(GuiGraphics guiGraphics, Slot slot, CallbackInfo info) {
+        if (!MixinHelper.hasListeners(SlotRenderEvent.CountPre.class)) return;
+
         MixinHelper.post(new SlotRenderEvent.CountPre(guiGraphics, (Screen) (Object) this, slot));
     }
 
@@ -127,6 +131,8 @@ public abstract class AbstractContainerScreenMixin {
             method = "renderSlot(Lnet/minecraft/client/gui/GuiGraphics;Lnet/minecraft/world/inventory/Slot;)V",
             at = @At("RETURN"))
     private void renderSlotPost(GuiGraphics guiGraphics, Slot slot, CallbackInfo info) {
+        if (!MixinHelper.hasListeners(SlotRenderEvent.Post.class)) return;
+
         MixinHelper.post(new SlotRenderEvent.Post(guiGraphics, (Screen) (Object) this, slot));
     }
 
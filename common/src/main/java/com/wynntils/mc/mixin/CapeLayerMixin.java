@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.mc.mixin;
@@ -34,6 +34,8 @@ public abstract class CapeLayerMixin {
             float netHeadYaw,
             float headPitch,
             CallbackInfo ci) {
+        if (!MixinHelper.hasListeners(PlayerRenderLayerEvent.Cape.class)) return;
+
         PlayerRenderLayerEvent.Cape event = new PlayerRenderLayerEvent.Cape(livingEntity);
         MixinHelper.post(event);
         if (event.isCanceled()) {
@@ -304,6 +304,7 @@ public abstract class ClientPacketListenerMixin extends ClientCommonPacketListen
             cancellable = true)
     private void handleContainerSetSlotPre(ClientboundContainerSetSlotPacket packet, CallbackInfo ci) {
         if (!isRenderThread()) return;
+        if (!MixinHelper.hasListeners(ContainerSetSlotEvent.Pre.class)) return;
 
         ContainerSetSlotEvent.Pre event = new ContainerSetSlotEvent.Pre(
                 packet.getContainerId(), packet.getStateId(), packet.getSlot(), packet.getItem());
@@ -319,6 +320,7 @@ public abstract class ClientPacketListenerMixin extends ClientCommonPacketListen
             at = @At("RETURN"))
     private void handleContainerSetSlotPost(ClientboundContainerSetSlotPacket packet, CallbackInfo ci) {
         if (!isRenderThread()) return;
+        if (!MixinHelper.hasListeners(ContainerSetSlotEvent.Post.class)) return;
 
         MixinHelper.post(new ContainerSetSlotEvent.Post(
                 packet.getContainerId(), packet.getStateId(), packet.getSlot(), packet.getItem()));
@@ -572,6 +574,7 @@ public abstract class ClientPacketListenerMixin extends ClientCommonPacketListen
             at = @At("RETURN"))
     private void handleTeleportEntity(ClientboundTeleportEntityPacket packet, CallbackInfo ci) {
         if (!isRenderThread()) return;
+        if (!MixinHelper.hasListeners(TeleportEntityEvent.class)) return;
 
         Entity entity = McUtils.mc().level.getEntity(packet.getId());
         if (entity == null) return;
@@ -592,6 +595,7 @@ public abstract class ClientPacketListenerMixin extends ClientCommonPacketListen
             List<SynchedEntityData.DataValue<?>> packedItems,
             @Local(argsOnly = true) ClientboundSetEntityDataPacket packet) {
         if (!isRenderThread()) return packedItems;
+        if (!MixinHelper.hasListeners(SetEntityDataEvent.class)) return packedItems;
 
         SetEntityDataEvent event = new SetEntityDataEvent(packet);
         MixinHelper.post(event);
@@ -613,6 +617,7 @@ public abstract class ClientPacketListenerMixin extends ClientCommonPacketListen
             cancellable = true)
     private void handleSoundEventPre(ClientboundSoundPacket packet, CallbackInfo ci) {
         if (!isRenderThread()) return;
+        if (!MixinHelper.hasListeners(LocalSoundEvent.Client.class)) return;
 
         LocalSoundEvent.Client event =
                 new LocalSoundEvent.Client(packet.getSound().value(), packet.getSource());
@@ -628,6 +633,7 @@ public abstract class ClientPacketListenerMixin extends ClientCommonPacketListen
             at = @At("HEAD"))
     private void handleParticles(ClientboundLevelParticlesPacket packet, CallbackInfo ci) {
         if (!isRenderThread()) return;
+        if (!MixinHelper.hasListeners(ParticleAddedEvent.class)) return;
 
         MixinHelper.post(new ParticleAddedEvent(packet));
     }
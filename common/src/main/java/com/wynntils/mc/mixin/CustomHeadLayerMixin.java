@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.mc.mixin;
@@ -37,6 +37,7 @@ public abstract class CustomHeadLayerMixin<T extends LivingEntity> {
             float headPitch,
             CallbackInfo ci) {
         if (!(livingEntity instanceof Player player)) return;
+        if (!MixinHelper.hasListeners(PlayerRenderLayerEvent.Armor.class)) return;
 
         PlayerRenderLayerEvent.Armor event = new PlayerRenderLayerEvent.Armor(player, EquipmentSlot.HEAD);
         MixinHelper.post(event);
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.mc.mixin;
@@ -37,6 +37,7 @@ public abstract class ElytraLayerMixin<T extends LivingEntity, M extends EntityM
             float headPitch,
             CallbackInfo ci) {
         if (!(livingEntity instanceof Player player)) return;
+        if (!MixinHelper.hasListeners(PlayerRenderLayerEvent.Elytra.class)) return;
 
         PlayerRenderLayerEvent.Elytra event = new PlayerRenderLayerEvent.Elytra(player);
         MixinHelper.post(event);
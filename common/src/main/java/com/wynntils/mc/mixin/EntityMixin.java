@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.mc.mixin;
@@ -46,6 +46,8 @@ public abstract class EntityMixin implements EntityExtension {
 
     @Inject(method = "playSound(Lnet/minecraft/sounds/SoundEvent;FF)V", at = @At("HEAD"), cancellable = true)
     private void playSoundPre(SoundEvent sound, float volume, float pitch, CallbackInfo ci) {
+        if (!MixinHelper.hasListeners(LocalSoundEvent.LocalEntity.class)) return;
+
         LocalSoundEvent.LocalEntity event = new LocalSoundEvent.LocalEntity(sound, (Entity) (Object) this);
         MixinHelper.post(event);
         if (event.isCanceled()) {
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.mc.mixin;
@@ -42,6 +42,8 @@ public abstract class GuiMixin {
             ItemStack itemStack,
             int i,
             CallbackInfo info) {
+        if (!MixinHelper.hasListeners(HotbarSlotRenderEvent.Pre.class)) return;
+
         MixinHelper.post(new HotbarSlotRenderEvent.Pre(guiGraphics, itemStack, x, y));
     }
 
@@ -62,6 +64,8 @@ public abstract class GuiMixin {
             ItemStack itemStack,
             int i,
             CallbackInfo info) {
+        if (!MixinHelper.hasListeners(HotbarSlotRenderEvent.CountPre.class)) return;
+
         MixinHelper.post(new HotbarSlotRenderEvent.CountPre(guiGraphics, itemStack, x, y));
     }
 
@@ -78,6 +82,8 @@ public abstract class GuiMixin {
             ItemStack itemStack,
             int i,
             CallbackInfo info) {
+        if (!MixinHelper.hasListeners(HotbarSlotRenderEvent.Post.class)) return;
+
         MixinHelper.post(new HotbarSlotRenderEvent.Post(guiGraphics, itemStack, x, y));
     }
 
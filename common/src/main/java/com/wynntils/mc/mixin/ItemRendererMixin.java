@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.mc.mixin;
@@ -38,6 +38,7 @@ public abstract class ItemRendererMixin {
             BakedModel model,
             CallbackInfo ci) {
         if (itemDisplayContext != ItemDisplayContext.GROUND) return;
+        if (!MixinHelper.hasListeners(GroundItemEntityTransformEvent.class)) return;
 
         MixinHelper.post(new GroundItemEntityTransformEvent(poseStack, itemStack));
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.mc.mixin;
@@ -46,6 +46,12 @@ public abstract class LivingEntityRendererMixin {
             boolean translucent,
             boolean glowing,
             Operation<RenderType> original) {
+        if (!MixinHelper.hasListeners(LivingEntityRenderTranslucentCheckEvent.class)) {
+            // Same as the default translucence of the event
+            wynntilsTranslucence = translucent ? 0.15f : 1f;
+            return original.call(instance, livingEntity, bodyVisible, translucent, glowing);
+        }
+
         LivingEntityRenderTranslucentCheckEvent event =
                 new LivingEntityRenderTranslucentCheckEvent(translucent, livingEntity, translucent ? 0.15f : 1f);
         MixinHelper.post(event);
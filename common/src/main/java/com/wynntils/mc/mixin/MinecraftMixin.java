@@ -46,7 +46,7 @@ public abstract class MinecraftMixin {
     @Inject(method = "tick()V", at = @At("HEAD"))
     private void tickPost(CallbackInfo ci) {
         // TickAlwaysEvent is posted before TickEvent to ensure
-        // that the tasks in TickSchedulerManager are run before
+        // that the tasks in SchedulerManager are run before
         // any other tick event listeners could schedule new tasks
         // making it run in the same tick
         MixinHelper.postAlways(new TickAlwaysEvent());
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.abilities;
@@ -43,7 +43,7 @@ public class ArrowShieldModel extends Model {
         collectedArrowIds = new ArrayList<>();
         spawnedArrowIds = null;
         // Give the server (incl lag)  8 ticks (400 ms) to spawn all arrows
-        Managers.TickScheduler.scheduleLater(this::registerShield, 8);
+        Managers.Scheduler.scheduleLater(this::registerShield, 8);
     }
 
     @SubscribeEvent
@@ -56,7 +56,7 @@ public class ArrowShieldModel extends Model {
         if (!(entity instanceof ArmorStand arrowAS)) return;
 
         Vec3 playerPos = McUtils.player().position();
-        Managers.TickScheduler.scheduleLater(
+        Managers.Scheduler.scheduleLater(
                 () -> {
                     // Verify that this is an armor stand holding an arrow. This must be ran with
                     // a delay, as inventory contents are set a couple ticks after the entity spawns.
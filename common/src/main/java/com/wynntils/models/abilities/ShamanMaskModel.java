@@ -67,6 +67,8 @@ public final class ShamanMaskModel extends Model {
     @SubscribeEvent
     public void onStatusChange(StatusEffectsChangedEvent event) {
         if (currentMaskType != ShamanMaskType.AWAKENED) return;
+        // The awakened effect can only have ended if the effects changed
+        if (event.isTimersOnly()) return;
 
         Optional<StatusEffect> awakenedEffects = Models.StatusEffect.getStatusEffects().stream()
                 .filter(statusEffect -> AWAKENED_STATUS_EFFECT.equals(statusEffect.getName()))
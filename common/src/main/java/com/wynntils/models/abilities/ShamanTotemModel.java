@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.abilities;
@@ -65,7 +65,7 @@ public class ShamanTotemModel extends Model {
 
         if (Math.abs(totemCastTimestamp - System.currentTimeMillis()) > CAST_DELAY_MAX_MS) return;
 
-        Managers.TickScheduler.scheduleLater(
+        Managers.Scheduler.scheduleLater(
                 () -> {
                     // Checks to verify this is a totem
                     // These must be ran with a delay, as inventory contents are set a couple ticks after the totem
@@ -44,7 +44,7 @@ public class AbilityTreeContainerQueries {
         McUtils.player().closeContainer();
 
         // Wait for the container to close
-        Managers.TickScheduler.scheduleNextTick(() -> queryAbilityTree(
+        Managers.Scheduler.scheduleNextTick(() -> queryAbilityTree(
                 new AbilityTreeContainerQueries.AbilityPageSoftProcessor(Models.AbilityTree::setCurrentAbilityTree)));
     }
 
@@ -149,20 +149,23 @@ public class AbilityTreeContainerQueries {
         protected void processPage(ContainerContent content, int page) {
             List<ItemStack> items = content.items();
 
-            for (int slot = 0; slot < items.size(); slot++) {
-                ItemStack itemStack = items.get(slot);
-                if (!Models.AbilityTree.ABILITY_TREE_PARSER.isNodeItem(itemStack, slot)) continue;
+            // If the nodes of the tree are already known, only their states are read
+            if (!Models.AbilityTree.updateAbilityTreePage(items, page)) {
+                for (int slot = 0; slot < items.size(); slot++) {
+                    ItemStack itemStack = items.get(slot);
+                    if (!Models.AbilityTree.ABILITY_TREE_PARSER.isNodeItem(itemStack, slot)) continue;
 
-                Pair<AbilityTreeSkillNode, AbilityTreeNodeState> parsedNode =
-                        Models.AbilityTree.ABILITY_TREE_PARSER.parseNodeFromItem(
-                                itemStack, page, slot, collectedInfo.size() + 1);
+                    Pair<AbilityTreeSkillNode, AbilityTreeNodeState> parsedNode =
+                            Models.AbilityTree.ABILITY_TREE_PARSER.parseNodeFromItem(
+                                    itemStack, page, slot, collectedInfo.size() + 1);
 
-                collectedInfo.put(parsedNode.key(), parsedNode.value());
+                    collectedInfo.put(parsedNode.key(), parsedNode.value());
+                }
             }
 
             boolean lastPage = page == Models.AbilityTree.ABILITY_TREE_PAGES;
 
-            if (lastPage) {
+            if (lastPage && !collectedInfo.isEmpty()) {
                 callback.accept(new ParsedAbilityTree(ImmutableMap.copyOf(collectedInfo)));
             }
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.abilitytree;
@@ -9,31 +9,54 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
+import com.wynntils.core.components.Models;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
+import com.wynntils.core.persisted.Persisted;
+import com.wynntils.core.persisted.storage.Storage;
+import com.wynntils.core.text.PartStyle;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.mc.event.ContainerSetContentEvent;
+import com.wynntils.mc.event.ContainerSetSlotEvent;
+import com.wynntils.mc.event.MenuEvent;
 import com.wynntils.models.abilitytree.parser.AbilityTreeParser;
 import com.wynntils.models.abilitytree.type.AbilityTreeInfo;
+import com.wynntils.models.abilitytree.type.AbilityTreeLocation;
 import com.wynntils.models.abilitytree.type.AbilityTreeNodeState;
 import com.wynntils.models.abilitytree.type.AbilityTreeSkillNode;
 import com.wynntils.models.abilitytree.type.ParsedAbilityTree;
+import com.wynntils.models.abilitytree.type.SavedAbilityTree;
+import com.wynntils.models.character.event.CharacterUpdateEvent;
 import com.wynntils.models.character.type.ClassType;
+import com.wynntils.utils.type.Pair;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class AbilityTreeModel extends Model {
     public static final int ABILITY_TREE_PAGES = 7;
     public static final AbilityTreeParser ABILITY_TREE_PARSER = new AbilityTreeParser();
     public static final AbilityTreeContainerQueries ABILITY_TREE_CONTAINER_QUERIES = new AbilityTreeContainerQueries();
 
+    // The node states of each character, by character id
+    @Persisted
+    private final Storage<Map<String, SavedAbilityTree>> savedAbilityTrees = new Storage<>(new TreeMap<>());
+
     private Map<ClassType, AbilityTreeInfo> abiliiyTreeMap = new HashMap<>();
-    private ParsedAbilityTree currentAbilityTree;
+    private NodeStateTable nodeStates = NodeStateTable.EMPTY;
+
+    private int abilityTreeContainerId = -2;
+    private int abilityTreePage = -1;
 
     public AbilityTreeModel() {
         super(List.of());
-
-        reloadData();
     }
 
     @Override
@@ -50,26 +73,216 @@ public class AbilityTreeModel extends Model {
             abilityMap.forEach((key, value) -> tempMap.put(ClassType.fromName(key), value));
 
             abiliiyTreeMap = tempMap;
+
+            // The saved tree can only be restored once the nodes of the class are known
+            Managers.Scheduler.scheduleNextTick(this::restoreSavedAbilityTree);
         });
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
+    @SubscribeEvent
+    public void onCharacterUpdate(CharacterUpdateEvent event) {
+        restoreSavedAbilityTree();
+    }
+
+    @SubscribeEvent
+    public void onMenuOpened(MenuEvent.MenuOpenedEvent.Pre event) {
+        // Each page of the ability tree is opened as a new menu
+        abilityTreePage = -1;
+        abilityTreeContainerId = StyledText.fromComponent(event.getTitle())
+                        .getMatcher(Models.Container.ABILITY_TREE_PATTERN, PartStyle.StyleType.NONE)
+                        .matches()
+                ? event.getContainerId()
+                : -2;
+    }
+
+    @SubscribeEvent
+    public void onContainerSetContent(ContainerSetContentEvent.Post event) {
+        if (event.getContainerId() != abilityTreeContainerId) return;
+
+        // The page is sent again whenever nodes on it change, like when ability points are spent
+        // or reset, so only the pages the player actually looks at are re-read
+        abilityTreePage = findPage(event.getItems());
+        if (abilityTreePage == -1) return;
+
+        updateAbilityTreePage(event.getItems(), abilityTreePage);
+    }
+
+    @SubscribeEvent
+    public void onContainerSetSlot(ContainerSetSlotEvent.Post event) {
+        if (event.getContainerId() != abilityTreeContainerId || abilityTreePage == -1) return;
+
+        if (updateNodeState(event.getItemStack(), event.getSlot(), abilityTreePage)) {
+            saveAbilityTree();
+        }
+    }
+
     public void setCurrentAbilityTree(ParsedAbilityTree currentAbilityTree) {
-        this.currentAbilityTree = currentAbilityTree;
+        if (!Models.Character.hasCharacter()) return;
+
+        NodeStateTable table =
+                new NodeStateTable(Models.Character.getClassType(), currentAbilityTree.nodes().keySet());
+        currentAbilityTree.nodes().forEach(table::setState);
+        nodeStates = table;
+
+        saveAbilityTree();
     }
 
-    public AbilityTreeNodeState getNodeState(AbilityTreeSkillNode node) {
-        if (currentAbilityTree == null) {
-            return AbilityTreeNodeState.LOCKED;
+    /**
+     * Updates the node states of one page of the current character's ability tree, if the nodes
+     * of the tree are already known.
+     *
+     * @return false if the nodes are not known, and the page must be fully parsed instead
+     */
+    public boolean updateAbilityTreePage(List<ItemStack> items, int page) {
+        if (!hasKnownNodes()) return false;
+
+        boolean changed = false;
+        for (int slot = 0; slot < items.size(); slot++) {
+            changed |= updateNodeState(items.get(slot), slot, page);
         }
 
-        return currentAbilityTree.nodes().keySet().stream()
-                .filter(n -> n.equals(node))
-                .map(currentAbilityTree.nodes()::get)
-                .findFirst()
-                .orElse(AbilityTreeNodeState.LOCKED);
+        if (changed) {
+            saveAbilityTree();
+        }
+
+        return true;
+    }
+
+    public AbilityTreeNodeState getNodeState(AbilityTreeSkillNode node) {
+        return nodeStates.getState(node);
     }
 
     public AbilityTreeInfo getAbilityTree(ClassType type) {
         return abiliiyTreeMap.get(type);
     }
+
+    private boolean hasKnownNodes() {
+        return Models.Character.hasCharacter() && nodeStates.classType == Models.Character.getClassType();
+    }
+
+    private boolean updateNodeState(ItemStack itemStack, int slot, int page) {
+        if (!ABILITY_TREE_PARSER.isNodeItem(itemStack, slot)) return false;
+
+        AbilityTreeSkillNode node = nodeStates.nodesByLocation.get(AbilityTreeLocation.fromSlot(slot, page));
+        if (node == null) return false;
+
+        Pair<String, AbilityTreeNodeState> parsedNode = ABILITY_TREE_PARSER.parseNodeStateFromItem(itemStack);
+        if (!node.name().equals(parsedNode.key())) return false;
+
+        return nodeStates.setState(node, parsedNode.value());
+    }
+
+    private int findPage(List<ItemStack> items) {
+        if (!hasKnownNodes()) return -1;
+
+        // The title is the same on all pages, so find a node which is only at this slot on one page
+        for (int slot = 0; slot < items.size(); slot++) {
+            ItemStack itemStack = items.get(slot);
+            if (!ABILITY_TREE_PARSER.isNodeItem(itemStack, slot)) continue;
+
+            String name = ABILITY_TREE_PARSER.parseNodeStateFromItem(itemStack).key();
+            for (AbilityTreeSkillNode node : nodeStates.nodesByName.getOrDefault(name, List.of())) {
+                AbilityTreeLocation location = node.location();
+                if (location.equals(AbilityTreeLocation.fromSlot(slot, location.page()))) {
+                    return location.page();
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    private void restoreSavedAbilityTree() {
+        if (!Models.Character.hasCharacter()) {
+            nodeStates = NodeStateTable.EMPTY;
+            return;
+        }
+
+        ClassType classType = Models.Character.getClassType();
+        AbilityTreeInfo abilityTreeInfo = abiliiyTreeMap.get(classType);
+        if (abilityTreeInfo == null) {
+            nodeStates = NodeStateTable.EMPTY;
+            return;
+        }
+
+        NodeStateTable table = new NodeStateTable(classType, abilityTreeInfo.nodes());
+
+        SavedAbilityTree savedTree = savedAbilityTrees.get().get(Models.Character.getId());
+        if (savedTree != null && savedTree.classType() == classType) {
+            savedTree.nodeStates().forEach(table::setState);
+        }
+
+        nodeStates = table;
+    }
+
+    private void saveAbilityTree() {
+        if (!Models.Character.hasCharacter() || nodeStates == NodeStateTable.EMPTY) return;
+
+        savedAbilityTrees
+                .get()
+                .put(Models.Character.getId(), new SavedAbilityTree(nodeStates.classType, nodeStates.getStates()));
+        savedAbilityTrees.touched();
+    }
+
+    /**
+     * The nodes and their states of one ability tree, indexed by node id.
+     */
+    private static final class NodeStateTable {
+        private static final NodeStateTable EMPTY = new NodeStateTable(null, List.of());
+
+        private final ClassType classType;
+        private final AbilityTreeSkillNode[] nodes;
+        private final AbilityTreeNodeState[] states;
+        private final Map<AbilityTreeLocation, AbilityTreeSkillNode> nodesByLocation = new HashMap<>();
+        private final Map<String, List<AbilityTreeSkillNode>> nodesByName = new HashMap<>();
+
+        private NodeStateTable(ClassType classType, Collection<AbilityTreeSkillNode> treeNodes) {
+            this.classType = classType;
+
+            int maxId = treeNodes.stream().mapToInt(AbilityTreeSkillNode::id).max().orElse(-1);
+            nodes = new AbilityTreeSkillNode[maxId + 1];
+            states = new AbilityTreeNodeState[maxId + 1];
+            Arrays.fill(states, AbilityTreeNodeState.LOCKED);
+
+            for (AbilityTreeSkillNode node : treeNodes) {
+                nodes[node.id()] = node;
+                nodesByLocation.put(node.location(), node);
+                nodesByName.computeIfAbsent(node.name(), k -> new ArrayList<>()).add(node);
+            }
+        }
+
+        private AbilityTreeNodeState getState(AbilityTreeSkillNode node) {
+            int id = node.id();
+            if (id < 0 || id >= nodes.length || !node.equals(nodes[id])) return AbilityTreeNodeState.LOCKED;
+
+            return states[id];
+        }
+
+        private boolean setState(AbilityTreeSkillNode node, AbilityTreeNodeState state) {
+            return setState(node.id(), state);
+        }
+
+        private boolean setState(int id, AbilityTreeNodeState state) {
+            if (id < 0 || id >= nodes.length || nodes[id] == null || states[id] == state) return false;
+
+            states[id] = state;
+            return true;
+        }
+
+        private Map<Integer, AbilityTreeNodeState> getStates() {
+            Map<Integer, AbilityTreeNodeState> stateMap = new TreeMap<>();
+            for (int id = 0; id < nodes.length; id++) {
+                if (nodes[id] == null) continue;
+
+                stateMap.put(id, states[id]);
+            }
+
+            return stateMap;
+        }
+    }
 }
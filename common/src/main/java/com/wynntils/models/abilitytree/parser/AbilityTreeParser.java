@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.abilitytree.parser;
@@ -41,21 +41,9 @@ public final class AbilityTreeParser {
             ItemStack itemStack, int page, int slot, int id) {
         StyledText nameStyledText = StyledText.fromComponent(itemStack.getHoverName());
 
-        AbilityTreeNodeState state = AbilityTreeNodeState.LOCKED;
-        StyledText actualName;
-        if (nameStyledText.getPartCount() == 1) {
-            actualName = nameStyledText;
-        } else {
-            actualName = nameStyledText.iterate((part, changes) -> {
-                // The part which is bolded is the actual name of the ability
-                if (!part.getPartStyle().isBold()) {
-                    changes.clear();
-                }
-
-                return IterationDecision.CONTINUE;
-            });
-            state = AbilityTreeNodeState.UNLOCKABLE;
-        }
+        AbilityTreeNodeState state =
+                nameStyledText.getPartCount() == 1 ? AbilityTreeNodeState.LOCKED : AbilityTreeNodeState.UNLOCKABLE;
+        StyledText actualName = getActualName(nameStyledText);
 
         List<StyledText> loreStyledText = LoreUtils.getLore(itemStack);
 
@@ -174,6 +162,23 @@ public final class AbilityTreeParser {
         return Pair.of(node, state);
     }
 
+    /**
+     * Only parses the name and the state of a node, for when the rest of the node is already known.
+     */
+    public Pair<String, AbilityTreeNodeState> parseNodeStateFromItem(ItemStack itemStack) {
+        StyledText nameStyledText = StyledText.fromComponent(itemStack.getHoverName());
+        String name = getActualName(nameStyledText).getString(PartStyle.StyleType.NONE);
+
+        for (StyledText text : LoreUtils.getLore(itemStack)) {
+            if (text.getMatcher(NODE_BLOCKED).matches()) return Pair.of(name, AbilityTreeNodeState.BLOCKED);
+            if (text.getMatcher(NODE_UNLOCKED).matches()) return Pair.of(name, AbilityTreeNodeState.UNLOCKED);
+        }
+
+        return Pair.of(
+                name,
+                nameStyledText.getPartCount() == 1 ? AbilityTreeNodeState.LOCKED : AbilityTreeNodeState.UNLOCKABLE);
+    }
+
     public boolean isNodeItem(ItemStack itemStack, int slot) {
         StyledText nameStyledText = StyledText.fromComponent(itemStack.getHoverName());
         return itemStack.getItem() == Items.STONE_AXE
@@ -185,4 +190,17 @@ public final class AbilityTreeParser {
         return itemStack.getItem() == Items.STONE_AXE
                 && StyledText.fromComponent(itemStack.getHoverName()).equals(CONNECTION_NAME);
     }
+
+    private static StyledText getActualName(StyledText nameStyledText) {
+        if (nameStyledText.getPartCount() == 1) return nameStyledText;
+
+        return nameStyledText.iterate((part, changes) -> {
+            // The part which is bolded is the actual name of the ability
+            if (!part.getPartStyle().isBold()) {
+                changes.clear();
+            }
+
+            return IterationDecision.CONTINUE;
+        });
+    }
 }
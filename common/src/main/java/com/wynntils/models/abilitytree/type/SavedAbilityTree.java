@@ -0,0 +1,14 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.abilitytree.type;
+
+import com.wynntils.models.character.type.ClassType;
+import java.util.Map;
+
+/**
+ * The node states of a character's ability tree, by node id. The nodes themselves are
+ * restored from the ability tree data of the class.
+ */
+public record SavedAbilityTree(ClassType classType, Map<Integer, AbilityTreeNodeState> nodeStates) {}
@@ -9,6 +9,8 @@ import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.persisted.Persisted;
+import com.wynntils.core.persisted.storage.Storage;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.features.ui.WynntilsContentBookFeature;
 import com.wynntils.handlers.scoreboard.ScoreboardPart;
@@ -27,6 +29,7 @@ import com.wynntils.models.activities.type.ActivityRequirements;
 import com.wynntils.models.activities.type.ActivityStatus;
 import com.wynntils.models.activities.type.ActivityTrackingState;
 import com.wynntils.models.activities.type.ActivityType;
+import com.wynntils.models.activities.type.ContentBookSnapshot;
 import com.wynntils.models.beacons.type.BeaconColor;
 import com.wynntils.models.character.event.CharacterUpdateEvent;
 import com.wynntils.models.marker.MarkerModel;
@@ -40,8 +43,11 @@ import com.wynntils.utils.type.CappedValue;
 import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -73,7 +79,7 @@ public final class ActivityModel extends Model {
     private static final Pattern REWARD_HEADER_PATTERN = Pattern.compile("^   §dRewards:$");
     private static final Pattern REWARD_PATTERN = Pattern.compile("^   §d- §7\\+?(.*)$");
     private static final Pattern TRACKING_PATTERN = Pattern.compile("^ *À*§.§lCLICK TO (UN)?TRACK$");
-    private static final Pattern OVERALL_PROGRESS_PATTERN = Pattern.compile("^\\s*À*§7(\\d+) of (\\d+) completed$");
+    static final Pattern OVERALL_PROGRESS_PATTERN = Pattern.compile("^\\s*À*§7(\\d+) of (\\d+) completed$");
 
     private static final ScoreboardPart TRACKER_SCOREBOARD_PART = new ActivityTrackerScoreboardPart();
     private static final ContentBookQueries CONTAINER_QUERIES = new ContentBookQueries();
@@ -85,6 +91,11 @@ public final class ActivityModel extends Model {
     private CappedValue overallProgress = CappedValue.EMPTY;
     private boolean overallProgressOutdated = true;
 
+    // The last full content book scan per character and activity type, used to stop refreshes early
+    @Persisted
+    private final Storage<Map<String, Map<ActivityType, ContentBookSnapshot>>> contentBookSnapshots =
+            new Storage<>(new TreeMap<>());
+
     public ActivityModel(MarkerModel markerModel) {
         super(List.of(markerModel));
 
@@ -311,13 +322,56 @@ public final class ActivityModel extends Model {
         ACTIVITY_MARKER_PROVIDER.setTrackedActivityLocation(null, null);
     }
 
+    /**
+     * Scans all pages of the content book for the activity type.
+     */
     public void scanContentBook(
             ActivityType activityType, BiConsumer<List<ActivityInfo>, List<StyledText>> processResult) {
+        queryContentBook(activityType, null, processResult);
+    }
+
+    /**
+     * Refreshes the activities of the activity type from the content book, only scanning the pages that might
+     * have changed since the last scan. The last scan is passed to processResult right away, if there is one.
+     */
+    public void refreshContentBook(
+            ActivityType activityType, BiConsumer<List<ActivityInfo>, List<StyledText>> processResult) {
+        ContentBookSnapshot snapshot = contentBookSnapshots
+                .get()
+                .getOrDefault(Models.Character.getId(), Map.of())
+                .get(activityType);
+        if (snapshot != null) {
+            Managers.Scheduler.scheduleNextTick(
+                    () -> processResult.accept(snapshot.getActivities(), snapshot.progress()));
+        }
+
+        queryContentBook(activityType, snapshot, processResult);
+    }
+
+    private void queryContentBook(
+            ActivityType activityType,
+            ContentBookSnapshot previousSnapshot,
+            BiConsumer<List<ActivityInfo>, List<StyledText>> processResult) {
         // Feature dependency until Model configs
         boolean showUpdates = Managers.Feature.getFeatureInstance(WynntilsContentBookFeature.class)
                 .showContentBookLoadingUpdates
                 .get();
-        CONTAINER_QUERIES.queryContentBook(activityType, processResult, showUpdates, false);
+        String characterId = Models.Character.getId();
+
+        CONTAINER_QUERIES.queryContentBook(
+                activityType,
+                previousSnapshot,
+                snapshot -> {
+                    contentBookSnapshots
+                            .get()
+                            .computeIfAbsent(characterId, id -> new EnumMap<>(ActivityType.class))
+                            .put(activityType, snapshot);
+                    contentBookSnapshots.touched();
+
+                    processResult.accept(snapshot.getActivities(), snapshot.progress());
+                },
+                showUpdates,
+                false);
     }
 
     public void startTracking(String name, ActivityType activityType) {
@@ -346,8 +400,9 @@ public final class ActivityModel extends Model {
         overallProgressOutdated = false;
         CONTAINER_QUERIES.queryContentBook(
                 ActivityType.RECOMMENDED,
-                (ignored, progress) -> {
-                    for (StyledText line : progress) {
+                null,
+                snapshot -> {
+                    for (StyledText line : snapshot.progress()) {
                         Matcher m = line.getMatcher(OVERALL_PROGRESS_PATTERN);
                         if (m.matches()) {
                             int completed = Integer.parseInt(m.group(1));
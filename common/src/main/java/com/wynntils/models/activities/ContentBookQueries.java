@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.activities;
@@ -17,6 +17,7 @@ import com.wynntils.handlers.container.type.ContainerContentChangeType;
 import com.wynntils.handlers.container.type.ContainerContentVerification;
 import com.wynntils.models.activities.type.ActivityInfo;
 import com.wynntils.models.activities.type.ActivityType;
+import com.wynntils.models.activities.type.ContentBookSnapshot;
 import com.wynntils.models.items.items.gui.ActivityItem;
 import com.wynntils.utils.mc.LoreUtils;
 import com.wynntils.utils.wynn.ContainerUtils;
@@ -26,7 +27,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.ChatFormatting;
@@ -57,16 +58,18 @@ public class ContentBookQueries {
     private MessageContainer stateMessageContainer;
 
     /**
-     * Trigger a rescan of the content book. When the rescan is done, Models.Content.updateFromContentBookQuery
-     * will be called.
+     * Trigger a rescan of the content book. When the rescan is done, processResult will be called with
+     * the scanned pages. If a previous snapshot is given, paging stops as soon as the rest of the pages
+     * are known to be unchanged, and they are taken from the snapshot instead. See {@link ContentBookScan}
+     * for when pages are considered unchanged.
      */
     protected void queryContentBook(
             ActivityType activityType,
-            BiConsumer<List<ActivityInfo>, List<StyledText>> processResult,
+            ContentBookSnapshot previousSnapshot,
+            Consumer<ContentBookSnapshot> processResult,
             boolean showUpdates,
             boolean firstPageOnly) {
-        List<ActivityInfo> newActivity = new ArrayList<>();
-        List<StyledText> progress = new ArrayList<>();
+        ContentBookScan scan = new ContentBookScan(previousSnapshot);
 
         ScriptedContainerQuery query = ScriptedContainerQuery.builder(
                         "Content Book Query for " + activityType.getDisplayName())
@@ -126,23 +129,29 @@ public class ContentBookQueries {
 
                 // Process first page
                 .reprocess(c -> {
-                    processContentBookPage(c, newActivity);
                     ItemStack itemStack = c.items().get(PROGRESS_SLOT);
+                    List<StyledText> progress = new ArrayList<>();
                     progress.add(ItemUtils.getItemName(itemStack));
                     progress.addAll(LoreUtils.getLore(itemStack));
+                    scan.setProgress(progress);
+
+                    scan.processPage(c);
                 })
 
-                // Repeatedly click next page, if available, and process the following page
+                // Repeatedly click next page, if available and not known to be unchanged,
+                // and process the following page
                 .repeat(
                         c -> {
                             if (firstPageOnly) {
                                 return false;
                             }
-                            return ScriptedContainerQuery.containerHasSlot(
-                                    c, NEXT_PAGE_SLOT, Items.GOLDEN_SHOVEL, SCROLL_DOWN_TEXT);
+                            if (!ScriptedContainerQuery.containerHasSlot(
+                                    c, NEXT_PAGE_SLOT, Items.GOLDEN_SHOVEL, SCROLL_DOWN_TEXT)) {
+                                return false;
+                            }
+                            return !scan.canReusePreviousPages();
                         },
-                        QueryStep.clickOnSlot(NEXT_PAGE_SLOT)
-                                .processIncomingContainer(c -> processContentBookPage(c, newActivity)))
+                        QueryStep.clickOnSlot(NEXT_PAGE_SLOT).processIncomingContainer(scan::processPage))
 
                 // Restore filter to original value
                 .execute(() -> filterLoopCount = 0)
@@ -175,7 +184,11 @@ public class ContentBookQueries {
                                 .verifyContentChange(getContentBookFilterChangeVerification()))
 
                 // Finally signal we're done
-                .execute(() -> processResult.accept(newActivity, progress))
+                .execute(() -> {
+                    WynntilsMod.info("Scanned " + scan.getScannedPageCount() + " content book pages for "
+                            + activityType.getDisplayName());
+                    processResult.accept(scan.getSnapshot());
+                })
                 .execute(() -> {
                     if (showUpdates) {
                         Managers.Notification.editMessage(
@@ -261,18 +274,6 @@ public class ContentBookQueries {
         };
     }
 
-    private void processContentBookPage(ContainerContent container, List<ActivityInfo> newActivities) {
-        for (int slot = 0; slot < 54; slot++) {
-            ItemStack itemStack = container.items().get(slot);
-            Optional<ActivityItem> activityItemOpt = Models.Item.asWynnItem(itemStack, ActivityItem.class);
-            if (activityItemOpt.isEmpty()) continue;
-
-            ActivityInfo activityInfo = activityItemOpt.get().getActivityInfo();
-
-            newActivities.add(activityInfo);
-        }
-    }
-
     protected void toggleTracking(String name, ActivityType activityType) {
         // We do not want to change filtering when tracking, since we get
         // no chance to reset it
@@ -0,0 +1,177 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.activities;
+
+import com.wynntils.core.components.Models;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.container.type.ContainerContent;
+import com.wynntils.models.activities.type.ActivityInfo;
+import com.wynntils.models.activities.type.ActivityStatus;
+import com.wynntils.models.activities.type.ContentBookPage;
+import com.wynntils.models.activities.type.ContentBookSnapshot;
+import com.wynntils.models.items.items.gui.ActivityItem;
+import com.wynntils.utils.mc.LoreUtils;
+import com.wynntils.utils.wynn.ItemUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * The pages seen by a single content book query.
+ *
+ * When refreshing from a previous snapshot, the progress item tells how many activities have been
+ * completed since. Once all of these have been seen, and a page is identical to the one in the snapshot,
+ * the pages after it can be reused from the snapshot, if none of their activities could have changed
+ * without a completion. Started and available activities change when they are started or progressed, so
+ * pages with them are always scanned. Unavailable activities can be unlocked by completing another one,
+ * so they are only reused if nothing was completed.
+ * Anything else that could change unseen pages (level ups, tracking, new content) forces a full scan.
+ */
+final class ContentBookScan {
+    private static final int CONTENT_SLOTS = 54;
+
+    private final ContentBookSnapshot previousSnapshot;
+    private final Map<String, ActivityStatus> previousStatuses = new HashMap<>();
+    private final List<ContentBookPage> pages = new ArrayList<>();
+
+    private List<StyledText> progress = List.of();
+    // -1 if the pages after a changed page can not be trusted
+    private int expectedCompletions = -1;
+    private int seenCompletions = 0;
+    private boolean reusedPreviousPages = false;
+
+    ContentBookScan(ContentBookSnapshot previousSnapshot) {
+        this.previousSnapshot = previousSnapshot;
+
+        if (previousSnapshot != null) {
+            previousSnapshot
+                    .getActivities()
+                    .forEach(activity -> previousStatuses.put(activity.name(), activity.status()));
+        }
+    }
+
+    void setProgress(List<StyledText> progress) {
+        this.progress = List.copyOf(progress);
+        expectedCompletions = getExpectedCompletions();
+    }
+
+    void processPage(ContainerContent container) {
+        List<ActivityInfo> activities = new ArrayList<>();
+        int fingerprint = 1;
+
+        for (int slot = 0; slot < CONTENT_SLOTS; slot++) {
+            ItemStack itemStack = container.items().get(slot);
+            Optional<ActivityItem> activityItemOpt = Models.Item.asWynnItem(itemStack, ActivityItem.class);
+            if (activityItemOpt.isEmpty()) continue;
+
+            ActivityInfo activityInfo = activityItemOpt.get().getActivityInfo();
+            activities.add(activityInfo);
+            fingerprint = 31 * fingerprint + getItemFingerprint(itemStack);
+
+            if (activityInfo.status() == ActivityStatus.COMPLETED
+                    && previousStatuses.containsKey(activityInfo.name())
+                    && previousStatuses.get(activityInfo.name()) != ActivityStatus.COMPLETED) {
+                seenCompletions++;
+            }
+        }
+
+        pages.add(new ContentBookPage(fingerprint, List.copyOf(activities)));
+    }
+
+    /**
+     * Checks if the rest of the pages can be taken from the previous snapshot.
+     * If so, the snapshot returned by {@link #getSnapshot()} will include them.
+     */
+    boolean canReusePreviousPages() {
+        if (previousSnapshot == null || expectedCompletions < 0) return false;
+        if (seenCompletions < expectedCompletions) return false;
+
+        int pageIndex = pages.size() - 1;
+        List<ContentBookPage> previousPages = previousSnapshot.pages();
+        if (pageIndex >= previousPages.size()) return false;
+        if (previousPages.get(pageIndex).fingerprint() != pages.get(pageIndex).fingerprint()) return false;
+
+        for (ContentBookPage page : previousPages.subList(pageIndex + 1, previousPages.size())) {
+            if (!isUnchangedWithoutCompletion(page)) return false;
+        }
+
+        reusedPreviousPages = true;
+        return true;
+    }
+
+    private boolean isUnchangedWithoutCompletion(ContentBookPage page) {
+        for (ActivityInfo activity : page.activities()) {
+            if (activity.status() == ActivityStatus.COMPLETED) continue;
+            if (activity.status() == ActivityStatus.UNAVAILABLE && expectedCompletions == 0) continue;
+
+            return false;
+        }
+
+        return true;
+    }
+
+    int getScannedPageCount() {
+        return pages.size();
+    }
+
+    ContentBookSnapshot getSnapshot() {
+        List<ContentBookPage> allPages = new ArrayList<>(pages);
+        if (reusedPreviousPages) {
+            List<ContentBookPage> previousPages = previousSnapshot.pages();
+            allPages.addAll(previousPages.subList(pages.size(), previousPages.size()));
+        }
+
+        return new ContentBookSnapshot(
+                getCombatLevel(), Models.Activity.getTrackedName(), progress, List.copyOf(allPages));
+    }
+
+    private int getExpectedCompletions() {
+        if (previousSnapshot == null) return -1;
+        // Leveling up makes activities available, anywhere in the book
+        if (previousSnapshot.combatLevel() != getCombatLevel()) return -1;
+        // Tracking is shown on the activity item, which might be on any page
+        if (!Objects.equals(previousSnapshot.trackedName(), Models.Activity.getTrackedName())) return -1;
+
+        int[] previousCounts = getCompletedCounts(previousSnapshot.progress());
+        int[] counts = getCompletedCounts(progress);
+        if (previousCounts == null || counts == null) {
+            return previousSnapshot.progress().equals(progress) ? 0 : -1;
+        }
+
+        // New content was added, or something was uncompleted; neither can be located
+        if (counts[1] != previousCounts[1] || counts[0] < previousCounts[0]) return -1;
+
+        return counts[0] - previousCounts[0];
+    }
+
+    private static int[] getCompletedCounts(List<StyledText> progress) {
+        for (StyledText line : progress) {
+            Matcher m = line.getMatcher(ActivityModel.OVERALL_PROGRESS_PATTERN);
+            if (m.matches()) {
+                return new int[] {Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))};
+            }
+        }
+
+        return null;
+    }
+
+    private static int getItemFingerprint(ItemStack itemStack) {
+        int fingerprint = ItemUtils.getItemName(itemStack).getString().hashCode();
+        for (StyledText line : LoreUtils.getLore(itemStack)) {
+            fingerprint = 31 * fingerprint + line.getString().hashCode();
+        }
+
+        return fingerprint;
+    }
+
+    private static int getCombatLevel() {
+        return Models.CombatXp.getCombatLevel().current();
+    }
+}
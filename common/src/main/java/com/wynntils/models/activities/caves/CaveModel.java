@@ -35,6 +35,11 @@ public class CaveModel extends Model {
         Models.Activity.scanContentBook(ActivityType.CAVE, this::updateCavesFromQuery);
     }
 
+    public void refreshCaves() {
+        WynntilsMod.info("Requesting refresh of caves in Activity Book");
+        Models.Activity.refreshContentBook(ActivityType.CAVE, this::updateCavesFromQuery);
+    }
+
     private void updateCavesFromQuery(List<ActivityInfo> newActivities, List<StyledText> progress) {
         List<CaveInfo> newCaves = new ArrayList<>();
 
@@ -27,6 +27,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.minecraft.network.chat.Component;
@@ -74,20 +75,34 @@ public final class DiscoveryModel extends Model {
     }
 
     private void queryDiscoveries(
-            boolean querySecretDiscoveries, boolean queryWorldDiscoveries, boolean queryTerritoryDiscoveries) {
-        WynntilsMod.info("Requesting rescan of discoveries in Content Book");
+            boolean querySecretDiscoveries,
+            boolean queryWorldDiscoveries,
+            boolean queryTerritoryDiscoveries,
+            boolean fullScan) {
+        WynntilsMod.info("Requesting " + (fullScan ? "rescan" : "refresh") + " of discoveries in Content Book");
 
         // This order is a bit arbitrary, but it's the order they appear in the Content Book,
         // so we can use this as a workaround to parse them faster.
         if (querySecretDiscoveries) {
-            Models.Activity.scanContentBook(ActivityType.SECRET_DISCOVERY, this::updateSecretDiscoveriesFromQuery);
+            queryDiscoveryType(ActivityType.SECRET_DISCOVERY, this::updateSecretDiscoveriesFromQuery, fullScan);
         }
         if (queryWorldDiscoveries) {
-            Models.Activity.scanContentBook(ActivityType.WORLD_DISCOVERY, this::updateWorldDiscoveriesFromQuery);
+            queryDiscoveryType(ActivityType.WORLD_DISCOVERY, this::updateWorldDiscoveriesFromQuery, fullScan);
         }
         if (queryTerritoryDiscoveries) {
-            Models.Activity.scanContentBook(
-                    ActivityType.TERRITORIAL_DISCOVERY, this::updateTerritoryDiscoveriesFromQuery);
+            queryDiscoveryType(
+                    ActivityType.TERRITORIAL_DISCOVERY, this::updateTerritoryDiscoveriesFromQuery, fullScan);
+        }
+    }
+
+    private void queryDiscoveryType(
+            ActivityType activityType,
+            BiConsumer<List<ActivityInfo>, List<StyledText>> processResult,
+            boolean fullScan) {
+        if (fullScan) {
+            Models.Activity.scanContentBook(activityType, processResult);
+        } else {
+            Models.Activity.refreshContentBook(activityType, processResult);
         }
     }
 
@@ -248,7 +263,7 @@ public final class DiscoveryModel extends Model {
 
             switch (action) {
                     // We can't run this is on request thread
-                case MAP -> Managers.TickScheduler.scheduleNextTick(
+                case MAP -> Managers.Scheduler.scheduleNextTick(
                         () -> McUtils.mc().setScreen(MainMapScreen.create(x, z)));
                 case COMPASS -> Models.Marker.USER_WAYPOINTS_PROVIDER.addLocation(new Location(x, 0, z));
             }
@@ -257,7 +272,12 @@ public final class DiscoveryModel extends Model {
 
     public void reloadDiscoveries(
             boolean querySecretDiscoveries, boolean queryWorldDiscoveries, boolean queryTerritoryDiscoveries) {
-        queryDiscoveries(querySecretDiscoveries, queryWorldDiscoveries, queryTerritoryDiscoveries);
+        queryDiscoveries(querySecretDiscoveries, queryWorldDiscoveries, queryTerritoryDiscoveries, true);
+    }
+
+    public void refreshDiscoveries(
+            boolean querySecretDiscoveries, boolean queryWorldDiscoveries, boolean queryTerritoryDiscoveries) {
+        queryDiscoveries(querySecretDiscoveries, queryWorldDiscoveries, queryTerritoryDiscoveries, false);
     }
 
     private record DiscoveryStorage(Map<DiscoveryType, Pair<List<DiscoveryInfo>, List<StyledText>>> storedInfoPerType) {
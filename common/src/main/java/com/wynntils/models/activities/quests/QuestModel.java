@@ -50,6 +50,19 @@ public final class QuestModel extends Model {
         }
     }
 
+    /**
+     * Like {@link #rescanQuestBook(boolean, boolean)}, but only scans the pages that might have changed.
+     */
+    public void refreshQuestBook(boolean includeQuests, boolean includeMiniQuests) {
+        WynntilsMod.info("Requesting refresh of Quests in Content Book");
+        if (includeQuests) {
+            Models.Activity.refreshContentBook(ActivityType.QUEST, this::updateQuestsFromQuery);
+        }
+        if (includeMiniQuests) {
+            Models.Activity.refreshContentBook(ActivityType.MINI_QUEST, this::updateMiniQuestsFromQuery);
+        }
+    }
+
     public Optional<QuestInfo> getQuestFromName(String name) {
         return questStorage.getOrDefault(Models.Character.getId(), QuestStorage.EMPTY).quests().stream()
                 .filter(quest -> quest.getName().equals(name))
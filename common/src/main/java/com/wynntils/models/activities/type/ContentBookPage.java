@@ -0,0 +1,13 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.activities.type;
+
+import java.util.List;
+
+/**
+ * A single page of the content book. The fingerprint is a hash of the names and lore of the
+ * activity items on the page, so any change in status, progress or tracking changes it.
+ */
+public record ContentBookPage(int fingerprint, List<ActivityInfo> activities) {}
@@ -0,0 +1,23 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.activities.type;
+
+import com.wynntils.core.text.StyledText;
+import java.util.List;
+
+/**
+ * The result of scanning all pages of the content book for one activity type.
+ *
+ * The combat level and tracked activity are kept as well, since a change in them can change
+ * activities on pages which a refresh would not look at.
+ */
+public record ContentBookSnapshot(
+        int combatLevel, String trackedName, List<StyledText> progress, List<ContentBookPage> pages) {
+    public List<ActivityInfo> getActivities() {
+        return pages.stream()
+                .flatMap(page -> page.activities().stream())
+                .toList();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.beacons;
@@ -12,14 +12,12 @@ import com.wynntils.mc.event.TeleportEntityEvent;
 import com.wynntils.models.beacons.event.BeaconEvent;
 import com.wynntils.models.beacons.type.Beacon;
 import com.wynntils.models.beacons.type.BeaconColor;
-import com.wynntils.utils.mc.PosUtils;
-import com.wynntils.utils.type.TimedSet;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import net.minecraft.core.Position;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
@@ -33,10 +31,18 @@ public class BeaconModel extends Model {
     // (A beacon always has 34, we wait for all of them)
     private static final int VERIFICATION_ENTITY_COUNT = 34;
 
-    private final TimedSet<UnverifiedBeacon> unverifiedBeacons = new TimedSet<>(1000, TimeUnit.MILLISECONDS, true);
+    // How long an unverified beacon waits for the rest of its armor stands
+    private static final long UNVERIFIED_BEACON_TIMEOUT_MS = 1000;
+
+    // Beacons are only told apart by their x/z column, so both beacon maps are keyed by it.
+    // This keeps the lookup for every added armor stand constant, no matter how many beacons there are.
+    private final Map<ColumnKey, UnverifiedBeacon> unverifiedBeacons = new HashMap<>();
+    private final Map<ColumnKey, Integer> verifiedBeaconColumns = new HashMap<>();
     // Maps base entity id to corresponding beacon
     private final Map<Integer, Beacon> verifiedBeacons = new HashMap<>();
 
+    private long lastUnverifiedBeaconPurge = 0;
+
     public BeaconModel() {
         super(List.of());
     }
@@ -47,19 +53,23 @@ public class BeaconModel extends Model {
 
         Entity entity = event.getEntity();
         Position position = entity.position();
+        ColumnKey columnKey = ColumnKey.of(position);
+
+        if (verifiedBeaconColumns.containsKey(columnKey)) return;
 
-        if (isDuplicateBeacon(position)) return;
+        long now = System.currentTimeMillis();
+        purgeExpiredUnverifiedBeacons(now);
 
-        UnverifiedBeacon unverifiedBeacon = getUnverifiedBeaconAt(position);
-        if (unverifiedBeacon == null) {
-            unverifiedBeacons.put(new UnverifiedBeacon(position, entity));
+        UnverifiedBeacon unverifiedBeacon = unverifiedBeacons.get(columnKey);
+        if (unverifiedBeacon == null || unverifiedBeacon.isExpired(now)) {
+            unverifiedBeacons.put(columnKey, new UnverifiedBeacon(position, entity, now));
             return;
         }
 
         boolean correctLocation = unverifiedBeacon.addEntity(entity);
 
         if (!correctLocation) {
-            unverifiedBeacons.remove(unverifiedBeacon);
+            unverifiedBeacons.remove(columnKey);
             return;
         }
 
@@ -69,7 +79,7 @@ public class BeaconModel extends Model {
             if (beaconColor == null) {
                 WynntilsMod.warn("Could not determine beacon color at " + position + " for entities "
                         + unverifiedBeacon.getEntities());
-                unverifiedBeacons.remove(unverifiedBeacon);
+                unverifiedBeacons.remove(columnKey);
                 return;
             }
 
@@ -79,10 +89,11 @@ public class BeaconModel extends Model {
                     beaconColor);
             int baseEntityId = unverifiedBeacon.getEntities().get(0).getId();
             verifiedBeacons.put(baseEntityId, verifiedBeacon);
+            verifiedBeaconColumns.put(columnKey, baseEntityId);
             WynntilsMod.postEvent(new BeaconEvent.Added(
                     verifiedBeacon, Collections.unmodifiableList(unverifiedBeacon.getEntities())));
 
-            unverifiedBeacons.remove(unverifiedBeacon);
+            unverifiedBeacons.remove(columnKey);
         }
     }
 
@@ -92,30 +103,34 @@ public class BeaconModel extends Model {
         if (movedBeacon == null) return;
 
         Beacon newBeacon = new Beacon(event.getNewPosition(), movedBeacon.color());
-        // Replace the old map entry
+        // Replace the old map entries
         verifiedBeacons.put(event.getEntity().getId(), newBeacon);
+        verifiedBeaconColumns.remove(ColumnKey.of(movedBeacon.position()));
+        verifiedBeaconColumns.put(ColumnKey.of(newBeacon.position()), event.getEntity().getId());
         WynntilsMod.postEvent(new BeaconEvent.Moved(movedBeacon, newBeacon));
     }
 
     @SubscribeEvent
     public void onEntityRemoved(RemoveEntitiesEvent event) {
         event.getEntityIds().stream().filter(verifiedBeacons::containsKey).forEach(entityId -> {
-            Beacon removedBeacon = verifiedBeacons.get(entityId);
-            verifiedBeacons.remove(entityId);
+            Beacon removedBeacon = verifiedBeacons.remove(entityId);
+            verifiedBeaconColumns.remove(ColumnKey.of(removedBeacon.position()));
             WynntilsMod.postEvent(new BeaconEvent.Removed(removedBeacon));
         });
     }
 
-    private boolean isDuplicateBeacon(Position position) {
-        return verifiedBeacons.values().stream()
-                .anyMatch(verifiedBeacon -> PosUtils.equalsIgnoringY(position, verifiedBeacon.position()));
-    }
+    private void purgeExpiredUnverifiedBeacons(long now) {
+        // Beacons normally get verified or rejected quickly, this only drops leftovers,
+        // so there is no need to do it for every added entity
+        if (now - lastUnverifiedBeaconPurge < UNVERIFIED_BEACON_TIMEOUT_MS) return;
+        lastUnverifiedBeaconPurge = now;
+
+        Iterator<UnverifiedBeacon> it = unverifiedBeacons.values().iterator();
+        while (it.hasNext()) {
+            if (!it.next().isExpired(now)) continue;
 
-    private UnverifiedBeacon getUnverifiedBeaconAt(Position position) {
-        return unverifiedBeacons.stream()
-                .filter(unverifiedBeacon -> PosUtils.equalsIgnoringY(position, unverifiedBeacon.getPosition()))
-                .findFirst()
-                .orElse(null);
+            it.remove();
+        }
     }
 
     private BeaconColor getBeaconColor(UnverifiedBeacon unverifiedBeacon) {
@@ -134,10 +149,12 @@ public class BeaconModel extends Model {
         private static final float POSITION_OFFSET_Y = 7.5f;
 
         private final Position position;
+        private final long creation;
         private final List<Entity> entities = new ArrayList<>();
 
-        private UnverifiedBeacon(Position position, Entity entity) {
+        private UnverifiedBeacon(Position position, Entity entity, long creation) {
             this.position = position;
+            this.creation = creation;
             entities.add(entity);
         }
 
@@ -149,6 +166,10 @@ public class BeaconModel extends Model {
             return entities;
         }
 
+        public boolean isExpired(long now) {
+            return now - creation >= UNVERIFIED_BEACON_TIMEOUT_MS;
+        }
+
         public boolean addEntity(Entity entity) {
             Position entityPosition = entity.position();
             Position lastEntityPosition = entities.get(entities.size() - 1).position();
@@ -161,4 +182,10 @@ public class BeaconModel extends Model {
             return false;
         }
     }
+
+    private record ColumnKey(double x, double z) {
+        private static ColumnKey of(Position position) {
+            return new ColumnKey(position.x(), position.z());
+        }
+    }
 }
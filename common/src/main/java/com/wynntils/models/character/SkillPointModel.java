@@ -16,8 +16,11 @@ import com.wynntils.handlers.container.scriptedquery.ScriptedContainerQuery;
 import com.wynntils.handlers.container.type.ContainerContent;
 import com.wynntils.handlers.container.type.ContainerContentChangeType;
 import com.wynntils.models.character.type.SavableSkillPointSet;
+import com.wynntils.models.character.type.SkillPointGear;
+import com.wynntils.models.character.type.SkillPointSolution;
 import com.wynntils.models.containers.ContainerModel;
 import com.wynntils.models.elements.type.Skill;
+import com.wynntils.models.gear.type.GearInfo;
 import com.wynntils.models.items.WynnItem;
 import com.wynntils.models.items.items.game.CraftedGearItem;
 import com.wynntils.models.items.items.game.GearItem;
@@ -31,6 +34,7 @@ import com.wynntils.utils.wynn.InventoryUtils;
 import it.unimi.dsi.fastutil.ints.Int2ObjectFunction;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,6 +53,7 @@ public class SkillPointModel extends Model {
     private static final int[] SKILL_POINT_TOME_SLOTS = {4, 11, 19};
     private static final int CHARACTER_INFO_SOUL_POINT_SLOT = 62;
     private static final int TOME_MENU_SOUL_POINT_SLOT = 89;
+    private static final int MAX_ASSIGNABLE_SKILL_POINTS = 200;
 
     private Map<Skill, Integer> totalSkillPoints = new EnumMap<>(Skill.class);
     private Map<Skill, Integer> gearSkillPoints = new EnumMap<>(Skill.class);
@@ -152,7 +157,7 @@ public class SkillPointModel extends Model {
     public void populateSkillPoints() {
         ContainerUtils.closeBackgroundContainer();
 
-        Managers.TickScheduler.scheduleNextTick(() -> {
+        Managers.Scheduler.scheduleNextTick(() -> {
             assignedSkillPoints = new EnumMap<>(Skill.class);
             calculateGearSkillPoints();
             calculateStatusEffectSkillPoints();
@@ -232,6 +237,72 @@ public class SkillPointModel extends Model {
         return false;
     }
 
+    /**
+     * @return the number of skill points the player can assign at their current combat level
+     */
+    public int getAssignableSkillPoints() {
+        return Math.min(MAX_ASSIGNABLE_SKILL_POINTS, (Models.CombatXp.getCombatLevel().current() - 1) * 2);
+    }
+
+    /**
+     * Finds the equip order for the gear that needs the fewest assigned skill points,
+     * counting the player's tome skill points as already assigned.
+     */
+    public SkillPointSolution solveEquipOrder(List<SkillPointGear> gear) {
+        int[] tomePoints = new int[Skill.values().length];
+        for (Skill skill : Skill.values()) {
+            tomePoints[skill.ordinal()] = getTomeSkillPoints(skill);
+        }
+
+        return SkillPointSolver.solve(gear, tomePoints, getAssignableSkillPoints());
+    }
+
+    /**
+     * @return the gear of a saved build, skipping any piece that is not known by name, like crafted gear
+     *     which is not currently equipped
+     */
+    public List<SkillPointGear> getBuildGear(SavableSkillPointSet build) {
+        List<String> gearNames = new ArrayList<>();
+        if (build.weapon() != null) {
+            gearNames.add(build.weapon());
+        }
+        gearNames.addAll(build.armourNames());
+        gearNames.addAll(build.accessoryNames());
+
+        List<CraftedGearItem> equippedCraftedGear = getEquippedCraftedGear();
+        List<SkillPointGear> gear = new ArrayList<>();
+        for (String gearName : gearNames) {
+            String name = StyledText.fromString(gearName).getStringWithoutFormatting().trim();
+            GearInfo gearInfo = Models.Gear.getGearInfoFromDisplayName(name);
+            if (gearInfo != null) {
+                gear.add(SkillPointGear.fromGearInfo(gearInfo));
+                continue;
+            }
+
+            // Crafted gear is not in the gear database, but its requirements are known while it is equipped
+            for (Iterator<CraftedGearItem> it = equippedCraftedGear.iterator(); it.hasNext(); ) {
+                CraftedGearItem craftedGear = it.next();
+                if (!craftedGear.getName().equals(name)) continue;
+
+                // Each equipped piece can only stand in for one piece of the build
+                it.remove();
+                gear.add(SkillPointGear.fromCraftedGear(craftedGear));
+                break;
+            }
+        }
+
+        return gear;
+    }
+
+    private List<CraftedGearItem> getEquippedCraftedGear() {
+        List<CraftedGearItem> craftedGear = new ArrayList<>();
+        for (ItemStack itemStack : Models.Inventory.getEquippedItems()) {
+            Models.Item.asWynnItem(itemStack, CraftedGearItem.class).ifPresent(craftedGear::add);
+        }
+
+        return craftedGear;
+    }
+
     private void loadSkillPointsOnServer(ContainerContent containerContent, String name) {
         // we need to figure out which points we can subtract from first to actually allow assigning for positive points
         Map<Skill, Integer> negatives = new EnumMap<>(Skill.class);
@@ -300,7 +371,7 @@ public class SkillPointModel extends Model {
         }
 
         // Server needs 2 ticks, give a couple extra to be safe
-        Managers.TickScheduler.scheduleLater(this::populateSkillPoints, 4);
+        Managers.Scheduler.scheduleLater(this::populateSkillPoints, 4);
     }
 
     private void calculateGearSkillPoints() {
@@ -0,0 +1,196 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.character;
+
+import com.wynntils.models.character.type.SkillPointGear;
+import com.wynntils.models.character.type.SkillPointSolution;
+import com.wynntils.models.elements.type.Skill;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the order to equip a set of gear in, that needs the fewest assigned skill points.
+ *
+ * Gear is equipped one piece at a time. A piece can only be equipped if, for each skill it requires,
+ * the base, assigned and bonus points of the gear equipped before it add up to the requirement. Once
+ * everything is equipped, each piece must still meet its requirements with the bonuses of all the other
+ * gear, as a negative bonus of a later piece can take away points an earlier piece needed.
+ *
+ * The bonuses of a set of equipped gear do not depend on the order it was equipped in, so instead of
+ * trying every order, the search walks the subsets of the gear. For each subset, it only keeps the
+ * assignments which are not worse in every skill than another order reaching the same subset.
+ */
+public final class SkillPointSolver {
+    public static final int MAX_SKILL_POINTS_PER_SKILL = 100;
+
+    // A build is a weapon, 4 armour pieces and 4 accessories; the search is exponential in this
+    private static final int MAX_GEAR = 12;
+    private static final int SKILL_COUNT = Skill.values().length;
+
+    private SkillPointSolver() {}
+
+    /**
+     * @param baseSkillPoints the points that do not depend on the gear, like tomes, indexed by {@link Skill#ordinal()}
+     * @param availablePoints the number of skill points the player can assign
+     */
+    public static SkillPointSolution solve(List<SkillPointGear> gear, int[] baseSkillPoints, int availablePoints) {
+        int gearCount = gear.size();
+        if (gearCount > MAX_GEAR) {
+            throw new IllegalArgumentException("Can not solve the equip order of " + gearCount + " pieces of gear");
+        }
+
+        int fullMask = (1 << gearCount) - 1;
+        int[][] equippedBonuses = getEquippedBonuses(gear, fullMask);
+
+        List<List<SearchNode>> frontiers = new ArrayList<>(Collections.nCopies(fullMask + 1, null));
+        frontiers.set(0, new ArrayList<>(List.of(new SearchNode(new int[SKILL_COUNT], null, -1))));
+
+        // Removing gear from a subset always gives a smaller mask, so every way of reaching
+        // a subset has been found before the subset itself is expanded
+        for (int mask = 0; mask < fullMask; mask++) {
+            List<SearchNode> frontier = frontiers.get(mask);
+            if (frontier == null) continue;
+
+            int[] bonuses = equippedBonuses[mask];
+            for (int gearIndex = 0; gearIndex < gearCount; gearIndex++) {
+                int gearBit = 1 << gearIndex;
+                if ((mask & gearBit) != 0) continue;
+
+                int[] requirements = gear.get(gearIndex).requirements();
+                for (SearchNode node : frontier) {
+                    int[] assigned = node.assigned().clone();
+                    for (int skill = 0; skill < SKILL_COUNT; skill++) {
+                        if (requirements[skill] <= 0) continue;
+
+                        int missing = requirements[skill] - baseSkillPoints[skill] - bonuses[skill];
+                        assigned[skill] = Math.max(assigned[skill], missing);
+                    }
+
+                    addToFrontier(frontiers, mask | gearBit, new SearchNode(assigned, node, gearIndex));
+                }
+            }
+        }
+
+        int[] finalRequirements = getFinalRequirements(gear, baseSkillPoints, equippedBonuses[fullMask]);
+
+        SearchNode best = null;
+        SearchNode bestWithinSkillLimit = null;
+        for (SearchNode searchNode : frontiers.get(fullMask)) {
+            // All nodes are raised to the same points, so a node dropped above for being worse than
+            // another one would still not be better than it
+            int[] assigned = searchNode.assigned().clone();
+            for (int skill = 0; skill < SKILL_COUNT; skill++) {
+                assigned[skill] = Math.max(assigned[skill], finalRequirements[skill]);
+            }
+            SearchNode node = new SearchNode(assigned, searchNode.parent(), searchNode.gearIndex());
+
+            if (best == null || node.getSum() < best.getSum()) {
+                best = node;
+            }
+            if (node.isWithinSkillLimit()
+                    && (bestWithinSkillLimit == null || node.getSum() < bestWithinSkillLimit.getSum())) {
+                bestWithinSkillLimit = node;
+            }
+        }
+
+        SkillPointSolution.Result result;
+        if (bestWithinSkillLimit == null) {
+            result = SkillPointSolution.Result.EXCEEDS_SKILL_LIMIT;
+        } else {
+            best = bestWithinSkillLimit;
+            result = best.getSum() > availablePoints
+                    ? SkillPointSolution.Result.EXCEEDS_AVAILABLE_POINTS
+                    : SkillPointSolution.Result.POSSIBLE;
+        }
+
+        List<SkillPointGear> equipOrder = new ArrayList<>(gearCount);
+        for (SearchNode node = best; node.parent() != null; node = node.parent()) {
+            equipOrder.add(gear.get(node.gearIndex()));
+        }
+        Collections.reverse(equipOrder);
+
+        return new SkillPointSolution(result, List.copyOf(equipOrder), best.assigned());
+    }
+
+    /**
+     * @return the points that must be assigned for all gear to meet its requirements once everything is equipped
+     */
+    private static int[] getFinalRequirements(List<SkillPointGear> gear, int[] baseSkillPoints, int[] allBonuses) {
+        int[] finalRequirements = new int[SKILL_COUNT];
+        for (SkillPointGear piece : gear) {
+            int[] requirements = piece.requirements();
+            for (int skill = 0; skill < SKILL_COUNT; skill++) {
+                if (requirements[skill] <= 0) continue;
+
+                // The bonuses of a piece never count for its own requirements
+                int otherBonuses = allBonuses[skill] - piece.bonuses()[skill];
+                int missing = requirements[skill] - baseSkillPoints[skill] - otherBonuses;
+                finalRequirements[skill] = Math.max(finalRequirements[skill], missing);
+            }
+        }
+
+        return finalRequirements;
+    }
+
+    private static int[][] getEquippedBonuses(List<SkillPointGear> gear, int fullMask) {
+        int[][] equippedBonuses = new int[fullMask + 1][];
+        equippedBonuses[0] = new int[SKILL_COUNT];
+
+        for (int mask = 1; mask <= fullMask; mask++) {
+            // Each subset is a smaller subset plus its lowest piece of gear
+            int[] previous = equippedBonuses[mask & (mask - 1)];
+            int[] gearBonuses = gear.get(Integer.numberOfTrailingZeros(mask)).bonuses();
+
+            int[] bonuses = new int[SKILL_COUNT];
+            for (int skill = 0; skill < SKILL_COUNT; skill++) {
+                bonuses[skill] = previous[skill] + gearBonuses[skill];
+            }
+            equippedBonuses[mask] = bonuses;
+        }
+
+        return equippedBonuses;
+    }
+
+    private static void addToFrontier(List<List<SearchNode>> frontiers, int mask, SearchNode candidate) {
+        List<SearchNode> frontier = frontiers.get(mask);
+        if (frontier == null) {
+            frontier = new ArrayList<>();
+            frontiers.set(mask, frontier);
+        }
+
+        for (SearchNode node : frontier) {
+            if (isAtMost(node.assigned(), candidate.assigned())) return;
+        }
+
+        frontier.removeIf(node -> isAtMost(candidate.assigned(), node.assigned()));
+        frontier.add(candidate);
+    }
+
+    private static boolean isAtMost(int[] assigned, int[] other) {
+        for (int skill = 0; skill < SKILL_COUNT; skill++) {
+            if (assigned[skill] > other[skill]) return false;
+        }
+
+        return true;
+    }
+
+    private record SearchNode(int[] assigned, SearchNode parent, int gearIndex) {
+        private int getSum() {
+            int sum = 0;
+            for (int points : assigned) {
+                sum += points;
+            }
+            return sum;
+        }
+
+        private boolean isWithinSkillLimit() {
+            for (int points : assigned) {
+                if (points > MAX_SKILL_POINTS_PER_SKILL) return false;
+            }
+            return true;
+        }
+    }
+}
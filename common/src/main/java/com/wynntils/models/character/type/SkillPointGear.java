@@ -0,0 +1,54 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.character.type;
+
+import com.wynntils.models.elements.type.Skill;
+import com.wynntils.models.gear.type.GearInfo;
+import com.wynntils.models.items.items.game.CraftedGearItem;
+import com.wynntils.models.stats.type.SkillStatType;
+import com.wynntils.models.stats.type.StatActualValue;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.utils.type.Pair;
+import java.util.List;
+
+/**
+ * The skill point requirements and bonuses of a piece of gear, indexed by {@link Skill#ordinal()}.
+ * A requirement of 0 means the gear has no requirement for that skill.
+ */
+public record SkillPointGear(String name, int[] requirements, int[] bonuses) {
+    public static SkillPointGear fromGearInfo(GearInfo gearInfo) {
+        int[] bonuses = new int[Skill.values().length];
+        for (Pair<StatType, StatPossibleValues> stat : gearInfo.variableStats()) {
+            // Skill point bonuses are always pre-identified, so the base value is the actual value
+            if (stat.key() instanceof SkillStatType skillStat) {
+                bonuses[skillStat.getSkill().ordinal()] += stat.value().baseValue();
+            }
+        }
+
+        return new SkillPointGear(gearInfo.name(), getRequirements(gearInfo.requirements().skills()), bonuses);
+    }
+
+    public static SkillPointGear fromCraftedGear(CraftedGearItem craftedGear) {
+        int[] bonuses = new int[Skill.values().length];
+        for (StatActualValue identification : craftedGear.getIdentifications()) {
+            if (identification.statType() instanceof SkillStatType skillStat) {
+                bonuses[skillStat.getSkill().ordinal()] += identification.value();
+            }
+        }
+
+        return new SkillPointGear(
+                craftedGear.getName(), getRequirements(craftedGear.getRequirements().skills()), bonuses);
+    }
+
+    private static int[] getRequirements(List<Pair<Skill, Integer>> skillRequirements) {
+        int[] requirements = new int[Skill.values().length];
+        for (Pair<Skill, Integer> skillRequirement : skillRequirements) {
+            requirements[skillRequirement.key().ordinal()] = skillRequirement.value();
+        }
+
+        return requirements;
+    }
+}
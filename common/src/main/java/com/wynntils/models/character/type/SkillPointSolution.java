@@ -0,0 +1,38 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.character.type;
+
+import com.wynntils.models.elements.type.Skill;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The result of solving the equip order of a set of gear.
+ *
+ * The equip order and assigned skill points are always the ones needing the fewest assigned points,
+ * even if the gear can not be equipped, so the caller can show how far off the build is.
+ * The assigned skill points are indexed by {@link Skill#ordinal()}.
+ */
+public record SkillPointSolution(Result result, List<SkillPointGear> equipOrder, int[] assignedSkillPoints) {
+    public boolean isPossible() {
+        return result == Result.POSSIBLE;
+    }
+
+    public int getAssignedSkillPoints(Skill skill) {
+        return assignedSkillPoints[skill.ordinal()];
+    }
+
+    public int getAssignedSum() {
+        return Arrays.stream(assignedSkillPoints).sum();
+    }
+
+    public enum Result {
+        POSSIBLE,
+        // Every equip order needs more than the maximum points in a single skill
+        EXCEEDS_SKILL_LIMIT,
+        // The best equip order needs more points than are available to assign
+        EXCEEDS_AVAILABLE_POINTS
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.damage;
@@ -12,7 +12,7 @@ import com.wynntils.handlers.labels.event.EntityLabelChangedEvent;
 import com.wynntils.models.damage.type.DamageDealtEvent;
 import com.wynntils.models.damage.type.FocusedDamageEvent;
 import com.wynntils.models.stats.type.DamageType;
-import com.wynntils.utils.type.TimedSet;
+import com.wynntils.utils.type.RollingTimeSeries;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,7 +31,8 @@ public final class DamageModel extends Model {
 
     private final DamageBar damageBar = new DamageBar();
 
-    private final TimedSet<Integer> areaDamageSet = new TimedSet<>(60, TimeUnit.SECONDS, true);
+    // 60 seconds of area damage, in 100 ms buckets
+    private final RollingTimeSeries areaDamageSeries = new RollingTimeSeries(600, 100, TimeUnit.MILLISECONDS);
 
     private String focusedMobName;
     private String focusedMobElementals;
@@ -68,25 +69,17 @@ public final class DamageModel extends Model {
         WynntilsMod.postEvent(new DamageDealtEvent(damages));
 
         int damageSum = damages.values().stream().mapToInt(Integer::intValue).sum();
-        areaDamageSet.put(damageSum);
+        areaDamageSeries.add(damageSum);
 
         lastDamageDealtTimestamp = System.currentTimeMillis();
     }
 
     public int getAreaDamagePerSecond() {
-        return areaDamageSet.getEntries().stream()
-                .filter(timedEntry -> (System.currentTimeMillis() - timedEntry.getCreation()) <= 1000L)
-                .mapToInt(TimedSet.TimedEntry::getEntry)
-                .sum();
+        return (int) areaDamageSeries.getSum(1, TimeUnit.SECONDS);
     }
 
     public double getAverageAreaDamagePerSecond(int seconds) {
-        return areaDamageSet.getEntries().stream()
-                        .filter(timedEntry ->
-                                (System.currentTimeMillis() - timedEntry.getCreation()) <= seconds * 1000L)
-                        .mapToInt(TimedSet.TimedEntry::getEntry)
-                        .sum()
-                / (double) seconds;
+        return areaDamageSeries.getAveragePerSecond(seconds, TimeUnit.SECONDS);
     }
 
     private final class DamageBar extends TrackedBar {
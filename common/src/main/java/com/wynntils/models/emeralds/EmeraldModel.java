@@ -1,13 +1,18 @@
 /*
- * Copyright © Wynntils 2021-2023.
+ * Copyright © Wynntils 2021-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.emeralds;
 
+import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
+import com.wynntils.mc.event.ContainerClickEvent;
 import com.wynntils.mc.event.ContainerCloseEvent;
+import com.wynntils.mc.event.ContainerSetContentEvent;
+import com.wynntils.mc.event.ContainerSetSlotEvent;
 import com.wynntils.mc.event.MenuEvent;
+import com.wynntils.mc.event.SetSlotEvent;
 import com.wynntils.mc.event.TickEvent;
 import com.wynntils.models.emeralds.type.EmeraldUnits;
 import com.wynntils.models.items.items.game.EmeraldPouchItem;
@@ -15,12 +20,13 @@ import com.wynntils.models.items.properties.EmeraldValuedItemProperty;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
-import com.wynntils.utils.wynn.WynnUtils;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
@@ -38,10 +44,21 @@ public final class EmeraldModel extends Model {
     private static final Pattern RAW_PRICE_PATTERN = Pattern.compile("\\d+");
     private static final double SILVERBULL_TAX_AMOUNT = 1.03;
     private static final double NORMAL_TAX_AMOUNT = 1.05;
+    // Vanilla uses this container id to set an inventory slot directly
+    private static final int INVENTORY_SET_SLOT_CONTAINER_ID = -2;
 
+    // Run the debug consistency check every 5 seconds
+    private static final int CONSISTENCY_CHECK_INTERVAL_TICKS = 100;
+
+    // The balances are kept up to date from slot updates, instead of rescanning the menus every tick
     private int inventoryEmeralds = 0;
     private int containerEmeralds = 0;
-    private int pouchContainerId = -1;
+
+    // Set when items may have changed without a slot update, like client side click predictions
+    private boolean inventoryDirty = true;
+    private boolean containerDirty = false;
+
+    private int ticksSinceConsistencyCheck = 0;
 
     public EmeraldModel() {
         super(List.of());
@@ -53,67 +70,126 @@ public final class EmeraldModel extends Model {
 
         inventoryEmeralds = 0;
         containerEmeralds = 0;
+        inventoryDirty = true;
+        containerDirty = false;
     }
 
     @SubscribeEvent
-    public void onTick(TickEvent event) {
-        recountEmeralds();
+    public void onSetSlot(SetSlotEvent.Post event) {
+        // This is also fired for every slot of a ContainerSetContentEvent, and for every
+        // ContainerSetSlotEvent that targets a menu, so only the difference needs to be applied
+        int delta = getEmeraldValue(event.getItemStack()) - getEmeraldValue(event.getOldItemStack());
+        if (delta == 0) return;
+
+        if (event.getContainer() == McUtils.inventory()) {
+            inventoryEmeralds += delta;
+        } else if (isContainerOpen()) {
+            containerEmeralds += delta;
+        }
     }
 
-    private void recountEmeralds() {
-        inventoryEmeralds = 0;
-
-        // Rescan inventory after merging items
-        List<ItemStack> items = McUtils.inventoryMenu().getItems();
-        for (ItemStack item : items) {
-            adjustBalance(item, true);
+    @SubscribeEvent
+    public void onContainerSetSlot(ContainerSetSlotEvent.Post event) {
+        // Vanilla sets the inventory item directly for this container id, without a slot update
+        if (event.getContainerId() == INVENTORY_SET_SLOT_CONTAINER_ID) {
+            inventoryDirty = true;
         }
+    }
 
-        containerEmeralds = 0;
-
-        // Rescan container after merging items
-        items = McUtils.containerMenu().getItems();
-        for (ItemStack item : items) {
-            adjustBalance(item, false);
+    @SubscribeEvent
+    public void onContainerSetContent(ContainerSetContentEvent.Post event) {
+        // A full content update is a good point to correct any drift, as all items were just replaced
+        if (event.getContainerId() == McUtils.inventoryMenu().containerId) {
+            inventoryDirty = true;
+        } else if (event.getContainerId() == McUtils.containerMenu().containerId) {
+            inventoryDirty = true;
+            containerDirty = true;
         }
     }
 
     @SubscribeEvent
-    public void onMenuOpened(MenuEvent.MenuOpenedEvent e) {
-        String title = WynnUtils.normalizeBadString(e.getTitle().getString());
-        if (title.equals("Emerald Pouch")) {
-            pouchContainerId = e.getContainerId();
-        } else {
-            pouchContainerId = -1;
-        }
+    public void onContainerClick(ContainerClickEvent event) {
+        // Clicks are predicted on the client, which splits and merges stacks in place
+        inventoryDirty = true;
+        containerDirty |= isContainerOpen();
+    }
+
+    @SubscribeEvent
+    public void onTick(TickEvent event) {
+        if (!WynntilsMod.isDevelopmentBuild()) return;
+
+        ticksSinceConsistencyCheck++;
+        if (ticksSinceConsistencyCheck < CONSISTENCY_CHECK_INTERVAL_TICKS) return;
+        ticksSinceConsistencyCheck = 0;
+
+        checkConsistency();
     }
 
     @SubscribeEvent
     public void onMenuClosed(MenuEvent.MenuClosedEvent e) {
         containerEmeralds = 0;
-        pouchContainerId = -1;
+        containerDirty = false;
     }
 
     @SubscribeEvent
     public void onContainerClose(ContainerCloseEvent.Post event) {
         containerEmeralds = 0;
+        containerDirty = false;
     }
 
-    private void adjustBalance(ItemStack newItemStack, boolean isInventory) {
-        int adjustValue = 0;
-        Optional<EmeraldValuedItemProperty> newItemValueOpt =
-                Models.Item.asWynnItemProperty(newItemStack, EmeraldValuedItemProperty.class);
-        if (newItemValueOpt.isPresent()) {
-            adjustValue += newItemValueOpt.get().getEmeraldValue();
+    private void checkConsistency() {
+        if (McUtils.player() == null) return;
+
+        int cachedInventoryEmeralds = getAmountInInventory();
+        int cachedContainerEmeralds = getAmountInContainer();
+
+        recountInventory();
+        recountContainer();
+
+        if (cachedInventoryEmeralds != inventoryEmeralds || cachedContainerEmeralds != containerEmeralds) {
+            WynntilsMod.warn("Emerald balance drifted: inventory " + cachedInventoryEmeralds + " (actual "
+                    + inventoryEmeralds + "), container " + cachedContainerEmeralds + " (actual "
+                    + containerEmeralds + ")");
+        }
+    }
+
+    private void recountInventory() {
+        inventoryDirty = false;
+        inventoryEmeralds = 0;
+
+        Inventory inventory = McUtils.inventory();
+        if (inventory == null) return;
+
+        for (int i = 0; i < inventory.getContainerSize(); i++) {
+            inventoryEmeralds += getEmeraldValue(inventory.getItem(i));
         }
+    }
+
+    private void recountContainer() {
+        containerDirty = false;
+        containerEmeralds = 0;
 
-        if (isInventory) {
-            inventoryEmeralds += adjustValue;
-        } else {
-            containerEmeralds += adjustValue;
+        if (!isContainerOpen()) return;
+
+        Inventory inventory = McUtils.inventory();
+        for (Slot slot : McUtils.containerMenu().slots) {
+            // The container menu also contains the player inventory
+            if (slot.container == inventory) continue;
+
+            containerEmeralds += getEmeraldValue(slot.getItem());
         }
     }
 
+    private boolean isContainerOpen() {
+        return McUtils.player() != null && McUtils.player().hasContainerOpen();
+    }
+
+    private int getEmeraldValue(ItemStack itemStack) {
+        Optional<EmeraldValuedItemProperty> valueOpt =
+                Models.Item.asWynnItemProperty(itemStack, EmeraldValuedItemProperty.class);
+        return valueOpt.map(EmeraldValuedItemProperty::getEmeraldValue).orElse(0);
+    }
+
     public String getFormattedString(int emeralds, boolean appendZeros) {
         StringBuilder builder = new StringBuilder();
 
@@ -145,11 +221,19 @@ public final class EmeraldModel extends Model {
     }
 
     public int getAmountInInventory() {
+        if (inventoryDirty) {
+            recountInventory();
+        }
+
         return inventoryEmeralds;
     }
 
     public int getAmountInContainer() {
-        return containerEmeralds - inventoryEmeralds;
+        if (containerDirty) {
+            recountContainer();
+        }
+
+        return containerEmeralds;
     }
 
     public String convertEmeraldPrice(String inputStr) {
@@ -30,7 +30,6 @@ public class SetModel extends Model {
 
     public SetModel() {
         super(List.of());
-        loadSetData();
     }
 
     @Override
@@ -38,6 +37,11 @@ public class SetModel extends Model {
         loadSetData();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     /**
      * @param setName Name of the set as it appears in game. Eg. "Morph"
      */
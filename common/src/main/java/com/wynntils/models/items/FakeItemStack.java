@@ -12,6 +12,7 @@ import com.wynntils.models.items.items.game.GearItem;
 import com.wynntils.models.items.properties.CraftedItemProperty;
 import com.wynntils.models.items.properties.IdentifiableItemProperty;
 import com.wynntils.models.items.properties.NamedItemProperty;
+import java.util.ArrayList;
 import java.util.List;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
@@ -23,6 +24,7 @@ import net.minecraft.world.item.TooltipFlag;
 public class FakeItemStack extends ItemStack {
     private final WynnItem wynnItem;
     private final String source;
+    private TooltipBuilder tooltipBuilder;
 
     public FakeItemStack(WynnItem wynnItem, ItemStack itemStack, String source) {
         super(itemStack.getItem(), 1);
@@ -45,18 +47,24 @@ public class FakeItemStack extends ItemStack {
         this(wynnItem, new ItemStack(Items.STONE), source);
     }
 
+    public WynnItem getWynnItem() {
+        return wynnItem;
+    }
+
     @Override
     public List<Component> getTooltipLines(Player player, TooltipFlag isAdvanced) {
-        TooltipBuilder tooltipBuilder = null;
-        if (wynnItem instanceof IdentifiableItemProperty<?, ?> identifiableItem) {
-            tooltipBuilder = Handlers.Tooltip.buildNew(identifiableItem, false, true);
-        } else if (wynnItem instanceof CraftedItemProperty craftedItemProperty) {
-            tooltipBuilder = Handlers.Tooltip.buildNew(craftedItemProperty);
+        // The wynn item never changes, so the builder only needs to be created once per stack
+        if (tooltipBuilder == null) {
+            if (wynnItem instanceof IdentifiableItemProperty<?, ?> identifiableItem) {
+                tooltipBuilder = Handlers.Tooltip.buildNew(identifiableItem, false, true);
+            } else if (wynnItem instanceof CraftedItemProperty craftedItemProperty) {
+                tooltipBuilder = Handlers.Tooltip.buildNew(craftedItemProperty);
+            }
         }
 
         if (tooltipBuilder == null) return List.of();
 
-        List<Component> tooltip = tooltipBuilder.getTooltipLines(Models.Character.getClassType());
+        List<Component> tooltip = new ArrayList<>(tooltipBuilder.getTooltipLines(Models.Character.getClassType()));
         // Add a line describing the source of this fake stack
         tooltip.add(
                 1, Component.literal(source).withStyle(ChatFormatting.DARK_GRAY).withStyle(ChatFormatting.ITALIC));
@@ -5,14 +5,20 @@
 package com.wynntils.models.items;
 
 import com.wynntils.core.components.Model;
+import com.wynntils.core.net.UrlId;
+import com.wynntils.core.net.event.NetResultProcessedEvent;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.storage.Storage;
 import com.wynntils.models.items.encoding.ItemTransformerRegistry;
 import com.wynntils.models.items.encoding.type.EncodingSettings;
 import com.wynntils.utils.EncodedByteBuffer;
+import com.wynntils.utils.type.BoundedCache;
 import com.wynntils.utils.type.ErrorOr;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class ItemEncodingModel extends Model {
     @Persisted
@@ -29,8 +35,27 @@ public class ItemEncodingModel extends Model {
             "[" + new String(Character.toChars(0x100000)) + "-" + new String(Character.toChars(0x10FFFD)) + "]";
     private static final Pattern ENCODED_DATA_PATTERN = Pattern.compile("(?<data>" + RANGE_A + "|" + RANGE_B + ")+");
 
+    // The data the item transformers look up while decoding; decoded items must be discarded when any of it changes
+    private static final Set<UrlId> ITEM_DATA_URL_IDS = Set.of(
+            UrlId.DATA_STATIC_GEAR_ADVANCED,
+            UrlId.DATA_STATIC_INGREDIENTS_ADVANCED,
+            UrlId.DATA_STATIC_ITEM_SETS,
+            UrlId.DATA_STATIC_CHARMS,
+            UrlId.DATA_STATIC_TOMES,
+            UrlId.DATA_STATIC_SHINY_STATS,
+            UrlId.DATA_STATIC_IDENTIFICATION_KEYS);
+
+    // Large enough to hold a busy guild chat and a sizable item record
+    private static final int DECODED_ITEM_CACHE_SIZE = 512;
+
     private final ItemTransformerRegistry itemTransformerRegistry = new ItemTransformerRegistry();
 
+    // Only successfully decoded items are cached, so items that failed to decode are retried
+    private final BoundedCache<EncodedByteBuffer, WynnItem> decodedItemCache =
+            new BoundedCache<>(DECODED_ITEM_CACHE_SIZE);
+    private final BoundedCache<DecodedItemStackKey, FakeItemStack> decodedItemStackCache =
+            new BoundedCache<>(DECODED_ITEM_CACHE_SIZE);
+
     public ItemEncodingModel() {
         super(List.of());
     }
@@ -39,8 +64,51 @@ public class ItemEncodingModel extends Model {
         return itemTransformerRegistry.encodeItem(wynnItem, encodingSettings);
     }
 
+    @Override
+    public void reloadData() {
+        invalidateDecodedItems();
+    }
+
+    @SubscribeEvent
+    public void onDataLoaded(NetResultProcessedEvent.ForUrlId event) {
+        if (!ITEM_DATA_URL_IDS.contains(event.getUrlId())) return;
+
+        invalidateDecodedItems();
+    }
+
+    /**
+     * Decodes an item, reusing the result of earlier decodes of the same data.
+     * Note that the returned item is shared between all callers decoding the same data.
+     */
     public ErrorOr<WynnItem> decodeItem(EncodedByteBuffer encodedByteBuffer) {
-        return itemTransformerRegistry.decodeItem(encodedByteBuffer);
+        WynnItem cachedItem = decodedItemCache.get(encodedByteBuffer);
+        if (cachedItem != null) return ErrorOr.of(cachedItem);
+
+        ErrorOr<WynnItem> errorOrWynnItem = itemTransformerRegistry.decodeItem(encodedByteBuffer);
+        if (!errorOrWynnItem.hasError()) {
+            decodedItemCache.put(encodedByteBuffer, errorOrWynnItem.getValue());
+        }
+
+        return errorOrWynnItem;
+    }
+
+    /**
+     * Decodes an item and wraps it in a {@link FakeItemStack}, which is built once per data and source.
+     * The same stack instance is returned for repeated calls, so it must not be modified by the caller.
+     */
+    public ErrorOr<FakeItemStack> decodeItemStack(
+            EncodedByteBuffer encodedByteBuffer, String source, Function<WynnItem, FakeItemStack> stackFactory) {
+        DecodedItemStackKey key = new DecodedItemStackKey(encodedByteBuffer, source);
+
+        FakeItemStack cachedStack = decodedItemStackCache.get(key);
+        if (cachedStack != null) return ErrorOr.of(cachedStack);
+
+        ErrorOr<WynnItem> errorOrWynnItem = decodeItem(encodedByteBuffer);
+        if (errorOrWynnItem.hasError()) return ErrorOr.error(errorOrWynnItem.getError());
+
+        FakeItemStack itemStack = stackFactory.apply(errorOrWynnItem.getValue());
+        decodedItemStackCache.put(key, itemStack);
+        return ErrorOr.of(itemStack);
     }
 
     public boolean canEncodeItem(WynnItem wynnItem) {
@@ -50,4 +118,11 @@ public class ItemEncodingModel extends Model {
     public Pattern getEncodedDataPattern() {
         return ENCODED_DATA_PATTERN;
     }
+
+    private void invalidateDecodedItems() {
+        decodedItemCache.invalidateAll();
+        decodedItemStackCache.invalidateAll();
+    }
+
+    private record DecodedItemStackKey(EncodedByteBuffer encodedByteBuffer, String source) {}
 }
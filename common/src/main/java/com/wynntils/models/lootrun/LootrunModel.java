@@ -167,7 +167,6 @@ public class LootrunModel extends Model {
         Handlers.Scoreboard.addPart(LOOTRUN_SCOREBOARD_PART);
         Handlers.Particle.registerParticleVerifier(ParticleType.LOOTRUN_TASK, new LootrunTaskParticleVerifier());
         Models.Marker.registerMarkerProvider(LOOTRUN_BEACON_COMPASS_PROVIDER);
-        reloadData();
     }
 
     @Override
@@ -175,6 +174,11 @@ public class LootrunModel extends Model {
         loadLootrunTaskLocations();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     private void loadLootrunTaskLocations() {
         Download dl = Managers.Net.download(UrlId.DATA_STATIC_LOOTRUN_TASKS_NAMED);
         dl.handleReader(reader -> {
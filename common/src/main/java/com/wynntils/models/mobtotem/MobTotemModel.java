@@ -1,19 +1,23 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.mobtotem;
 
+import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
 import com.wynntils.handlers.labels.event.EntityLabelChangedEvent;
 import com.wynntils.mc.event.RemoveEntitiesEvent;
+import com.wynntils.models.mobtotem.label.MobTotemLabelInfo;
+import com.wynntils.models.mobtotem.label.MobTotemLabelParser;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.utils.mc.PosUtils;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.world.entity.Entity;
@@ -21,14 +25,17 @@ import net.minecraft.world.entity.decoration.ArmorStand;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class MobTotemModel extends Model {
-    private static final Pattern MOB_TOTEM_NAME = Pattern.compile("^§f§l(.*)'s§6§l Mob Totem$");
     private static final Pattern MOB_TOTEM_TIMER = Pattern.compile("^§c§l([0-9]+:[0-9]+)$");
     private static final double TOTEM_COORDINATE_DIFFERENCE = 0.2d;
+    // Labels are located at the block containing them, so look a bit further than the timer offset
+    private static final double TOTEM_SEARCH_RADIUS = 2d;
 
     private final Map<Integer, MobTotem> mobTotems = new LinkedHashMap<>();
 
     public MobTotemModel() {
         super(List.of());
+
+        Handlers.Label.registerParser(new MobTotemLabelParser());
     }
 
     @SubscribeEvent
@@ -39,24 +46,29 @@ public class MobTotemModel extends Model {
         if (!(entity instanceof ArmorStand as)) return;
 
         // If a new mob totem just appeared, add it to the unstarted list
-        // Totem timers do not match the MOB_TOTEM_NAME pattern
-        Matcher nameMatcher = e.getName().getMatcher(MOB_TOTEM_NAME);
-        if (nameMatcher.find()) {
+        // Totem timers are not identified as mob totem labels
+        Optional<MobTotemLabelInfo> totemLabel = e.getLabelInfo()
+                .filter(MobTotemLabelInfo.class::isInstance)
+                .map(MobTotemLabelInfo.class::cast);
+        if (totemLabel.isPresent()) {
             int mobTotemId = e.getEntity().getId();
 
             if (mobTotems.containsKey(mobTotemId)) return; // If the totem is already in the list, don't add it again
 
-            mobTotems.put(mobTotemId, new MobTotem(PosUtils.newPosition(as), nameMatcher.group(1)));
+            mobTotems.put(mobTotemId, new MobTotem(PosUtils.newPosition(as), totemLabel.get().getOwner()));
             return;
         }
 
         Matcher timerMatcher = e.getName().getMatcher(MOB_TOTEM_TIMER);
         if (!timerMatcher.find()) return;
 
-        mobTotems.values().stream()
+        // Only look at the totems near the timer, instead of every known totem
+        Handlers.Label.getLabelsNear(as.position(), TOTEM_SEARCH_RADIUS, MobTotemLabelInfo.class).stream()
+                .map(label -> mobTotems.get(label.getEntity().getId()))
                 .filter(
                         // Exact equality is fine here because the totem is stationary
-                        mobTotem -> as.getX() == mobTotem.getPosition().x()
+                        mobTotem -> mobTotem != null
+                                && as.getX() == mobTotem.getPosition().x()
                                 && as.getY() == (mobTotem.getPosition().y() + TOTEM_COORDINATE_DIFFERENCE)
                                 && as.getZ() == mobTotem.getPosition().z())
                 .forEach(mobTotem -> mobTotem.setTimerString(timerMatcher.group(1)));
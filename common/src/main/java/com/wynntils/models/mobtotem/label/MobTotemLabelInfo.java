@@ -0,0 +1,33 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.mobtotem.label;
+
+import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.labels.type.LabelInfo;
+import com.wynntils.utils.mc.type.Location;
+import net.minecraft.world.entity.Entity;
+
+public class MobTotemLabelInfo extends LabelInfo {
+    private final String owner;
+
+    public MobTotemLabelInfo(StyledText label, Location location, Entity entity, String owner) {
+        super(label, owner + "'s Mob Totem", location, entity);
+        this.owner = owner;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    @Override
+    public String toString() {
+        return "MobTotemLabelInfo{" + "owner='"
+                + owner + '\'' + ", label="
+                + label + ", name='"
+                + name + '\'' + ", location="
+                + location + ", entity="
+                + entity + '}';
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.mobtotem.label;
+
+import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.labels.type.LabelParser;
+import com.wynntils.utils.mc.type.Location;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ArmorStand;
+
+public class MobTotemLabelParser implements LabelParser<MobTotemLabelInfo> {
+    private static final Pattern MOB_TOTEM_NAME = Pattern.compile("^§f§l(.*)'s§6§l Mob Totem$");
+
+    @Override
+    public MobTotemLabelInfo getInfo(StyledText label, Location location, Entity entity) {
+        if (!(entity instanceof ArmorStand)) return null;
+
+        Matcher matcher = label.getMatcher(MOB_TOTEM_NAME);
+        if (!matcher.matches()) return null;
+
+        return new MobTotemLabelInfo(label, location, entity, matcher.group(1));
+    }
+
+    @Override
+    public List<String> getPrefixes() {
+        return List.of("§f§l");
+    }
+}
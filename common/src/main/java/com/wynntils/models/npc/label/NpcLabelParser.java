@@ -7,6 +7,7 @@ package com.wynntils.models.npc.label;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.labels.type.LabelParser;
 import com.wynntils.utils.mc.type.Location;
+import java.util.List;
 import java.util.regex.Pattern;
 import net.minecraft.world.entity.Entity;
 
@@ -28,4 +29,9 @@ public class NpcLabelParser implements LabelParser<NpcLabelInfo> {
 
         return null;
     }
+
+    @Override
+    public List<String> getPrefixes() {
+        return List.of("§d", "§cTrade Market", "§fClick");
+    }
 }
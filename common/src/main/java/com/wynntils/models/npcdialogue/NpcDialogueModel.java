@@ -176,7 +176,7 @@ public class NpcDialogueModel extends Model {
                 }
             }
 
-            Managers.TickScheduler.scheduleNextTick(() -> {
+            Managers.Scheduler.scheduleNextTick(() -> {
                 NpcDialogueProcessingEvent.Post postEvent =
                         new NpcDialogueProcessingEvent.Post(newDialogue, styledTexts);
                 WynntilsMod.postEvent(postEvent);
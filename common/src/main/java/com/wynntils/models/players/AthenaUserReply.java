@@ -0,0 +1,36 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players;
+
+import com.google.gson.JsonObject;
+import com.wynntils.core.WynntilsMod;
+
+/**
+ * Answers a user lookup from the reply of the Athena user info endpoint.
+ */
+public final class AthenaUserReply {
+    private static final String ATHENA_USER_NOT_FOUND = "User not found";
+
+    private AthenaUserReply() {}
+
+    /**
+     * @param onFailure called before the lookup is answered as failed, when the reply has no user
+     */
+    public static void answer(JsonObject reply, UserLookupBatcher.Answer answer, Runnable onFailure) {
+        if (reply.has("message") && reply.get("message").getAsString().equals(ATHENA_USER_NOT_FOUND)) {
+            // This user does not exist in our database, stop requesting it
+            answer.notFound();
+            return;
+        }
+
+        if (!reply.has("user")) {
+            onFailure.run();
+            answer.failed();
+            return;
+        }
+
+        answer.found(WynntilsMod.GSON.fromJson(reply.getAsJsonObject("user"), WynntilsUser.class));
+    }
+}
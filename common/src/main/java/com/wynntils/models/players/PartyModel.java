@@ -249,7 +249,7 @@ public final class PartyModel extends Model {
             */
 
             if (!nextKickHandled) {
-                Managers.TickScheduler.scheduleLater(this::requestData, 2);
+                Managers.Scheduler.scheduleLater(this::requestData, 2);
             } else {
                 nextKickHandled = false;
             }
@@ -7,22 +7,33 @@ package com.wynntils.models.players;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
+import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.net.ApiResponse;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.text.StyledText;
+import com.wynntils.mc.event.PlayerInfoEvent;
 import com.wynntils.mc.event.PlayerJoinedWorldEvent;
 import com.wynntils.mc.event.PlayerTeamEvent;
+import com.wynntils.models.players.event.HadesRelationsUpdateEvent;
+import com.wynntils.models.players.type.CachedUserLookup;
+import com.wynntils.models.players.type.PlayerClassification;
+import com.wynntils.models.players.type.UserLookupMetrics;
 import com.wynntils.models.players.type.WynnPlayerInfo;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
-import com.wynntils.utils.type.TimedSet;
+import com.wynntils.utils.type.RollingTimeSeries;
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,6 +41,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -37,12 +49,12 @@ import net.minecraft.client.multiplayer.PlayerInfo;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.scores.PlayerTeam;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
+import org.apache.commons.io.FileUtils;
 
 public final class PlayerModel extends Model {
     private static final Gson PLAYER_GSON = new GsonBuilder()
             .registerTypeHierarchyAdapter(WynnPlayerInfo.class, new WynnPlayerInfo.WynnPlayerInfoDeserializer())
             .create();
-    private static final String ATHENA_USER_NOT_FOUND = "User not found";
     private static final Pattern GHOST_WORLD_PATTERN = Pattern.compile("^_(\\d+)$");
 
     // If there is a failure with the API, give it time to recover
@@ -55,27 +67,52 @@ public final class PlayerModel extends Model {
     // before disabling lookups for them
     private static final int MAX_USER_ERRORS = 3;
 
+    private static final String USER_CACHE_FILE_NAME = "athena_users.json";
+
+    // New lookup results are saved after this delay, so a busy world is written once, not after every batch
+    private static final int USER_CACHE_SAVE_DELAY_SECONDS = 30;
+
     private final Map<UUID, WynntilsUser> users = new ConcurrentHashMap<>();
     private final Set<UUID> usersWithoutWynntilsAccount = ConcurrentHashMap.newKeySet();
-    private final Set<UUID> fetching = ConcurrentHashMap.newKeySet();
     private final Map<UUID, Integer> ghosts = new ConcurrentHashMap<>();
     private final Map<UUID, String> nameMap = new ConcurrentHashMap<>();
 
-    // The size of this set is the count of errors in the last ERROR_TIMEOUT_MINUTE minutes.
+    // Rendering checks every visible player each frame, so classify each player only once,
+    // until something it depends on changes
+    private final Map<UUID, PlayerClassification> classifications = new ConcurrentHashMap<>();
+
+    // Counts the errors in the last ERROR_TIMEOUT_MINUTE minutes, in 5 second buckets.
     // This is used to avoid spamming the API.
-    private final TimedSet<Object> errors =
-            new TimedSet<>(ERROR_TIMEOUT_MINUTE, TimeUnit.MINUTES, true, ConcurrentHashMap::newKeySet);
+    private final RollingTimeSeries errors = new RollingTimeSeries(ERROR_TIMEOUT_MINUTE * 12, 5, TimeUnit.SECONDS);
     private final Map<UUID, Integer> userFailures = new ConcurrentHashMap<>();
 
-    public PlayerModel() {
-        super(List.of());
+    private final UserLookupBatcher lookupBatcher = new UserLookupBatcher(
+            this::lookupUser,
+            (task, delayMillis) -> Managers.Scheduler.scheduleAsync(task, delayMillis, TimeUnit.MILLISECONDS),
+            System::currentTimeMillis,
+            this::applyUserLookup,
+            this::scheduleUserCacheSave);
+    private final AtomicBoolean userCacheSavePending = new AtomicBoolean();
+
+    public PlayerModel(PartyModel partyModel, FriendsModel friendsModel) {
+        super(List.of(partyModel, friendsModel));
         errors.clear();
         userFailures.clear();
     }
 
+    @Override
+    public void reloadData() {
+        loadUserCache();
+    }
+
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     // Returns true if the player is on the same server and is not a npc
     public boolean isLocalPlayer(Player player) {
-        return !isNpc(player) && !isPlayerGhost(player);
+        return getClassification(player).isLocalPlayer();
     }
 
     public boolean isLocalPlayer(String name) {
@@ -85,12 +122,25 @@ public final class PlayerModel extends Model {
     }
 
     public boolean isNpc(Player player) {
-        StyledText scoreboardName = StyledText.fromString(player.getScoreboardName());
-        return isNpcName(scoreboardName) || isNpcUuid(player.getUUID());
+        return getClassification(player).npc();
     }
 
     public boolean isPlayerGhost(Player player) {
-        return ghosts.containsKey(player.getUUID());
+        return getClassification(player).ghost();
+    }
+
+    public boolean isPartyMember(Player player) {
+        return getClassification(player).partyMember();
+    }
+
+    public PlayerClassification getClassification(Player player) {
+        PlayerClassification classification = classifications.get(player.getUUID());
+        if (classification == null) {
+            classification = classifyPlayer(player);
+            classifications.put(player.getUUID(), classification);
+        }
+
+        return classification;
     }
 
     public WynntilsUser getUser(UUID uuid) {
@@ -101,8 +151,16 @@ public final class PlayerModel extends Model {
         return nameMap.values().stream();
     }
 
+    public UserLookupMetrics getLookupMetrics() {
+        return lookupBatcher.getMetrics();
+    }
+
+    public void resetLookupMetrics() {
+        lookupBatcher.resetMetrics();
+    }
+
     public void reset() {
-        fetching.clear();
+        lookupBatcher.clearQueue();
         errors.clear();
         userFailures.clear();
     }
@@ -112,10 +170,36 @@ public final class PlayerModel extends Model {
         if (event.getNewState() == WorldState.NOT_CONNECTED) {
             clearNameMap();
             reset();
+            Managers.Scheduler.runAsync(this::saveUserCache);
         }
         if (event.getNewState() == WorldState.WORLD) {
             clearGhostCache();
         }
+
+        classifications.clear();
+    }
+
+    @SubscribeEvent
+    public void onPlayerInfo(PlayerInfoEvent event) {
+        classifications.remove(event.getId());
+    }
+
+    @SubscribeEvent
+    public void onPartyListUpdate(HadesRelationsUpdateEvent.PartyList event) {
+        classifications.clear();
+    }
+
+    @SubscribeEvent
+    public void onFriendListUpdate(HadesRelationsUpdateEvent.FriendList event) {
+        classifications.clear();
+    }
+
+    @SubscribeEvent
+    public void onRemovePlayerFromTeam(PlayerTeamEvent.Removed event) {
+        PlayerInfo playerInfo = McUtils.mc().getConnection().getPlayerInfo(event.getUsername());
+        if (playerInfo == null || playerInfo.getProfile().getId() == null) return;
+
+        classifications.remove(playerInfo.getProfile().getId());
     }
 
     @SubscribeEvent
@@ -136,6 +220,8 @@ public final class PlayerModel extends Model {
         UUID uuid = playerInfo.getProfile().getId();
         if (uuid == null) return;
 
+        classifications.remove(uuid);
+
         PlayerTeam playerTeam = event.getPlayerTeam();
 
         Matcher matcher = GHOST_WORLD_PATTERN.matcher(playerTeam.getName());
@@ -150,12 +236,9 @@ public final class PlayerModel extends Model {
     }
 
     private void loadUser(UUID uuid, String userName) {
-        // Avoid fetching the same user multiple times
-        if (fetching.contains(uuid)) return;
         if (users.containsKey(uuid) || usersWithoutWynntilsAccount.contains(uuid)) return;
 
-        // Call getEntries to clear old entries
-        if (errors.getEntries().size() >= MAX_ERRORS) {
+        if (getRecentErrorCount() >= MAX_ERRORS) {
             // Athena is having problems, skip this
             return;
         }
@@ -165,40 +248,83 @@ public final class PlayerModel extends Model {
             return;
         }
 
-        fetching.add(uuid); // temporary, avoid extra loads
         nameMap.put(uuid, userName);
 
+        // The batcher avoids fetching the same user multiple times
+        lookupBatcher.lookup(uuid);
+    }
+
+    private void lookupUser(UUID uuid, UserLookupBatcher.Answer answer) {
+        String userName = nameMap.getOrDefault(uuid, uuid.toString());
+
         ApiResponse apiResponse = Managers.Net.callApi(UrlId.API_ATHENA_USER_INFO, Map.of("uuid", uuid.toString()));
         apiResponse.handleJsonObject(
-                json -> {
-                    if (json.has("message") && json.get("message").getAsString().equals(ATHENA_USER_NOT_FOUND)) {
-                        // This user does not exist in our database, stop requesting it
-                        usersWithoutWynntilsAccount.add(uuid);
-                        fetching.remove(uuid);
-                        return;
-                    }
-
-                    if (!json.has("user")) {
-                        fetching.remove(uuid);
-                        saveUserFailures(uuid, userName);
-                        return;
-                    }
-
-                    WynntilsUser user = WynntilsMod.GSON.fromJson(json.getAsJsonObject("user"), WynntilsUser.class);
-
-                    users.put(uuid, user);
-                    fetching.remove(uuid);
-
-                    // Schedule cape loading for next render tick
-                    RenderSystem.recordRenderCall(() -> Services.Cosmetics.loadCosmeticTextures(uuid, user));
-                },
+                json -> AthenaUserReply.answer(json, answer, () -> saveUserFailures(uuid, userName)),
                 onError -> {
-                    errors.put(System.currentTimeMillis());
+                    errors.increment();
 
                     saveUserFailures(uuid, userName);
+                    answer.failed();
                 });
     }
 
+    private void applyUserLookup(UUID uuid, CachedUserLookup lookup) {
+        if (!lookup.isWynntilsUser()) {
+            usersWithoutWynntilsAccount.add(uuid);
+            return;
+        }
+
+        WynntilsUser user = lookup.user();
+        users.put(uuid, user);
+
+        // Schedule cape loading for next render tick
+        RenderSystem.recordRenderCall(() -> Services.Cosmetics.loadCosmeticTextures(uuid, user));
+    }
+
+    private void scheduleUserCacheSave() {
+        if (!userCacheSavePending.compareAndSet(false, true)) return;
+
+        Managers.Scheduler.scheduleAsync(this::saveUserCache, USER_CACHE_SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private synchronized void loadUserCache() {
+        File cacheFile = Managers.Net.getCacheFile(USER_CACHE_FILE_NAME);
+        if (!cacheFile.exists()) return;
+
+        try {
+            String json = FileUtils.readFileToString(cacheFile, StandardCharsets.UTF_8);
+
+            Type type = new TypeToken<HashMap<UUID, CachedUserLookup>>() {}.getType();
+            Map<UUID, CachedUserLookup> savedLookups = WynntilsMod.GSON.fromJson(json, type);
+            if (savedLookups == null) return;
+
+            lookupBatcher.loadCache(savedLookups);
+        } catch (IOException e) {
+            WynntilsMod.error("Error when trying to load Athena user cache.", e);
+        } catch (IllegalStateException | JsonSyntaxException e) {
+            WynntilsMod.error("Athena user cache was corrupt when parsing it. Trying to delete it.", e);
+
+            try {
+                FileUtils.delete(cacheFile);
+            } catch (IOException ioException) {
+                WynntilsMod.error("Error when trying to delete Athena user cache.", ioException);
+            }
+        }
+    }
+
+    private synchronized void saveUserCache() {
+        // Results cached from here on need another save
+        userCacheSavePending.set(false);
+
+        try {
+            File cacheFile = Managers.Net.getCacheFile(USER_CACHE_FILE_NAME);
+            FileUtils.writeStringToFile(
+                    cacheFile, WynntilsMod.GSON.toJson(lookupBatcher.getCache()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            WynntilsMod.error("Error when trying to save Athena user cache.", e);
+        }
+    }
+
     public CompletableFuture<WynnPlayerInfo> getPlayer(String username) {
         CompletableFuture<WynnPlayerInfo> future = new CompletableFuture<>();
 
@@ -219,8 +345,7 @@ public final class PlayerModel extends Model {
         userFailures.compute(uuid, (k, v) -> v + 1);
 
         // Only log the error once
-        // Call getEntries to clear old entries
-        if (errors.getEntries().size() == MAX_ERRORS) {
+        if (getRecentErrorCount() == MAX_ERRORS) {
             WynntilsMod.error("Athena user lookup has repeating failures. Disabling future lookups temporarily.");
         }
 
@@ -231,6 +356,10 @@ public final class PlayerModel extends Model {
         }
     }
 
+    private int getRecentErrorCount() {
+        return errors.getCount(ERROR_TIMEOUT_MINUTE, TimeUnit.MINUTES);
+    }
+
     private void clearNameMap() {
         nameMap.clear();
     }
@@ -239,6 +368,17 @@ public final class PlayerModel extends Model {
         ghosts.clear();
     }
 
+    private PlayerClassification classifyPlayer(Player player) {
+        String name = player.getScoreboardName();
+        boolean npc = isNpcName(StyledText.fromString(name)) || isNpcUuid(player.getUUID());
+
+        return new PlayerClassification(
+                npc,
+                ghosts.containsKey(player.getUUID()),
+                Models.Party.getPartyMembers().contains(name),
+                Models.Friends.isFriend(name));
+    }
+
     private boolean isNpcName(StyledText name) {
         // FIXME: Maybe make a better check using more native StyledText operations?
         return name.contains("\u0001") || name.contains("§");
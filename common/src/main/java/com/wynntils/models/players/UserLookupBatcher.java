@@ -0,0 +1,240 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players;
+
+import com.wynntils.models.players.type.CachedUserLookup;
+import com.wynntils.models.players.type.UserLookupMetrics;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Looks up players in batches, and caches the results.
+ *
+ * Lookups are collected for a short window before being sent together, so joining a busy world does not
+ * send a request, and load cosmetics, for every player separately. Only one batch is out at a time, and
+ * lookups made meanwhile wait for the next one. Players without a Wynntils account are cached too, for
+ * longer than users, as that rarely changes. Failed lookups are not cached.
+ *
+ * The lookup call and the scheduling are passed in, so this does not depend on a running client.
+ */
+public final class UserLookupBatcher {
+    static final long BATCH_WINDOW_MILLIS = 250;
+    static final int MAX_BATCH_SIZE = 16;
+
+    // How long lookup results are reused, also across sessions, before looking the player up again
+    static final long USER_CACHE_MILLIS = TimeUnit.HOURS.toMillis(6);
+    static final long NON_USER_CACHE_MILLIS = TimeUnit.HOURS.toMillis(12);
+
+    private final LookupFunction lookupFunction;
+    private final DelayedExecutor executor;
+    private final LongSupplier clock;
+    private final BiConsumer<UUID, CachedUserLookup> onResult;
+    private final Runnable onCacheChanged;
+
+    private final Queue<UUID> queue = new ConcurrentLinkedQueue<>();
+    // Queued or in flight, so the same player is not looked up twice at once
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    // Set while a batch is waiting to be sent or is being sent, so only one batch is out at a time
+    private final AtomicBoolean batchPending = new AtomicBoolean();
+    private final Map<UUID, CachedUserLookup> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalBatchLatencyNanos = new AtomicLong();
+    private final AtomicLong maxBatchLatencyNanos = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    /**
+     * @param onResult called with every answered or cached lookup, on any thread
+     * @param onCacheChanged called when a new result has been cached, on any thread
+     */
+    public UserLookupBatcher(
+            LookupFunction lookupFunction,
+            DelayedExecutor executor,
+            LongSupplier clock,
+            BiConsumer<UUID, CachedUserLookup> onResult,
+            Runnable onCacheChanged) {
+        this.lookupFunction = lookupFunction;
+        this.executor = executor;
+        this.clock = clock;
+        this.onResult = onResult;
+        this.onCacheChanged = onCacheChanged;
+    }
+
+    public void lookup(UUID uuid) {
+        CachedUserLookup cachedLookup = cache.get(uuid);
+        if (cachedLookup != null && !isExpired(cachedLookup)) {
+            cacheHits.incrementAndGet();
+            onResult.accept(uuid, cachedLookup);
+            return;
+        }
+
+        if (!pending.add(uuid)) return;
+
+        queue.add(uuid);
+        scheduleBatch();
+    }
+
+    /**
+     * Drops the lookups that have not been sent yet.
+     */
+    public void clearQueue() {
+        queue.clear();
+        pending.clear();
+    }
+
+    public void loadCache(Map<UUID, CachedUserLookup> savedLookups) {
+        savedLookups.forEach((uuid, lookup) -> {
+            if (lookup != null && !isExpired(lookup)) {
+                cache.putIfAbsent(uuid, lookup);
+            }
+        });
+    }
+
+    /**
+     * @return the cached results that have not expired, for saving them
+     */
+    public Map<UUID, CachedUserLookup> getCache() {
+        cache.values().removeIf(this::isExpired);
+        return Map.copyOf(cache);
+    }
+
+    public UserLookupMetrics getMetrics() {
+        long batchCount = batches.get();
+        long cachedUsers =
+                cache.values().stream().filter(CachedUserLookup::isWynntilsUser).count();
+
+        return new UserLookupMetrics(
+                lookups.get(),
+                batchCount,
+                batchCount == 0 ? 0 : (double) lookups.get() / batchCount,
+                batchCount == 0 ? 0 : totalBatchLatencyNanos.get() / 1_000_000d / batchCount,
+                TimeUnit.NANOSECONDS.toMillis(maxBatchLatencyNanos.get()),
+                cacheHits.get(),
+                (int) cachedUsers,
+                cache.size() - (int) cachedUsers);
+    }
+
+    public void resetMetrics() {
+        lookups.set(0);
+        batches.set(0);
+        totalBatchLatencyNanos.set(0);
+        maxBatchLatencyNanos.set(0);
+        cacheHits.set(0);
+    }
+
+    private void scheduleBatch() {
+        if (!batchPending.compareAndSet(false, true)) return;
+
+        executor.schedule(this::sendBatch, BATCH_WINDOW_MILLIS);
+    }
+
+    private void sendBatch() {
+        Set<UUID> batch = ConcurrentHashMap.newKeySet();
+        UUID uuid;
+        while (batch.size() < MAX_BATCH_SIZE && (uuid = queue.poll()) != null) {
+            batch.add(uuid);
+        }
+
+        if (batch.isEmpty()) {
+            finishBatch();
+            return;
+        }
+
+        // Athena has no endpoint for looking up several users at once, so the batch is sent
+        // as concurrent requests, and the next batch waits until all of them are answered
+        long start = System.nanoTime();
+        Set<UUID> unanswered = ConcurrentHashMap.newKeySet();
+        unanswered.addAll(batch);
+        Consumer<UUID> onAnswered = answered -> {
+            if (!unanswered.remove(answered) || !unanswered.isEmpty()) return;
+
+            recordBatch(batch.size(), System.nanoTime() - start);
+            finishBatch();
+        };
+
+        for (UUID batchUuid : batch) {
+            lookupFunction.lookup(batchUuid, new Answer(batchUuid, onAnswered));
+        }
+    }
+
+    private void finishBatch() {
+        batchPending.set(false);
+
+        if (!queue.isEmpty()) {
+            scheduleBatch();
+        }
+    }
+
+    private void recordBatch(int batchSize, long latencyNanos) {
+        lookups.addAndGet(batchSize);
+        batches.incrementAndGet();
+        totalBatchLatencyNanos.addAndGet(latencyNanos);
+        maxBatchLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    private boolean isExpired(CachedUserLookup lookup) {
+        long cacheMillis = lookup.isWynntilsUser() ? USER_CACHE_MILLIS : NON_USER_CACHE_MILLIS;
+        return clock.getAsLong() - lookup.lookupTime() > cacheMillis;
+    }
+
+    @FunctionalInterface
+    public interface LookupFunction {
+        /**
+         * Looks up the player, and calls exactly one of the methods of the answer when done, on any thread.
+         */
+        void lookup(UUID uuid, Answer answer);
+    }
+
+    @FunctionalInterface
+    public interface DelayedExecutor {
+        void schedule(Runnable task, long delayMillis);
+    }
+
+    public final class Answer {
+        private final UUID uuid;
+        private final Consumer<UUID> onAnswered;
+
+        private Answer(UUID uuid, Consumer<UUID> onAnswered) {
+            this.uuid = uuid;
+            this.onAnswered = onAnswered;
+        }
+
+        public void found(WynntilsUser user) {
+            answer(new CachedUserLookup(user, clock.getAsLong()));
+        }
+
+        /**
+         * The player has no Wynntils account.
+         */
+        public void notFound() {
+            answer(new CachedUserLookup(null, clock.getAsLong()));
+        }
+
+        public void failed() {
+            pending.remove(uuid);
+            onAnswered.accept(uuid);
+        }
+
+        private void answer(CachedUserLookup lookup) {
+            cache.put(uuid, lookup);
+            pending.remove(uuid);
+            onCacheChanged.run();
+            onAnswered.accept(uuid);
+            // Last, so the cache and the metrics are up to date when the result is used
+            onResult.accept(uuid, lookup);
+        }
+    }
+}
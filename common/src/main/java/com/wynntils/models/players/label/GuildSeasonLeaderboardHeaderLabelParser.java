@@ -7,6 +7,7 @@ package com.wynntils.models.players.label;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.labels.type.LabelParser;
 import com.wynntils.utils.mc.type.Location;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.world.entity.Entity;
@@ -23,4 +24,9 @@ public class GuildSeasonLeaderboardHeaderLabelParser implements LabelParser<Guil
 
         return new GuildSeasonLeaderboardHeaderLabelInfo(label, location, entity, Integer.parseInt(matcher.group(1)));
     }
+
+    @Override
+    public List<String> getPrefixes() {
+        return List.of("§d§lSeason ");
+    }
 }
@@ -0,0 +1,16 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players.type;
+
+import com.wynntils.models.players.WynntilsUser;
+
+/**
+ * The result of looking up a player on Athena. The user is null if the player has no Wynntils account.
+ */
+public record CachedUserLookup(WynntilsUser user, long lookupTime) {
+    public boolean isWynntilsUser() {
+        return user != null;
+    }
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players.type;
+
+public record PlayerClassification(boolean npc, boolean ghost, boolean partyMember, boolean friend) {
+    // A player on the same server, that is not an npc
+    public boolean isLocalPlayer() {
+        return !npc && !ghost;
+    }
+}
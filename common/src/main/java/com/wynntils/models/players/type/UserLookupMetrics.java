@@ -0,0 +1,15 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players.type;
+
+public record UserLookupMetrics(
+        long lookups,
+        long batches,
+        double averageBatchSize,
+        double averageBatchLatencyMs,
+        long maxBatchLatencyMs,
+        long cacheHits,
+        int cachedUsers,
+        int cachedNonUsers) {}
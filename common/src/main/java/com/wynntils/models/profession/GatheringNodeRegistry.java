@@ -0,0 +1,125 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.profession;
+
+import com.wynntils.models.profession.type.GatheringNode;
+import com.wynntils.models.profession.type.MaterialProfile;
+import com.wynntils.utils.mc.PosUtils;
+import com.wynntils.utils.mc.type.Location;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.core.Position;
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * The gathering nodes seen in the current world, keyed by the block of their label,
+ * and bucketed by chunk column so nearby nodes can be found without looking at every node.
+ */
+final class GatheringNodeRegistry {
+    private final Map<Location, GatheringNode> nodes = new HashMap<>();
+    private final Map<Long, List<GatheringNode>> nodesByChunk = new HashMap<>();
+
+    private final long respawnMillis;
+
+    GatheringNodeRegistry(long respawnMillis) {
+        this.respawnMillis = respawnMillis;
+    }
+
+    /**
+     * Returns the node at the location, registering it if it is new. A node whose material changed
+     * (e.g. after a server update) is replaced.
+     */
+    GatheringNode register(
+            Location location,
+            MaterialProfile.MaterialType materialType,
+            MaterialProfile.SourceMaterial sourceMaterial) {
+        GatheringNode node = nodes.get(location);
+        if (node != null) {
+            if (node.getMaterialType() == materialType && node.getSourceMaterial().equals(sourceMaterial)) return node;
+
+            remove(node);
+        }
+
+        node = new GatheringNode(location, materialType, sourceMaterial, respawnMillis);
+        nodes.put(location, node);
+        nodesByChunk.computeIfAbsent(getChunkKey(location), key -> new ArrayList<>()).add(node);
+
+        return node;
+    }
+
+    GatheringNode get(Location location) {
+        return nodes.get(location);
+    }
+
+    List<GatheringNode> getNodesNear(Position position, double radius) {
+        List<GatheringNode> nearbyNodes = new ArrayList<>();
+        double radiusSqr = radius * radius;
+
+        PosUtils.forEachChunkNear(position, radius, chunkKey -> {
+            List<GatheringNode> chunkNodes = nodesByChunk.get(chunkKey);
+            if (chunkNodes == null) return;
+
+            for (GatheringNode node : chunkNodes) {
+                if (getDistanceSqr(node, position) <= radiusSqr) {
+                    nearbyNodes.add(node);
+                }
+            }
+        });
+
+        return nearbyNodes;
+    }
+
+    GatheringNode getClosestNode(Position position, double radius) {
+        GatheringNode closestNode = null;
+        double closestDistanceSqr = Double.MAX_VALUE;
+
+        for (GatheringNode node : getNodesNear(position, radius)) {
+            double distanceSqr = getDistanceSqr(node, position);
+            if (distanceSqr < closestDistanceSqr) {
+                closestNode = node;
+                closestDistanceSqr = distanceSqr;
+            }
+        }
+
+        return closestNode;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    void clear() {
+        nodes.clear();
+        nodesByChunk.clear();
+    }
+
+    private void remove(GatheringNode node) {
+        nodes.remove(node.getLocation());
+
+        long chunkKey = getChunkKey(node.getLocation());
+        List<GatheringNode> chunkNodes = nodesByChunk.get(chunkKey);
+        if (chunkNodes == null) return;
+
+        chunkNodes.remove(node);
+        if (chunkNodes.isEmpty()) {
+            nodesByChunk.remove(chunkKey);
+        }
+    }
+
+    private static double getDistanceSqr(GatheringNode node, Position position) {
+        // Compare against the center of the node's block
+        double dx = node.getLocation().x() + 0.5 - position.x();
+        double dy = node.getLocation().y() + 0.5 - position.y();
+        double dz = node.getLocation().z() + 0.5 - position.z();
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static long getChunkKey(Location location) {
+        return ChunkPos.asLong(location.x() >> 4, location.z() >> 4);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.profession;
@@ -13,16 +13,20 @@ import com.wynntils.core.persisted.storage.Storage;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
 import com.wynntils.handlers.labels.event.EntityLabelChangedEvent;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
 import com.wynntils.mc.event.ContainerSetSlotEvent;
 import com.wynntils.models.items.items.game.MaterialItem;
 import com.wynntils.models.profession.event.ProfessionNodeGatheredEvent;
 import com.wynntils.models.profession.label.GatheringNodeLabelParser;
 import com.wynntils.models.profession.label.GatheringStationLabelParser;
+import com.wynntils.models.profession.label.ProfessionGatheringNodeLabelInfo;
+import com.wynntils.models.profession.type.GatheringNode;
 import com.wynntils.models.profession.type.HarvestInfo;
 import com.wynntils.models.profession.type.ProfessionProgress;
 import com.wynntils.models.profession.type.ProfessionType;
+import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.utils.mc.LoreUtils;
-import com.wynntils.utils.mc.PosUtils;
+import com.wynntils.utils.mc.type.Location;
 import com.wynntils.utils.type.Pair;
 import com.wynntils.utils.type.TimedSet;
 import java.util.Collections;
@@ -62,6 +66,10 @@ public class ProfessionModel extends Model {
     private static final int PROFESSION_NODE_RESPAWN_TIME = 60;
     private static final int MAX_HARVEST_LABEL_AGE = 4000;
     private static final int TICKS_PER_TIMER_UPDATE = 10;
+    private static final long EXPERIENCE_LABEL_DEDUPE_TIME = TimeUnit.SECONDS.toMillis(10);
+    private static final int MAX_RECENT_EXPERIENCE_LABELS = 32;
+    // How far from a node its experience label can appear
+    private static final double NODE_SEARCH_RADIUS = 3;
 
     @Persisted
     private final Storage<Integer> professionDryStreak = new Storage<>(0);
@@ -69,7 +77,11 @@ public class ProfessionModel extends Model {
     private Pair<Long, MaterialItem> lastHarvestItemGain = Pair.of(0L, null);
     private HarvestInfo lastHarvest;
 
-    private final TimedSet<Position> gatheredNodes = new TimedSet<>(10, TimeUnit.SECONDS, true);
+    // When an experience label was last seen at each block, to avoid counting the same gain twice
+    private final Map<Location, Long> recentExperienceLabels = new HashMap<>();
+    private final GatheringNodeRegistry gatheringNodes =
+            new GatheringNodeRegistry(TimeUnit.SECONDS.toMillis(PROFESSION_NODE_RESPAWN_TIME));
+    private GatheringNode lastHarvestedNode;
     private Map<ProfessionType, ProfessionProgress> professionProgressMap = new ConcurrentHashMap<>();
     private final Map<ProfessionType, TimedSet<Float>> rawXpGainInLastMinute = new HashMap<>();
 
@@ -99,15 +111,18 @@ public class ProfessionModel extends Model {
 
         if (matcher.matches()) {
             Vec3 entityPosition = event.getEntity().position();
+            long now = System.currentTimeMillis();
 
-            if (gatheredNodes.stream()
-                    .anyMatch(position ->
-                            PosUtils.isSame(position, event.getEntity().position()))) {
+            if (!addExperienceLabel(Location.containing(entityPosition), now)) {
                 // We already recorded this XP gain, ignore it.
                 return;
             }
 
-            gatheredNodes.put(entityPosition);
+            GatheringNode node = gatheringNodes.getClosestNode(entityPosition, NODE_SEARCH_RADIUS);
+            if (node != null) {
+                node.setHarvested(now);
+                lastHarvestedNode = node;
+            }
 
             updatePercentage(
                     ProfessionType.fromString(matcher.group("name")),
@@ -128,6 +143,11 @@ public class ProfessionModel extends Model {
                 lastHarvest = new HarvestInfo(lastHarvestItemGain.a(), materialItem.getMaterialProfile());
                 lastHarvestItemGain = Pair.of(0L, null);
 
+                if (lastHarvestedNode != null
+                        && lastHarvestedNode.getLastHarvestTime() + MAX_HARVEST_LABEL_AGE >= lastHarvest.time()) {
+                    lastHarvestedNode.setLastHarvestTier(lastHarvest.materialProfile().getTier());
+                }
+
                 if (lastHarvest.materialProfile().getTier() == 3) {
                     professionDryStreak.store(0);
                 } else {
@@ -137,6 +157,22 @@ public class ProfessionModel extends Model {
         }
     }
 
+    @SubscribeEvent
+    public void onLabelIdentified(LabelIdentifiedEvent event) {
+        if (!(event.getLabelInfo() instanceof ProfessionGatheringNodeLabelInfo nodeLabelInfo)) return;
+
+        gatheringNodes.register(
+                nodeLabelInfo.getLocation(), nodeLabelInfo.getMaterialType(), nodeLabelInfo.getSourceMaterial());
+    }
+
+    @SubscribeEvent
+    public void onWorldStateChange(WorldStateEvent event) {
+        // Nodes are only known for the world we were on
+        gatheringNodes.clear();
+        recentExperienceLabels.clear();
+        lastHarvestedNode = null;
+    }
+
     @SubscribeEvent
     public void onChatMessage(ChatMessageReceivedEvent event) {
         StyledText codedMessage = event.getOriginalStyledText();
@@ -180,6 +216,25 @@ public class ProfessionModel extends Model {
         professionProgressMap = levels;
     }
 
+    /**
+     * Records an experience label at the location.
+     * @return false if one was already seen at the same place recently
+     */
+    private boolean addExperienceLabel(Location location, long now) {
+        // Labels for the same gain can be up to a block apart vertically
+        for (int dy = -1; dy <= 1; dy++) {
+            Long seenTime = recentExperienceLabels.get(location.offset(0, dy, 0));
+            if (seenTime != null && now - seenTime < EXPERIENCE_LABEL_DEDUPE_TIME) return false;
+        }
+
+        if (recentExperienceLabels.size() >= MAX_RECENT_EXPERIENCE_LABELS) {
+            recentExperienceLabels.values().removeIf(seenTime -> now - seenTime >= EXPERIENCE_LABEL_DEDUPE_TIME);
+        }
+
+        recentExperienceLabels.put(location, now);
+        return true;
+    }
+
     private void updatePercentage(ProfessionType type, float newPercentage, float xpGain) {
         ProfessionProgress oldValue = professionProgressMap.getOrDefault(type, ProfessionProgress.NO_PROGRESS);
 
@@ -216,6 +271,22 @@ public class ProfessionModel extends Model {
         return Optional.ofNullable(lastHarvest);
     }
 
+    /**
+     * Returns the known gathering nodes within the radius of the position. Nodes are remembered for as long as
+     * we stay on the same world, even after their labels are unloaded.
+     */
+    public List<GatheringNode> getGatheringNodesNear(Position position, double radius) {
+        return gatheringNodes.getNodesNear(position, radius);
+    }
+
+    public Optional<GatheringNode> getGatheringNode(Location location) {
+        return Optional.ofNullable(gatheringNodes.get(location));
+    }
+
+    public int getKnownGatheringNodeCount() {
+        return gatheringNodes.size();
+    }
+
     public Map<ProfessionType, TimedSet<Float>> getRawXpGainInLastMinute() {
         return Collections.unmodifiableMap(rawXpGainInLastMinute);
     }
@@ -9,6 +9,8 @@ import com.wynntils.handlers.labels.type.LabelParser;
 import com.wynntils.models.profession.type.MaterialProfile;
 import com.wynntils.utils.mc.type.Location;
 import com.wynntils.utils.type.Pair;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -18,6 +20,10 @@ import net.minecraft.world.entity.Entity;
 public class GatheringNodeLabelParser implements LabelParser<ProfessionGatheringNodeLabelInfo> {
     // Note: At the moment, only Dernic appends to the end of the label, but not consistently..
     private static final Pattern GATHERING_NODE_LABEL = Pattern.compile("^§(.)(.+?)(:?\\s(Fish|Seed|Ore|Wood))?$");
+    // Node labels are colored by their material type
+    private static final List<String> PREFIXES = Arrays.stream(MaterialProfile.MaterialType.values())
+            .map(materialType -> "§" + materialType.getLabelColor().getChar())
+            .toList();
 
     @Override
     public ProfessionGatheringNodeLabelInfo getInfo(StyledText label, Location location, Entity entity) {
@@ -41,4 +47,9 @@ public class GatheringNodeLabelParser implements LabelParser<ProfessionGathering
 
         return null;
     }
+
+    @Override
+    public List<String> getPrefixes() {
+        return PREFIXES;
+    }
 }
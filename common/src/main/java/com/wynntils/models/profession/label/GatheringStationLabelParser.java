@@ -8,6 +8,7 @@ import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.labels.type.LabelParser;
 import com.wynntils.models.profession.type.ProfessionType;
 import com.wynntils.utils.mc.type.Location;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.world.entity.Entity;
@@ -29,4 +30,9 @@ public class GatheringStationLabelParser implements LabelParser<ProfessionCrafti
 
         return null;
     }
+
+    @Override
+    public List<String> getPrefixes() {
+        return List.of("§f");
+    }
 }
@@ -29,6 +29,10 @@ public class ProfessionGatheringNodeLabelInfo extends ProfessionLabelInfo {
         return sourceMaterial;
     }
 
+    public MaterialProfile.MaterialType getMaterialType() {
+        return materialType;
+    }
+
     @Override
     public String toString() {
         return "ProfessionGatheringNodeLabelInfo{" + "sourceMaterial="
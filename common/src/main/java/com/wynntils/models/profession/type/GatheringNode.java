@@ -0,0 +1,93 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.profession.type;
+
+import com.wynntils.utils.mc.type.Location;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A resource node seen in the world, and when it was last harvested.
+ * A node which has never been harvested by us is assumed to be ready.
+ */
+public class GatheringNode {
+    private final Location location;
+    private final MaterialProfile.MaterialType materialType;
+    private final MaterialProfile.SourceMaterial sourceMaterial;
+    private final long respawnMillis;
+
+    // The tier of the material we got from the last harvest, or 0 if unknown
+    private int lastHarvestTier = 0;
+    private long lastHarvestTime = 0;
+
+    public GatheringNode(
+            Location location,
+            MaterialProfile.MaterialType materialType,
+            MaterialProfile.SourceMaterial sourceMaterial,
+            long respawnMillis) {
+        this.location = location;
+        this.materialType = materialType;
+        this.sourceMaterial = sourceMaterial;
+        this.respawnMillis = respawnMillis;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public MaterialProfile.MaterialType getMaterialType() {
+        return materialType;
+    }
+
+    public MaterialProfile.SourceMaterial getSourceMaterial() {
+        return sourceMaterial;
+    }
+
+    public ProfessionType getProfessionType() {
+        return materialType.getProfessionType();
+    }
+
+    public int getLastHarvestTier() {
+        return lastHarvestTier;
+    }
+
+    public long getLastHarvestTime() {
+        return lastHarvestTime;
+    }
+
+    public boolean isReady() {
+        return getMillisUntilReady() == 0;
+    }
+
+    /**
+     * @return the number of whole seconds until the node has respawned, rounded up, or 0 if it is ready
+     */
+    public int getSecondsUntilReady() {
+        return (int) TimeUnit.MILLISECONDS.toSeconds(getMillisUntilReady() + 999);
+    }
+
+    public long getMillisUntilReady() {
+        if (lastHarvestTime == 0) return 0;
+
+        return Math.max(0, lastHarvestTime + respawnMillis - System.currentTimeMillis());
+    }
+
+    public void setHarvested(long time) {
+        this.lastHarvestTime = time;
+    }
+
+    public void setLastHarvestTier(int tier) {
+        this.lastHarvestTier = tier;
+    }
+
+    @Override
+    public String toString() {
+        return "GatheringNode{" + "location="
+                + location + ", materialType="
+                + materialType + ", sourceMaterial="
+                + sourceMaterial + ", lastHarvestTier="
+                + lastHarvestTier + ", lastHarvestTime="
+                + lastHarvestTime + '}';
+    }
+}
@@ -39,10 +39,6 @@ public class CharmInfoRegistry {
     private List<CharmInfo> charmInfoRegistry = List.of();
     private Map<String, CharmInfo> charmInfoLookup = Map.of();
 
-    public CharmInfoRegistry() {
-        reloadData();
-    }
-
     public void reloadData() {
         loadCharmInfoRegistry();
     }
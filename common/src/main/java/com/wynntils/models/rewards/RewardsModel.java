@@ -44,6 +44,11 @@ public class RewardsModel extends Model {
         charmInfoRegistry.reloadData();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     @SubscribeEvent
     public void onDataLoaded(NetResultProcessedEvent.ForUrlId event) {
         UrlId urlId = event.getUrlId();
@@ -41,10 +41,6 @@ public class TomeInfoRegistry {
     private List<TomeInfo> tomeInfoRegistry = List.of();
     private Map<String, TomeInfo> tomeInfoLookup = Map.of();
 
-    public TomeInfoRegistry() {
-        reloadData();
-    }
-
     public void reloadData() {
         loadTomeInfoRegistry();
     }
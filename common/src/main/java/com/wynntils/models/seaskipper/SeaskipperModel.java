@@ -40,8 +40,6 @@ public final class SeaskipperModel extends Model {
 
     public SeaskipperModel() {
         super(List.of());
-
-        reloadData();
     }
 
     @Override
@@ -49,6 +47,11 @@ public final class SeaskipperModel extends Model {
         loadSeaskipperPois();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     @SubscribeEvent
     public void onScreenInit(ScreenInitEvent e) {
         if (!(Models.Container.getCurrentContainer() instanceof SeaskipperContainer seaskipperContainer)) return;
@@ -30,7 +30,6 @@ public class ShinyModel extends Model {
 
     public ShinyModel() {
         super(List.of());
-        reloadData();
     }
 
     @Override
@@ -38,6 +37,11 @@ public class ShinyModel extends Model {
         loadShinyStatTypes();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     private void loadShinyStatTypes() {
         Download dl = Managers.Net.download(UrlId.DATA_STATIC_SHINY_STATS);
         dl.handleReader(reader -> {
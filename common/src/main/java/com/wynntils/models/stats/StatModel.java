@@ -62,8 +62,6 @@ public final class StatModel extends Model {
 
         // Finally create ordered lists for sorting
         orderingLists = StatListOrderer.createOrderingMap(skillStats, miscStats, defenceStats, damageStats, spellStats);
-
-        reloadData();
     }
 
     @Override
@@ -71,6 +69,11 @@ public final class StatModel extends Model {
         loadIdentificationKeys();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     public StatActualValue buildActualValue(
             StatType statType, int value, int stars, StatPossibleValues possibleValues) {
         RangedValue internalRoll = possibleValues != null
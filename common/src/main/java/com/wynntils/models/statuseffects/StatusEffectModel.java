@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.statuseffects;
@@ -11,8 +11,10 @@ import com.wynntils.mc.event.PlayerInfoFooterChangedEvent;
 import com.wynntils.models.statuseffects.event.StatusEffectsChangedEvent;
 import com.wynntils.models.statuseffects.type.StatusEffect;
 import com.wynntils.models.worlds.event.WorldStateEvent;
+import com.wynntils.utils.type.BoundedCache;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.ChatFormatting;
@@ -48,8 +50,15 @@ public final class StatusEffectModel extends Model {
             "(?<prefix>.+?)§7\\s?(?<modifier>(\\-|\\+)?([\\-\\.\\d]+))?(?<modifierSuffix>((\\/\\d+s)|%)?)?\\s?(?<name>\\+?['a-zA-Z\\/\\s]+?)\\s(?<timer>§[84a]\\((.+?)\\))");
 
     private static final StyledText STATUS_EFFECTS_TITLE = StyledText.fromString("§d§lStatus Effects");
+    private static final String TIMER_COLORS = "84a";
+    private static final int MAX_CACHED_EFFECTS = 128;
+
+    // Parsed effects by their text without the timer, which is the only part changing between footers
+    private final BoundedCache<String, Optional<EffectParts>> parsedEffects = new BoundedCache<>(MAX_CACHED_EFFECTS);
 
     private List<StatusEffect> statusEffects = List.of();
+    // The timer-less text of each effect in statusEffects, in the same order
+    private List<String> statusEffectKeys = List.of();
 
     public StatusEffectModel() {
         super(List.of());
@@ -62,7 +71,8 @@ public final class StatusEffectModel extends Model {
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onWorldStateChanged(WorldStateEvent e) {
         statusEffects = List.of();
-        WynntilsMod.postEvent(new StatusEffectsChangedEvent());
+        statusEffectKeys = List.of();
+        WynntilsMod.postEvent(new StatusEffectsChangedEvent(false));
     }
 
     @SubscribeEvent
@@ -72,28 +82,101 @@ public final class StatusEffectModel extends Model {
         if (footer.isEmpty()) {
             if (!statusEffects.isEmpty()) {
                 statusEffects = List.of(); // No timers, get rid of them
-                WynntilsMod.postEvent(new StatusEffectsChangedEvent());
+                statusEffectKeys = List.of();
+                WynntilsMod.postEvent(new StatusEffectsChangedEvent(false));
             }
             return;
         }
 
         if (!footer.startsWith(STATUS_EFFECTS_TITLE)) return;
 
-        List<StatusEffect> newStatusEffects = new ArrayList<>();
+        List<String> newKeys = new ArrayList<>();
+        List<EffectParts> newParts = new ArrayList<>();
+        List<String> newTimers = new ArrayList<>();
 
         StyledText[] effects = footer.split("\\s{2}"); // Effects are split up by 2 spaces
         for (StyledText effect : effects) {
-            StyledText trimmedEffect = effect.trim();
-            if (trimmedEffect.isEmpty()) continue;
+            String effectString = effect.trim().getString();
+            if (effectString.isEmpty()) continue;
+
+            int timerStart = getTimerStart(effectString);
+            if (timerStart == -1) {
+                // Not the usual layout, so the text can't be split from the timer; parse it every time
+                Matcher m = STATUS_EFFECT_PATTERN.matcher(effectString);
+                if (!m.find()) continue;
+
+                newKeys.add(effectString);
+                newParts.add(EffectParts.fromMatcher(m));
+                newTimers.add(m.group("timer").trim());
+                continue;
+            }
+
+            String key = effectString.substring(0, timerStart);
+            Optional<EffectParts> parts = parsedEffects.get(key, k -> parseEffect(effectString));
+            if (parts.isEmpty()) continue;
 
-            Matcher m = trimmedEffect.getMatcher(STATUS_EFFECT_PATTERN);
-            if (!m.find()) continue;
+            newKeys.add(key);
+            newParts.add(parts.get());
+            newTimers.add(effectString.substring(timerStart).trim());
+        }
+
+        if (newKeys.equals(statusEffectKeys)) {
+            // The same effects are still active, only update the timers that changed
+            boolean timersChanged = false;
+            for (int i = 0; i < statusEffects.size(); i++) {
+                StatusEffect statusEffect = statusEffects.get(i);
+                if (statusEffect.getDisplayedTime().getString().equals(newTimers.get(i))) continue;
+
+                statusEffect.setDisplayedTime(StyledText.fromString(newTimers.get(i)));
+                timersChanged = true;
+            }
+
+            if (timersChanged) {
+                WynntilsMod.postEvent(new StatusEffectsChangedEvent(true));
+            }
+            return;
+        }
+
+        List<StatusEffect> newStatusEffects = new ArrayList<>();
+        for (int i = 0; i < newParts.size(); i++) {
+            newStatusEffects.add(newParts.get(i).toStatusEffect(StyledText.fromString(newTimers.get(i))));
+        }
 
+        statusEffects = newStatusEffects;
+        statusEffectKeys = newKeys;
+        WynntilsMod.postEvent(new StatusEffectsChangedEvent(false));
+    }
+
+    /**
+     * Returns where the timer (e.g. "§8(01:23)") starts in a trimmed effect string, or -1 if it does not end
+     * with one.
+     */
+    private static int getTimerStart(String effectString) {
+        if (!effectString.endsWith(")")) return -1;
+
+        int timerStart = effectString.lastIndexOf('(') - 2;
+        if (timerStart < 0
+                || effectString.charAt(timerStart) != '§'
+                || TIMER_COLORS.indexOf(effectString.charAt(timerStart + 1)) == -1) {
+            return -1;
+        }
+
+        return timerStart;
+    }
+
+    private static Optional<EffectParts> parseEffect(String effectString) {
+        Matcher m = STATUS_EFFECT_PATTERN.matcher(effectString);
+        if (!m.find()) return Optional.empty();
+
+        return Optional.of(EffectParts.fromMatcher(m));
+    }
+
+    private record EffectParts(StyledText name, StyledText modifier, StyledText modifierSuffix, StyledText prefix) {
+        private static EffectParts fromMatcher(Matcher m) {
             String color = ChatFormatting.GRAY.toString();
 
             StyledText prefix = StyledText.fromString(m.group("prefix").trim());
             StyledText name = StyledText.fromString(color + m.group("name").trim());
-            StyledText displayedTime = StyledText.fromString(m.group("timer").trim());
 
             String modifierGroup = m.group("modifier");
             StyledText modifier =
@@ -104,10 +187,11 @@ public final class StatusEffectModel extends Model {
                     ? StyledText.EMPTY
                     : StyledText.fromString(color + modifierSuffixGroup.trim());
 
-            newStatusEffects.add(new StatusEffect(name, modifier, modifierSuffix, displayedTime, prefix));
+            return new EffectParts(name, modifier, modifierSuffix, prefix);
         }
 
-        statusEffects = newStatusEffects;
-        WynntilsMod.postEvent(new StatusEffectsChangedEvent());
+        private StatusEffect toStatusEffect(StyledText displayedTime) {
+            return new StatusEffect(name, modifier, modifierSuffix, displayedTime, prefix);
+        }
     }
 }
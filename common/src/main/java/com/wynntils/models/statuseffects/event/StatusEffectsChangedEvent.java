@@ -1,9 +1,22 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.statuseffects.event;
 
 import net.minecraftforge.eventbus.api.Event;
 
-public class StatusEffectsChangedEvent extends Event {}
+public class StatusEffectsChangedEvent extends Event {
+    private final boolean timersOnly;
+
+    public StatusEffectsChangedEvent(boolean timersOnly) {
+        this.timersOnly = timersOnly;
+    }
+
+    /**
+     * @return true if the same effects are still active and only their displayed times changed
+     */
+    public boolean isTimersOnly() {
+        return timersOnly;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.statuseffects.type;
@@ -8,7 +8,7 @@ import com.google.common.collect.ComparisonChain;
 import com.wynntils.core.text.StyledText;
 
 public class StatusEffect implements Comparable<StatusEffect> {
-    private final StyledText fullName;
+    private StyledText fullName;
     private final StyledText name; // The name of the consumable (also used to identify it)
     private final StyledText modifier; // The modifier of the consumable (+100, 23 etc.)
     private final StyledText modifierSuffix; // The suffix of the modifier (/3s, %)
@@ -28,15 +28,7 @@ public class StatusEffect implements Comparable<StatusEffect> {
         this.modifier = modifier;
         this.modifierSuffix = modifierSuffix;
 
-        this.fullName = StyledText.concat(
-                prefix,
-                StyledText.fromString(" "),
-                modifier,
-                modifierSuffix,
-                StyledText.fromString(" "),
-                name,
-                StyledText.fromString(" "),
-                displayedTime);
+        this.fullName = buildFullName();
         this.modifierValue =
                 modifier != StyledText.EMPTY ? Double.parseDouble(modifier.getStringWithoutFormatting()) : null;
     }
@@ -67,6 +59,7 @@ public class StatusEffect implements Comparable<StatusEffect> {
      */
     public void setDisplayedTime(StyledText displayedTime) {
         this.displayedTime = displayedTime;
+        this.fullName = buildFullName();
     }
 
     /**
@@ -81,6 +74,7 @@ public class StatusEffect implements Comparable<StatusEffect> {
      */
     public void setPrefix(StyledText prefix) {
         this.prefix = prefix;
+        this.fullName = buildFullName();
     }
 
     public StyledText asString() {
@@ -107,4 +101,16 @@ public class StatusEffect implements Comparable<StatusEffect> {
                 .compare(this.getModifier().getString(), effect.getModifier().getString())
                 .result();
     }
+
+    private StyledText buildFullName() {
+        return StyledText.concat(
+                prefix,
+                StyledText.fromString(" "),
+                modifier,
+                modifierSuffix,
+                StyledText.fromString(" "),
+                name,
+                StyledText.fromString(" "),
+                displayedTime);
+    }
 }
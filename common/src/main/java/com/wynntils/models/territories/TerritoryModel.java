@@ -17,24 +17,27 @@ import com.wynntils.core.net.UrlId;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.mc.event.AdvancementUpdateEvent;
 import com.wynntils.models.items.items.gui.TerritoryItem;
+import com.wynntils.models.territories.event.TerritoryProfileChangedEvent;
 import com.wynntils.models.territories.profile.TerritoryProfile;
 import com.wynntils.models.territories.type.TerritoryConnectionType;
+import com.wynntils.models.territories.type.TerritoryTradingRoute;
+import com.wynntils.models.worlds.event.WorldStateEvent;
+import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.screens.territorymanagement.TerritoryManagementHolder;
 import com.wynntils.services.map.pois.TerritoryPoi;
 import com.wynntils.services.map.type.TerritoryDefenseFilterType;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -54,25 +57,29 @@ public final class TerritoryModel extends Model {
     // This is territory POIs as returned by the advancement from Wynncraft
     private final Map<String, TerritoryPoi> territoryPoiMap = new ConcurrentHashMap<>();
 
+    // Deduplicated trading routes between the advancement territories, rebuilt when they change
+    private List<TerritoryTradingRoute> tradingRoutes = List.of();
+
     // This is the profiles as downloaded from Athena
-    private Map<String, TerritoryProfile> territoryProfileMap = new HashMap<>();
+    private volatile TerritoryProfileIndex territoryProfileIndex = TerritoryProfileIndex.EMPTY;
+
+    // The raw territory json of the last update, to only deserialize the territories that changed
+    private Map<String, JsonObject> territoryJsonMap = Map.of();
 
-    // This is just a cache of TerritoryPois created for all territoryProfileMap values
-    private Set<TerritoryPoi> allTerritoryPois = new HashSet<>();
+    // This is just a cache of TerritoryPois created for all territory profiles
+    private Map<String, TerritoryPoi> territoryProfilePoiMap = Map.of();
+    private Set<TerritoryPoi> allTerritoryPois = Set.of();
 
-    private final ScheduledExecutorService timerExecutor = new ScheduledThreadPoolExecutor(1);
+    private ScheduledFuture<?> updateTask;
 
     public TerritoryModel() {
         super(List.of());
 
         Handlers.WrappedScreen.registerWrappedScreen(new TerritoryManagementHolder());
-
-        timerExecutor.scheduleWithFixedDelay(
-                this::updateTerritoryProfileMap, 0, TERRITORY_UPDATE_MS, TimeUnit.MILLISECONDS);
     }
 
     public TerritoryProfile getTerritoryProfile(String name) {
-        return territoryProfileMap.get(name);
+        return territoryProfileIndex.get(name);
     }
 
     /**
@@ -83,15 +90,11 @@ public final class TerritoryModel extends Model {
      * @return The territory profile, or null if not found
      */
     public TerritoryProfile getTerritoryProfileFromShortName(String shortName, Collection<String> excludedTerritories) {
-        return territoryProfileMap.values().stream()
-                .filter(profile -> excludedTerritories.stream().noneMatch(ex -> ex.equals(profile.getName())))
-                .filter(profile -> profile.getName().startsWith(shortName))
-                .min(Comparator.comparing(TerritoryProfile::getName))
-                .orElse(null);
+        return territoryProfileIndex.getFromShortName(shortName, excludedTerritories);
     }
 
     public Stream<String> getTerritoryNames() {
-        return territoryProfileMap.keySet().stream();
+        return territoryProfileIndex.getProfiles().keySet().stream();
     }
 
     public Set<TerritoryPoi> getTerritoryPois() {
@@ -121,11 +124,29 @@ public final class TerritoryModel extends Model {
         return territoryPoiMap.get(name);
     }
 
+    /**
+     * @return all trading routes between territories, with each route listed once
+     */
+    public List<TerritoryTradingRoute> getTradingRoutes() {
+        return tradingRoutes;
+    }
+
     public TerritoryProfile getTerritoryProfileForPosition(Position position) {
-        return territoryProfileMap.values().stream()
-                .filter(profile -> profile.insideArea(position))
-                .findFirst()
-                .orElse(null);
+        return territoryProfileIndex.getAtPosition(position);
+    }
+
+    @SubscribeEvent
+    public void onWorldStateChange(WorldStateEvent event) {
+        // Territories are only polled while connected
+        if (event.getNewState() == WorldState.NOT_CONNECTED) {
+            if (updateTask != null) {
+                updateTask.cancel(false);
+                updateTask = null;
+            }
+        } else if (updateTask == null) {
+            updateTask = Managers.Scheduler.scheduleAsyncWithFixedDelay(
+                    this::updateTerritoryProfileMap, 0, TERRITORY_UPDATE_MS, TimeUnit.MILLISECONDS);
+        }
     }
 
     @SubscribeEvent
@@ -170,6 +191,22 @@ public final class TerritoryModel extends Model {
             territoryPoiMap.put(
                     entry.getKey(), new TerritoryPoi(() -> getTerritoryProfile(entry.getKey()), entry.getValue()));
         }
+
+        if (!tempMap.isEmpty()) {
+            updateTradingRoutes();
+        }
+    }
+
+    private void updateTradingRoutes() {
+        // Wynn usually lists a route on both territories, but sometimes only on one of them
+        Set<TerritoryTradingRoute> routes = new LinkedHashSet<>();
+        for (Map.Entry<String, TerritoryPoi> entry : territoryPoiMap.entrySet()) {
+            for (String tradingRoute : entry.getValue().getTerritoryInfo().getTradingRoutes()) {
+                routes.add(TerritoryTradingRoute.of(entry.getKey(), tradingRoute));
+            }
+        }
+
+        tradingRoutes = List.copyOf(routes);
     }
 
     public Map<TerritoryItem, TerritoryConnectionType> getTerritoryConnections(List<TerritoryItem> territoryItems) {
@@ -231,25 +268,64 @@ public final class TerritoryModel extends Model {
     private void updateTerritoryProfileMap() {
         Download dl = Managers.Net.download(UrlId.DATA_WYNNCRAFT_TERRITORY_LIST);
         dl.handleJsonObject(
-                json -> {
-                    Map<String, TerritoryProfile> tempMap = new HashMap<>();
-                    for (Map.Entry<String, JsonElement> entry :
-                            json.getAsJsonObject().entrySet()) {
-                        JsonObject territoryObject = entry.getValue().getAsJsonObject();
-
-                        // Inject back the name for the deserializer
-                        territoryObject.addProperty("name", entry.getKey());
-
-                        TerritoryProfile territoryProfile =
-                                TERRITORY_PROFILE_GSON.fromJson(territoryObject, TerritoryProfile.class);
-                        tempMap.put(entry.getKey(), territoryProfile);
-                    }
+                this::updateTerritoryProfiles, onError -> WynntilsMod.warn("Failed to update territory data."));
+    }
+
+    private void updateTerritoryProfiles(JsonObject json) {
+        TerritoryProfileIndex oldIndex = territoryProfileIndex;
+
+        Map<String, JsonObject> newJsonMap = new HashMap<>();
+        Map<String, TerritoryProfile> newProfileMap = new HashMap<>();
+        List<TerritoryProfileChangedEvent> events = new ArrayList<>();
+        boolean changed = json.size() != territoryJsonMap.size();
+
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            String territoryName = entry.getKey();
+            JsonObject territoryObject = entry.getValue().getAsJsonObject();
+
+            // Inject back the name for the deserializer
+            territoryObject.addProperty("name", territoryName);
+            newJsonMap.put(territoryName, territoryObject);
+
+            // Most territories are unchanged between updates, keep their profiles as they are
+            TerritoryProfile oldProfile = oldIndex.get(territoryName);
+            if (oldProfile != null && territoryObject.equals(territoryJsonMap.get(territoryName))) {
+                newProfileMap.put(territoryName, oldProfile);
+                continue;
+            }
+
+            changed = true;
+            TerritoryProfile newProfile = TERRITORY_PROFILE_GSON.fromJson(territoryObject, TerritoryProfile.class);
+            newProfileMap.put(territoryName, newProfile);
+
+            // New territories, including all territories on the first update, have nothing to compare to
+            if (oldProfile == null) continue;
+
+            if (!newProfile.getGuildInfo().equals(oldProfile.getGuildInfo())) {
+                events.add(new TerritoryProfileChangedEvent.OwnerChanged(oldProfile, newProfile));
+            }
+            if (!newProfile.getAcquired().equals(oldProfile.getAcquired())) {
+                events.add(new TerritoryProfileChangedEvent.Acquired(oldProfile, newProfile));
+            }
+        }
+
+        territoryJsonMap = newJsonMap;
+
+        // Keep the current objects, so caches keyed on them stay valid
+        if (!changed) return;
+
+        Map<String, TerritoryPoi> newPoiMap = new HashMap<>();
+        for (TerritoryProfile profile : newProfileMap.values()) {
+            TerritoryPoi oldPoi = territoryProfilePoiMap.get(profile.getName());
+            newPoiMap.put(
+                    profile.getName(),
+                    oldPoi != null && oldPoi.getTerritoryProfile() == profile ? oldPoi : new TerritoryPoi(profile));
+        }
+
+        territoryProfileIndex = new TerritoryProfileIndex(newProfileMap);
+        territoryProfilePoiMap = newPoiMap;
+        allTerritoryPois = Set.copyOf(newPoiMap.values());
 
-                    territoryProfileMap = tempMap;
-                    allTerritoryPois = territoryProfileMap.values().stream()
-                            .map(TerritoryPoi::new)
-                            .collect(Collectors.toSet());
-                },
-                onError -> WynntilsMod.warn("Failed to update territory data."));
+        events.forEach(WynntilsMod::postEventOnMainThread);
     }
 }
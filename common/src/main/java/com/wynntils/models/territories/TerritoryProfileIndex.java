@@ -0,0 +1,91 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.territories;
+
+import com.wynntils.models.territories.profile.TerritoryProfile;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import net.minecraft.core.Position;
+import net.minecraft.util.Mth;
+
+/**
+ * An immutable snapshot of the territory profiles, indexed for lookups by name, name prefix and position.
+ */
+final class TerritoryProfileIndex {
+    static final TerritoryProfileIndex EMPTY = new TerritoryProfileIndex(Map.of());
+
+    // Territories are a few hundred blocks wide, so a cell overlaps only a handful of them
+    private static final int CELL_SIZE = 128;
+
+    private final Map<String, TerritoryProfile> profiles;
+    private final NavigableMap<String, TerritoryProfile> profilesByName;
+    private final Map<Long, List<TerritoryProfile>> profilesByCell = new HashMap<>();
+
+    TerritoryProfileIndex(Map<String, TerritoryProfile> profiles) {
+        this.profiles = Map.copyOf(profiles);
+        this.profilesByName = new TreeMap<>(profiles);
+
+        for (TerritoryProfile profile : profiles.values()) {
+            int startCellX = Math.floorDiv(profile.getStartX(), CELL_SIZE);
+            int endCellX = Math.floorDiv(profile.getEndX(), CELL_SIZE);
+            int startCellZ = Math.floorDiv(profile.getStartZ(), CELL_SIZE);
+            int endCellZ = Math.floorDiv(profile.getEndZ(), CELL_SIZE);
+
+            for (int cellX = startCellX; cellX <= endCellX; cellX++) {
+                for (int cellZ = startCellZ; cellZ <= endCellZ; cellZ++) {
+                    profilesByCell
+                            .computeIfAbsent(getCellKey(cellX, cellZ), k -> new ArrayList<>(2))
+                            .add(profile);
+                }
+            }
+        }
+    }
+
+    Map<String, TerritoryProfile> getProfiles() {
+        return profiles;
+    }
+
+    TerritoryProfile get(String name) {
+        return profiles.get(name);
+    }
+
+    /**
+     * @return the alphabetically first territory whose name starts with the short name, and is not excluded
+     */
+    TerritoryProfile getFromShortName(String shortName, Collection<String> excludedTerritories) {
+        // All names with the prefix are consecutive in the sorted map, starting at the prefix itself
+        for (Map.Entry<String, TerritoryProfile> entry : profilesByName.tailMap(shortName, true).entrySet()) {
+            if (!entry.getKey().startsWith(shortName)) return null;
+            if (excludedTerritories.contains(entry.getKey())) continue;
+
+            return entry.getValue();
+        }
+
+        return null;
+    }
+
+    TerritoryProfile getAtPosition(Position position) {
+        int cellX = Math.floorDiv(Mth.floor(position.x()), CELL_SIZE);
+        int cellZ = Math.floorDiv(Mth.floor(position.z()), CELL_SIZE);
+
+        List<TerritoryProfile> candidates = profilesByCell.get(getCellKey(cellX, cellZ));
+        if (candidates == null) return null;
+
+        for (TerritoryProfile profile : candidates) {
+            if (profile.insideArea(position)) return profile;
+        }
+
+        return null;
+    }
+
+    private static long getCellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.territories.event;
+
+import com.wynntils.models.territories.profile.TerritoryProfile;
+import net.minecraftforge.eventbus.api.Event;
+
+/**
+ * Fired on the main thread when a territory differs from the previous territory list update.
+ * Territories that did not change do not fire any events.
+ */
+public abstract class TerritoryProfileChangedEvent extends Event {
+    private final TerritoryProfile oldProfile;
+    private final TerritoryProfile newProfile;
+
+    protected TerritoryProfileChangedEvent(TerritoryProfile oldProfile, TerritoryProfile newProfile) {
+        this.oldProfile = oldProfile;
+        this.newProfile = newProfile;
+    }
+
+    public String getTerritoryName() {
+        return newProfile.getName();
+    }
+
+    public TerritoryProfile getOldProfile() {
+        return oldProfile;
+    }
+
+    public TerritoryProfile getNewProfile() {
+        return newProfile;
+    }
+
+    /**
+     * Fired when a territory was taken by another guild.
+     */
+    public static class OwnerChanged extends TerritoryProfileChangedEvent {
+        public OwnerChanged(TerritoryProfile oldProfile, TerritoryProfile newProfile) {
+            super(oldProfile, newProfile);
+        }
+    }
+
+    /**
+     * Fired when a territory was acquired again, by any guild. This is also fired alongside {@link OwnerChanged}.
+     */
+    public static class Acquired extends TerritoryProfileChangedEvent {
+        public Acquired(TerritoryProfile oldProfile, TerritoryProfile newProfile) {
+            super(oldProfile, newProfile);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.territories.type;
+
+/**
+ * An undirected trading route between two territories.
+ * The territory names are stored in natural order, so a route is equal regardless of which side listed it.
+ */
+public record TerritoryTradingRoute(String first, String second) {
+    public static TerritoryTradingRoute of(String territory, String otherTerritory) {
+        return territory.compareTo(otherTerritory) <= 0
+                ? new TerritoryTradingRoute(territory, otherTerritory)
+                : new TerritoryTradingRoute(otherTerritory, territory);
+    }
+}
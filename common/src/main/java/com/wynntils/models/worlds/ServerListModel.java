@@ -20,8 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
@@ -30,14 +29,12 @@ public final class ServerListModel extends Model {
 
     private static final List<String> SERVER_TYPES = List.of("WC", "lobby", "GM", "DEV", "WAR", "HB", "YT");
 
-    private final ScheduledExecutorService timerExecutor = new ScheduledThreadPoolExecutor(1);
-
     private Map<String, ServerProfile> availableServers = new HashMap<>();
 
+    private ScheduledFuture<?> updateTask;
+
     public ServerListModel() {
         super(List.of());
-
-        timerExecutor.scheduleWithFixedDelay(this::updateServerList, 0, SERVER_UPDATE_MS, TimeUnit.MILLISECONDS);
     }
 
     public List<String> getWynnServerTypes() {
@@ -78,6 +75,22 @@ public final class ServerListModel extends Model {
 
     @SubscribeEvent
     public void onWorldStateChange(WorldStateEvent event) {
+        // The server list is only polled while connected
+        if (event.getNewState() == WorldState.NOT_CONNECTED) {
+            if (updateTask != null) {
+                updateTask.cancel(false);
+                updateTask = null;
+            }
+            return;
+        }
+
+        if (updateTask == null) {
+            // The first update runs right away
+            updateTask = Managers.Scheduler.scheduleAsyncWithFixedDelay(
+                    this::updateServerList, 0, SERVER_UPDATE_MS, TimeUnit.MILLISECONDS);
+            return;
+        }
+
         if (event.getNewState() != WorldState.HUB && event.getNewState() != WorldState.CONNECTING) return;
 
         updateServerList();
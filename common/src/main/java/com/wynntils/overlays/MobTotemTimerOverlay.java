@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.overlays;
@@ -46,9 +46,7 @@ public class MobTotemTimerOverlay extends TextOverlay {
     @Override
     protected StyledText[] calculateTemplateValue(String template) {
         return Arrays.stream(super.calculateTemplateValue(template))
-                .map(s -> RenderedStringUtils.trySplitOptimally(s, this.getWidth()))
-                .map(s -> s.split("\n"))
-                .flatMap(Arrays::stream)
+                .flatMap(s -> RenderedStringUtils.trySplitOptimally(s, this.getWidth()).stream())
                 .toArray(StyledText[]::new);
     }
 }
@@ -44,6 +44,7 @@ public class StatusEffectsOverlay extends Overlay {
     @Persisted
     public final Config<Boolean> sortEffects = new Config<>(true);
 
+    private List<RenderedStatusEffect> renderedEffects = List.of();
     private List<TextRenderTask> renderCache = List.of();
     private TextRenderSetting textRenderSetting;
 
@@ -62,6 +63,13 @@ public class StatusEffectsOverlay extends Overlay {
 
     @SubscribeEvent
     public void onStatusChange(StatusEffectsChangedEvent event) {
+        // Stacked effects are keyed by their displayed time, so a timer change can regroup them
+        if (event.isTimersOnly() && stackingBehaviour.get() == StackingBehaviour.NONE) {
+            // The effects are updated in place and their order does not depend on the timers
+            updateRenderCacheTexts();
+            return;
+        }
+
         recalculateRenderCache();
     }
 
@@ -80,7 +88,12 @@ public class StatusEffectsOverlay extends Overlay {
             effectWithProperties = effectWithProperties.sorted(Comparator.comparing(e -> e.effect));
         }
 
-        renderCache = effectWithProperties
+        renderedEffects = effectWithProperties.toList();
+        updateRenderCacheTexts();
+    }
+
+    private void updateRenderCacheTexts() {
+        renderCache = renderedEffects.stream()
                 .map(statusTimer -> new TextRenderTask(statusTimer.getRenderedText(), getTextRenderSetting()))
                 .toList();
     }
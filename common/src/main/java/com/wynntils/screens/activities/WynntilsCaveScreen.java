@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.screens.activities;
@@ -105,7 +105,7 @@ public final class WynntilsCaveScreen extends WynntilsListScreen<CaveInfo, CaveB
 
     @Override
     protected void doInit() {
-        Models.Cave.reloadCaves();
+        Models.Cave.refreshCaves();
 
         super.doInit();
 
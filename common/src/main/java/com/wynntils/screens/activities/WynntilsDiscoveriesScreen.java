@@ -95,7 +95,7 @@ public final class WynntilsDiscoveriesScreen extends WynntilsListScreen<Discover
 
     @Override
     protected void doInit() {
-        Models.Discovery.reloadDiscoveries(isShowingSecrets(), isShowingWorld(), isShowingTerritory());
+        Models.Discovery.refreshDiscoveries(isShowingSecrets(), isShowingWorld(), isShowingTerritory());
 
         super.doInit();
 
@@ -121,7 +121,7 @@ public final class WynntilsDiscoveriesScreen extends WynntilsListScreen<Discover
 
                     // Scan territories, if it's the first time we're showing them
                     if (territorySelected.get()) {
-                        Models.Discovery.reloadDiscoveries(false, false, true);
+                        Models.Discovery.refreshDiscoveries(false, false, true);
                     }
                 },
                 this::isShowingTerritory));
@@ -145,7 +145,7 @@ public final class WynntilsDiscoveriesScreen extends WynntilsListScreen<Discover
 
                     // Scan world discoveries, if it's the first time we're showing them
                     if (worldSelected.get()) {
-                        Models.Discovery.reloadDiscoveries(false, true, false);
+                        Models.Discovery.refreshDiscoveries(false, true, false);
                     }
                 },
                 this::isShowingWorld));
@@ -169,7 +169,7 @@ public final class WynntilsDiscoveriesScreen extends WynntilsListScreen<Discover
 
                     // Scan secret discoveries, if it's the first time we're showing them
                     if (secretsSelected.get()) {
-                        Models.Discovery.reloadDiscoveries(true, false, false);
+                        Models.Discovery.refreshDiscoveries(true, false, false);
                     }
                 },
                 this::isShowingSecrets));
@@ -100,7 +100,7 @@ public final class WynntilsQuestBookScreen extends WynntilsListScreen<QuestInfo,
     @Override
     protected void doInit() {
         if (firstInit) {
-            Models.Quest.rescanQuestBook(isShowingQuests(), isShowingMiniQuests());
+            Models.Quest.refreshQuestBook(isShowingQuests(), isShowingMiniQuests());
         }
 
         firstInit = false;
@@ -136,7 +136,7 @@ public final class WynntilsQuestBookScreen extends WynntilsListScreen<QuestInfo,
 
                     // Scan quests, if it's the first time we're showing them
                     if (questsSelected.get()) {
-                        Models.Quest.rescanQuestBook(true, false);
+                        Models.Quest.refreshQuestBook(true, false);
                     }
                 },
                 this::isShowingQuests));
@@ -160,7 +160,7 @@ public final class WynntilsQuestBookScreen extends WynntilsListScreen<QuestInfo,
 
                     // Scan mini quests, if it's the first time we're showing them
                     if (miniQuestsSelected.get()) {
-                        Models.Quest.rescanQuestBook(false, true);
+                        Models.Quest.refreshQuestBook(false, true);
                     }
                 },
                 this::isShowingMiniQuests));
@@ -8,7 +8,6 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.text.StyledText;
-import com.wynntils.models.items.FakeItemStack;
 import com.wynntils.models.items.WynnItem;
 import com.wynntils.screens.base.TextboxScreen;
 import com.wynntils.screens.base.WynntilsContainerScreen;
@@ -493,10 +492,7 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
 
             SavedItem savedItem = savedItems.get(i);
 
-            ItemStack itemStack = savedItem.itemStack();
-
-            itemStack = new FakeItemStack(
-                    savedItem.wynnItem(), itemStack, "From " + McUtils.playerName() + "'s Item Record");
+            ItemStack itemStack = savedItem.fakeItemStack("From " + McUtils.playerName() + "'s Item Record");
 
             for (Pair<String, String> selectedItem : selectedItems) {
                 if (selectedItem.a().equals(currentCategory) && selectedItem.b().equals(savedItem.base64())) {
@@ -15,6 +15,7 @@ import com.wynntils.models.territories.TerritoryInfo;
 import com.wynntils.models.territories.profile.TerritoryProfile;
 import com.wynntils.models.territories.type.GuildResource;
 import com.wynntils.models.territories.type.GuildResourceValues;
+import com.wynntils.models.territories.type.TerritoryTradingRoute;
 import com.wynntils.screens.base.widgets.BasicTexturedButton;
 import com.wynntils.services.map.pois.Poi;
 import com.wynntils.services.map.pois.TerritoryPoi;
@@ -33,8 +34,9 @@ import com.wynntils.utils.render.type.VerticalAlignment;
 import com.wynntils.utils.type.BoundingBox;
 import com.wynntils.utils.type.CappedValue;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.events.GuiEventListener;
@@ -54,6 +56,10 @@ public final class GuildMapScreen extends AbstractMapScreen {
     private BasicTexturedButton territoryDefenseFilterButton;
     private BasicTexturedButton hybridModeButton;
 
+    // Reused between frames to avoid allocating while rendering
+    private final Map<String, Poi> renderedTerritoryPois = new HashMap<>();
+    private float[] tradingRouteLines = new float[0];
+
     private GuildMapScreen() {}
 
     public static Screen create() {
@@ -233,28 +239,7 @@ public final class GuildMapScreen extends AbstractMapScreen {
 
         List<Poi> filteredPois = getRenderedPois(pois, textureBoundingBox, poiScale, mouseX, mouseY);
 
-        // Render trading routes
-        // We render them in both directions because optimizing it is not cheap either
-        for (Poi poi : filteredPois) {
-            if (!(poi instanceof TerritoryPoi territoryPoi)) continue;
-
-            float poiRenderX = MapRenderer.getRenderX(poi, mapCenterX, centerX, zoomRenderScale);
-            float poiRenderZ = MapRenderer.getRenderZ(poi, mapCenterZ, centerZ, zoomRenderScale);
-
-            for (String tradingRoute : territoryPoi.getTerritoryInfo().getTradingRoutes()) {
-                Optional<Poi> routePoi = filteredPois.stream()
-                        .filter(filteredPoi -> filteredPoi.getName().equals(tradingRoute))
-                        .findFirst();
-
-                // Only render connection if the other poi is also in the filtered pois
-                if (routePoi.isPresent() && filteredPois.contains(routePoi.get())) {
-                    float x = MapRenderer.getRenderX(routePoi.get(), mapCenterX, centerX, zoomRenderScale);
-                    float z = MapRenderer.getRenderZ(routePoi.get(), mapCenterZ, centerZ, zoomRenderScale);
-
-                    RenderUtils.drawLine(poseStack, CommonColors.DARK_GRAY, poiRenderX, poiRenderZ, x, z, 0, 1);
-                }
-            }
-        }
+        renderTradingRoutes(poseStack, filteredPois);
 
         MultiBufferSource.BufferSource bufferSource =
                 McUtils.mc().renderBuffers().bufferSource();
@@ -281,6 +266,39 @@ public final class GuildMapScreen extends AbstractMapScreen {
         bufferSource.endBatch();
     }
 
+    private void renderTradingRoutes(PoseStack poseStack, List<Poi> filteredPois) {
+        // Index the rendered territories by name, so each route is looked up in constant time
+        renderedTerritoryPois.clear();
+        for (Poi poi : filteredPois) {
+            if (poi instanceof TerritoryPoi) {
+                renderedTerritoryPois.putIfAbsent(poi.getName(), poi);
+            }
+        }
+
+        List<TerritoryTradingRoute> tradingRoutes = Models.Territory.getTradingRoutes();
+        if (tradingRouteLines.length < tradingRoutes.size() * 4) {
+            tradingRouteLines = new float[tradingRoutes.size() * 4];
+        }
+
+        int lineCount = 0;
+        for (TerritoryTradingRoute tradingRoute : tradingRoutes) {
+            // Only render connection if both territories are rendered
+            Poi firstPoi = renderedTerritoryPois.get(tradingRoute.first());
+            if (firstPoi == null) continue;
+            Poi secondPoi = renderedTerritoryPois.get(tradingRoute.second());
+            if (secondPoi == null) continue;
+
+            int offset = lineCount * 4;
+            tradingRouteLines[offset] = MapRenderer.getRenderX(firstPoi, mapCenterX, centerX, zoomRenderScale);
+            tradingRouteLines[offset + 1] = MapRenderer.getRenderZ(firstPoi, mapCenterZ, centerZ, zoomRenderScale);
+            tradingRouteLines[offset + 2] = MapRenderer.getRenderX(secondPoi, mapCenterX, centerX, zoomRenderScale);
+            tradingRouteLines[offset + 3] = MapRenderer.getRenderZ(secondPoi, mapCenterZ, centerZ, zoomRenderScale);
+            lineCount++;
+        }
+
+        RenderUtils.drawLines(poseStack, CommonColors.DARK_GRAY, tradingRouteLines, lineCount, 0, 1);
+    }
+
     @Override
     public boolean doMouseClicked(double mouseX, double mouseY, int button) {
         for (GuiEventListener child : children()) {
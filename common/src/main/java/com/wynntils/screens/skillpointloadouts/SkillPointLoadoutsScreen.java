@@ -8,6 +8,8 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.models.character.type.SavableSkillPointSet;
+import com.wynntils.models.character.type.SkillPointGear;
+import com.wynntils.models.character.type.SkillPointSolution;
 import com.wynntils.models.elements.type.Skill;
 import com.wynntils.screens.base.WynntilsGridLayoutScreen;
 import com.wynntils.screens.base.widgets.TextInputBoxWidget;
@@ -57,6 +59,10 @@ public final class SkillPointLoadoutsScreen extends WynntilsGridLayoutScreen {
     private WynntilsButton deleteButton;
     private WynntilsButton convertButton;
 
+    // Solved when a build is selected, as the gear of a loadout never changes
+    private SkillPointSolution equipOrderSolution;
+    private int unknownGearCount = 0;
+
     private ScrollBar scrollBar;
     private float scrollPercent = 0;
 
@@ -431,6 +437,10 @@ public final class SkillPointLoadoutsScreen extends WynntilsGridLayoutScreen {
                                 VerticalAlignment.BOTTOM,
                                 TextShadow.NORMAL);
             }
+
+            if (equipOrderSolution != null) {
+                renderEquipOrderSolution(guiGraphics, mouseX, mouseY);
+            }
         }
         // endregion
 
@@ -516,6 +526,9 @@ public final class SkillPointLoadoutsScreen extends WynntilsGridLayoutScreen {
     }
 
     public void setSelectedLoadout(Pair<String, SavableSkillPointSet> loadout) {
+        equipOrderSolution = null;
+        unknownGearCount = 0;
+
         if (loadout == null) {
             selectedLoadout = null;
             loadButton.active = false;
@@ -540,6 +553,84 @@ public final class SkillPointLoadoutsScreen extends WynntilsGridLayoutScreen {
                     Tooltip.create(Component.translatable("screens.wynntils.skillPointLoadouts.levelIncompatible")
                             .withStyle(ChatFormatting.RED)));
         }
+
+        if (selectedLoadout.value().isBuild()) {
+            SavableSkillPointSet build = selectedLoadout.value();
+            List<SkillPointGear> gear = Models.SkillPoint.getBuildGear(build);
+
+            int gearCount = build.armourNames().size()
+                    + build.accessoryNames().size()
+                    + (build.weapon() != null ? 1 : 0);
+            unknownGearCount = gearCount - gear.size();
+            equipOrderSolution = Models.SkillPoint.solveEquipOrder(gear);
+        }
+    }
+
+    private void renderEquipOrderSolution(GuiGraphics guiGraphics, int mouseX, int mouseY) {
+        PoseStack poseStack = guiGraphics.pose();
+
+        String summary =
+                switch (equipOrderSolution.result()) {
+                    case POSSIBLE -> ChatFormatting.GREEN
+                            + I18n.get(
+                                    "screens.wynntils.skillPointLoadouts.solverPossible",
+                                    equipOrderSolution.getAssignedSum());
+                    case EXCEEDS_AVAILABLE_POINTS -> ChatFormatting.RED
+                            + I18n.get(
+                                    "screens.wynntils.skillPointLoadouts.solverExceedsAvailable",
+                                    equipOrderSolution.getAssignedSum(),
+                                    Models.SkillPoint.getAssignableSkillPoints());
+                    case EXCEEDS_SKILL_LIMIT -> ChatFormatting.RED
+                            + I18n.get(
+                                    "screens.wynntils.skillPointLoadouts.solverExceedsSkillLimit",
+                                    equipOrderSolution.getAssignedSum());
+                };
+        FontRenderer.getInstance()
+                .renderText(
+                        poseStack,
+                        StyledText.fromString(summary),
+                        dividedWidth * 35,
+                        dividedHeight * 51,
+                        CommonColors.WHITE,
+                        HorizontalAlignment.LEFT,
+                        VerticalAlignment.BOTTOM,
+                        TextShadow.NORMAL);
+        for (int i = 0; i < 5; i++) {
+            FontRenderer.getInstance()
+                    .renderText(
+                            poseStack,
+                            StyledText.fromString(Skill.values()[i].getColorCode() + ""
+                                    + equipOrderSolution.getAssignedSkillPoints(Skill.values()[i])),
+                            dividedWidth * (51 + i * 2),
+                            dividedHeight * 51,
+                            CommonColors.WHITE,
+                            HorizontalAlignment.CENTER,
+                            VerticalAlignment.BOTTOM,
+                            TextShadow.NORMAL);
+        }
+
+        // The equip order does not fit in the loadout box, so it is shown when hovering the summary
+        if (mouseX < dividedWidth * 35
+                || mouseX > dividedWidth * 60
+                || mouseY < dividedHeight * 49
+                || mouseY > dividedHeight * 51) {
+            return;
+        }
+
+        List<Component> tooltipLines = new ArrayList<>();
+        tooltipLines.add(Component.translatable("screens.wynntils.skillPointLoadouts.equipOrder")
+                .withStyle(ChatFormatting.GOLD));
+        for (int i = 0; i < equipOrderSolution.equipOrder().size(); i++) {
+            tooltipLines.add(Component.literal((i + 1) + ". " + equipOrderSolution.equipOrder().get(i).name())
+                    .withStyle(ChatFormatting.GRAY));
+        }
+        if (unknownGearCount > 0) {
+            tooltipLines.add(Component.translatable(
+                            "screens.wynntils.skillPointLoadouts.equipOrderUnknownGear", unknownGearCount)
+                    .withStyle(ChatFormatting.RED));
+        }
+
+        guiGraphics.renderComponentTooltip(FontRenderer.getInstance().getFont(), tooltipLines, mouseX, mouseY);
     }
 
     public Pair<String, SavableSkillPointSet> getSelectedLoadout() {
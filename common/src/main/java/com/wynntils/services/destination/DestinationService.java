@@ -19,8 +19,6 @@ public class DestinationService extends Service {
 
     public DestinationService() {
         super(List.of());
-
-        reloadData();
     }
 
     @Override
@@ -28,6 +26,11 @@ public class DestinationService extends Service {
         loadDestinations();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     /**
      * Get the abbreviation of a location
      * @param location Full location name of the destination (eg. "Ragni")
@@ -32,8 +32,7 @@ import com.wynntils.utils.mc.McUtils;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import net.minecraft.ChatFormatting;
@@ -46,15 +45,13 @@ import net.minecraft.world.effect.MobEffects;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public final class HadesService extends Service {
-    private static final int TICKS_PER_UPDATE = 2;
     private static final int MS_PER_PING = 1000;
 
     private final HadesUserRegistry userRegistry = new HadesUserRegistry();
+    private final StatusUpdatePolicy statusUpdatePolicy = new StatusUpdatePolicy();
 
     private HadesConnection hadesConnection;
-    private int tickCountUntilUpdate = 0;
-    private PlayerStatus lastSentStatus;
-    private ScheduledExecutorService pingScheduler;
+    private ScheduledFuture<?> pingTask;
 
     public HadesService() {
         super(List.of());
@@ -87,8 +84,7 @@ public final class HadesService extends Service {
                     .setHandlerFactory(a -> new HadesClientHandler(a, userRegistry))
                     .buildClient();
 
-            tickCountUntilUpdate = 0;
-            lastSentStatus = null;
+            statusUpdatePolicy.reset();
         } catch (UnknownHostException e) {
             WynntilsMod.error("Could not resolve Hades host address.", e);
         }
@@ -109,15 +105,17 @@ public final class HadesService extends Service {
 
         WynntilsMod.info("Starting Hades Ping Scheduler Task");
 
-        pingScheduler = Executors.newSingleThreadScheduledExecutor();
-        pingScheduler.scheduleAtFixedRate(this::sendPing, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
+        if (pingTask != null) {
+            pingTask.cancel(false);
+        }
+        pingTask = Managers.Scheduler.scheduleAsyncAtFixedRate(this::sendPing, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
     }
 
     @SubscribeEvent
     public void onDisconnect(HadesEvent.Disconnected event) {
-        if (pingScheduler == null) return;
-        pingScheduler.shutdown();
-        pingScheduler = null;
+        if (pingTask == null) return;
+        pingTask.cancel(false);
+        pingTask = null;
     }
 
     private void sendPing() {
@@ -137,6 +135,9 @@ public final class HadesService extends Service {
                 event.getChangedPlayers().stream().toList(),
                 event.getChangeType().getPacketAction(),
                 SocialType.FRIEND));
+
+        // A new friend has not been sent the status, which is not resent while standing still
+        statusUpdatePolicy.reset();
     }
 
     @SubscribeEvent
@@ -150,6 +151,9 @@ public final class HadesService extends Service {
                 event.getChangedPlayers().stream().toList(),
                 event.getChangeType().getPacketAction(),
                 SocialType.PARTY));
+
+        // A new party member has not been sent the status, which is not resent while standing still
+        statusUpdatePolicy.reset();
     }
 
     @SubscribeEvent
@@ -208,36 +212,27 @@ public final class HadesService extends Service {
                         .shareWithFriends
                         .get()) return;
 
-        tickCountUntilUpdate--;
-
-        if (tickCountUntilUpdate <= 0) {
+        // Standing still, or shuffling around in place, does not need to be sent to every
+        // party member and friend; receivers interpolate between the updates they get
+        PlayerStatus status = statusUpdatePolicy.onTick(() -> {
             LocalPlayer player = McUtils.player();
-
-            float pX = (float) player.getX();
-            float pY = (float) player.getY();
-            float pZ = (float) player.getZ();
-
-            PlayerStatus newStatus =
-                    new PlayerStatus(pX, pY, pZ, Models.CharacterStats.getHealth(), Models.CharacterStats.getMana());
-
-            if (newStatus.equals(lastSentStatus)) {
-                tickCountUntilUpdate = 1;
-                return;
-            }
-
-            tickCountUntilUpdate = TICKS_PER_UPDATE;
-
-            lastSentStatus = newStatus;
-
-            hadesConnection.sendPacketAndFlush(new HCPacketUpdateStatus(
-                    lastSentStatus.x(),
-                    lastSentStatus.y(),
-                    lastSentStatus.z(),
-                    lastSentStatus.health().current(),
-                    lastSentStatus.health().max(),
-                    lastSentStatus.mana().current(),
-                    lastSentStatus.mana().max()));
-        }
+            return PlayerStatus.quantized(
+                    player.getX(),
+                    player.getY(),
+                    player.getZ(),
+                    Models.CharacterStats.getHealth(),
+                    Models.CharacterStats.getMana());
+        });
+        if (status == null) return;
+
+        hadesConnection.sendPacketAndFlush(new HCPacketUpdateStatus(
+                status.x(),
+                status.y(),
+                status.z(),
+                status.health().current(),
+                status.health().max(),
+                status.mana().current(),
+                status.mana().max()));
     }
 
     public void tryResendWorldData() {
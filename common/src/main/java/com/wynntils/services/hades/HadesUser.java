@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.hades;
@@ -9,6 +9,7 @@ import com.wynntils.utils.colors.CommonColors;
 import com.wynntils.utils.colors.CustomColor;
 import com.wynntils.utils.mc.type.PoiLocation;
 import com.wynntils.utils.type.CappedValue;
+import com.wynntils.utils.type.InterpolatedPosition;
 import java.util.UUID;
 
 public class HadesUser {
@@ -18,7 +19,7 @@ public class HadesUser {
     private boolean isPartyMember;
     private boolean isMutualFriend;
     private boolean isGuildMember;
-    private float x, y, z;
+    private final InterpolatedPosition position;
     private PoiLocation poiLocation;
     private CappedValue health;
     private CappedValue mana;
@@ -26,6 +27,7 @@ public class HadesUser {
     public HadesUser(HSPacketUpdateMutual packet) {
         uuid = packet.getUser();
         name = packet.getName();
+        position = new InterpolatedPosition(packet.getX(), packet.getY(), packet.getZ());
 
         this.updateFromPacket(packet);
     }
@@ -35,11 +37,8 @@ public class HadesUser {
         this.uuid = UUID.fromString("8667ba71-b85a-4004-af54-457a9734eed7"); // Steve
         this.name = name;
 
-        this.x = 0;
-        this.y = 0;
-        this.z = 0;
-
-        this.poiLocation = new PoiLocation((int) x, (int) y, (int) z);
+        this.position = new InterpolatedPosition(0, 0, 0);
+        this.poiLocation = new PoiLocation(0, 0, 0);
 
         this.isGuildMember = false;
         this.isMutualFriend = false;
@@ -69,20 +68,35 @@ public class HadesUser {
         return isGuildMember;
     }
 
+    // The position is interpolated between the updates received from Hades, so it moves smoothly when rendered
     public float getX() {
-        return x;
+        return position.getX();
     }
 
     public float getY() {
-        return y;
+        return position.getY();
     }
 
     public float getZ() {
-        return z;
+        return position.getZ();
     }
 
     public PoiLocation getMapLocation() {
-        return poiLocation;
+        int x = (int) position.getX();
+        int y = (int) position.getY();
+        int z = (int) position.getZ();
+
+        // Only create a new location when the interpolated position has moved to another block
+        PoiLocation location = poiLocation;
+        if (location == null
+                || location.getX() != x
+                || location.getY().orElse(y) != y
+                || location.getZ() != z) {
+            location = new PoiLocation(x, y, z);
+            poiLocation = location;
+        }
+
+        return location;
     }
 
     public CappedValue getHealth() {
@@ -94,10 +108,7 @@ public class HadesUser {
     }
 
     public void updateFromPacket(HSPacketUpdateMutual packet) {
-        this.x = packet.getX();
-        this.y = packet.getY();
-        this.z = packet.getZ();
-        this.poiLocation = new PoiLocation((int) x, (int) y, (int) z);
+        this.position.update(packet.getX(), packet.getY(), packet.getZ());
 
         this.health = new CappedValue(packet.getHealth(), packet.getMaxHealth());
         this.mana = new CappedValue(packet.getMana(), packet.getMaxMana());
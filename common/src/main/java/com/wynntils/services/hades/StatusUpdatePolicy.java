@@ -0,0 +1,60 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.hades;
+
+import com.wynntils.services.hades.type.PlayerStatus;
+import java.util.function.Supplier;
+
+/**
+ * Decides when the player's status is sent to Hades.
+ *
+ * The status is checked every few ticks, and only sent if it has changed meaningfully since it was last
+ * sent. Smaller changes, like shuffling around in place, are sent with the next keyframe, so receivers
+ * still catch up with them. A player who stands exactly still sends nothing, not even keyframes, so
+ * {@link #reset()} must be called when someone new may need the status, like when the relations change.
+ */
+public final class StatusUpdatePolicy {
+    private static final int TICKS_PER_UPDATE = 2;
+    // Smaller moves are not sent, unless a keyframe is due
+    private static final float MIN_MOVE_DISTANCE = 0.5f;
+    // Any change is sent at least this often, even if it is not meaningful
+    private static final int TICKS_PER_KEYFRAME = 100;
+
+    private int tickCountUntilUpdate = 0;
+    private int tickCountUntilKeyframe = 0;
+    private volatile PlayerStatus lastSentStatus;
+
+    /**
+     * @return the status to send on this tick, or null if nothing should be sent
+     */
+    public PlayerStatus onTick(Supplier<PlayerStatus> currentStatus) {
+        tickCountUntilUpdate--;
+        tickCountUntilKeyframe--;
+
+        if (tickCountUntilUpdate > 0) return null;
+
+        PlayerStatus newStatus = currentStatus.get();
+        PlayerStatus sentStatus = lastSentStatus;
+        boolean keyframeDue = tickCountUntilKeyframe <= 0 && !newStatus.equals(sentStatus);
+        if (!keyframeDue && !newStatus.differsFrom(sentStatus, MIN_MOVE_DISTANCE)) {
+            // Check again on the next tick
+            tickCountUntilUpdate = 1;
+            return null;
+        }
+
+        tickCountUntilUpdate = TICKS_PER_UPDATE;
+        tickCountUntilKeyframe = TICKS_PER_KEYFRAME;
+        lastSentStatus = newStatus;
+
+        return newStatus;
+    }
+
+    /**
+     * Makes the next check send the status, whether it has changed or not.
+     */
+    public void reset() {
+        lastSentStatus = null;
+    }
+}
@@ -1,9 +1,33 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.hades.type;
 
 import com.wynntils.utils.type.CappedValue;
 
-public record PlayerStatus(float x, float y, float z, CappedValue health, CappedValue mana) {}
+public record PlayerStatus(float x, float y, float z, CappedValue health, CappedValue mana) {
+    // Positions are rounded to an eighth of a block, which is finer than they are ever rendered
+    private static final float POSITION_STEPS_PER_BLOCK = 8f;
+
+    public static PlayerStatus quantized(double x, double y, double z, CappedValue health, CappedValue mana) {
+        return new PlayerStatus(quantize(x), quantize(y), quantize(z), health, mana);
+    }
+
+    /**
+     * @return whether this status is worth sending, compared to the previously sent status
+     */
+    public boolean differsFrom(PlayerStatus other, float minDistance) {
+        if (other == null) return true;
+        if (!health.equals(other.health) || !mana.equals(other.mana)) return true;
+
+        float dx = x - other.x;
+        float dy = y - other.y;
+        float dz = z - other.z;
+        return dx * dx + dy * dy + dz * dz >= minDistance * minDistance;
+    }
+
+    private static float quantize(double value) {
+        return Math.round(value * POSITION_STEPS_PER_BLOCK) / POSITION_STEPS_PER_BLOCK;
+    }
+}
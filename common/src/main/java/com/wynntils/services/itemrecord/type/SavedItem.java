@@ -12,6 +12,7 @@ import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import com.wynntils.core.components.Models;
+import com.wynntils.models.items.FakeItemStack;
 import com.wynntils.models.items.WynnItem;
 import com.wynntils.models.items.encoding.type.EncodingSettings;
 import com.wynntils.utils.EncodedByteBuffer;
@@ -54,6 +55,24 @@ public record SavedItem(String base64, Set<String> categories, ItemStack itemSta
         return errorOrWynnItem.getValue();
     }
 
+    /**
+     * @return A {@link FakeItemStack} displaying the wynnItem represented by this SavedItem.
+     * The stack is cached, so repeated calls for the same item and source are cheap
+     */
+    public FakeItemStack fakeItemStack(String source) {
+        ErrorOr<FakeItemStack> errorOrItemStack = Models.ItemEncoding.decodeItemStack(
+                EncodedByteBuffer.fromBase64String(base64),
+                source,
+                wynnItem -> new FakeItemStack(wynnItem, itemStack, source));
+
+        if (errorOrItemStack.hasError()) {
+            throw new IllegalStateException(
+                    "Tried to decode a SavedItem with unencodable WynnItem: " + errorOrItemStack.getError());
+        }
+
+        return errorOrItemStack.getValue();
+    }
+
     @Override
     public int compareTo(SavedItem other) {
         return this.base64.compareTo(other.base64);
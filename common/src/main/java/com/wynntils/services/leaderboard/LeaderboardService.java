@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.leaderboard;
@@ -25,8 +25,6 @@ public class LeaderboardService extends Service {
 
     public LeaderboardService() {
         super(List.of());
-
-        reloadData();
     }
 
     @SubscribeEvent
@@ -41,6 +39,11 @@ public class LeaderboardService extends Service {
         updateLeaderboard();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     public List<LeaderboardBadge> getBadges(UUID id) {
         return leaderboard.getOrDefault(id, List.of());
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.lootrunpaths;
@@ -39,7 +39,11 @@ public final class LootrunCompiler {
             ChatFormatting.DARK_PURPLE.getColor());
 
     public static LootrunPathInstance compile(UncompiledLootrunPath uncompiled, boolean recording) {
-        Long2ObjectMap<List<ColoredPath>> points = generatePointsByChunk(uncompiled.path(), recording);
+        return compile(uncompiled, recording, getPathStyle(recording));
+    }
+
+    public static LootrunPathInstance compile(UncompiledLootrunPath uncompiled, boolean recording, PathStyle style) {
+        Long2ObjectMap<List<ColoredPath>> points = generatePointsByChunk(uncompiled.path(), style);
         Long2ObjectMap<Set<BlockPos>> chests = getChests(uncompiled.chests());
         Long2ObjectMap<List<LootrunNote>> notes = getNotes(uncompiled.notes());
 
@@ -53,6 +57,18 @@ public final class LootrunCompiler {
                 notes);
     }
 
+    private static PathStyle getPathStyle(boolean recording) {
+        LootrunFeature feature = Managers.Feature.getFeatureInstance(LootrunFeature.class);
+        if (recording) {
+            return new PathStyle(false, 0, feature.recordingPathColor.get().asInt());
+        }
+
+        return new PathStyle(
+                feature.rainbowLootRun.get(),
+                feature.cycleDistance.get(),
+                feature.activePathColor.get().asInt());
+    }
+
     private static String getLootrunName(UncompiledLootrunPath uncompiled, boolean recording) {
         if (recording) return "recorded_lootrun";
         if (uncompiled.file() == null) return "lootrun";
@@ -115,7 +131,7 @@ public final class LootrunCompiler {
         return result;
     }
 
-    private static Long2ObjectMap<List<ColoredPath>> generatePointsByChunk(LootrunPath raw, boolean recording) {
+    private static Long2ObjectMap<List<ColoredPath>> generatePointsByChunk(LootrunPath raw, PathStyle style) {
         float sampleRate = 10f;
 
         List<List<Vec3>> sampled =
@@ -135,14 +151,8 @@ public final class LootrunCompiler {
         for (int i = 0; i < positions.size(); i++) {
             Vec3 position = positions.get(i);
 
-            if (Managers.Feature.getFeatureInstance(LootrunFeature.class)
-                            .rainbowLootRun
-                            .get()
-                    && !recording) {
-                int cycleDistance = Managers.Feature.getFeatureInstance(LootrunFeature.class)
-                        .cycleDistance
-                        .get();
-                int cycle = 10 * cycleDistance;
+            if (style.rainbow()) {
+                int cycle = 10 * style.cycleDistance();
                 int parts = i % cycle;
                 float done = (float) parts / (float) cycle;
 
@@ -167,19 +177,7 @@ public final class LootrunCompiler {
 
                 locationsList.points().add(new ColoredPosition(position, usedColor | 0xff000000));
             } else {
-                locationsList
-                        .points()
-                        .add(new ColoredPosition(
-                                position,
-                                recording
-                                        ? Managers.Feature.getFeatureInstance(LootrunFeature.class)
-                                                .recordingPathColor
-                                                .get()
-                                                .asInt()
-                                        : Managers.Feature.getFeatureInstance(LootrunFeature.class)
-                                                .activePathColor
-                                                .get()
-                                                .asInt()));
+                locationsList.points().add(new ColoredPosition(position, style.color()));
             }
         }
 
@@ -292,4 +290,9 @@ public final class LootrunCompiler {
         }
         return result;
     }
+
+    /**
+     * How the path is colored. This is read from the config once per compilation, instead of once per point.
+     */
+    public record PathStyle(boolean rainbow, int cycleDistance, int color) {}
 }
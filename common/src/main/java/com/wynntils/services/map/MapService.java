@@ -26,8 +26,6 @@ public final class MapService extends Service {
 
     public MapService() {
         super(List.of());
-
-        loadData();
     }
 
     @Override
@@ -71,8 +71,6 @@ public class PoiService extends Service {
 
     public PoiService() {
         super(List.of());
-
-        loadData();
     }
 
     @Override
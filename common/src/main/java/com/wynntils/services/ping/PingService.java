@@ -1,17 +1,17 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.ping;
 
+import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Service;
 import com.wynntils.mc.event.PacketEvent;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import net.minecraft.network.protocol.game.ClientboundCommandSuggestionsPacket;
 import net.minecraft.network.protocol.game.ServerboundCommandSuggestionPacket;
@@ -19,7 +19,7 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class PingService extends Service {
     private static final int MS_PER_PING = 1000;
-    private ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private ScheduledFuture<?> pingTask;
 
     private long lastPingSent = 0;
     private int lastPing = 0;
@@ -30,11 +30,14 @@ public class PingService extends Service {
 
     @SubscribeEvent
     public void onWorldStateChange(WorldStateEvent event) {
+        if (pingTask != null) {
+            pingTask.cancel(false);
+            pingTask = null;
+        }
+
         if (event.getNewState() == WorldState.WORLD) {
-            executor.scheduleAtFixedRate(this::sendPingPacket, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
-        } else {
-            executor.shutdownNow();
-            executor = Executors.newSingleThreadScheduledExecutor();
+            pingTask = Managers.Scheduler.scheduleAsyncAtFixedRate(
+                    this::sendPingPacket, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.splashes;
@@ -25,8 +25,6 @@ public final class SplashService extends Service {
 
     public SplashService() {
         super(List.of());
-
-        updateCurrentSplash();
     }
 
     @Override
@@ -34,6 +32,11 @@ public final class SplashService extends Service {
         updateCurrentSplash();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     public String getCurrentSplash() {
         return currentSplash;
     }
@@ -7,8 +7,8 @@ package com.wynntils.services.translation;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Managers;
 import com.wynntils.services.translation.type.TranslationProvider;
-import com.wynntils.utils.TaskUtils;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Type;
@@ -35,14 +35,14 @@ public abstract class CachingTranslationProvider implements TranslationProvider
         counter++;
         if (counter % 16 == 0) {
             // Persist translation cache in background
-            TaskUtils.runAsync(CachingTranslationProvider::saveTranslationCache);
+            Managers.Scheduler.runAsync(CachingTranslationProvider::saveTranslationCache);
         }
     }
 
     @Override
     public void translate(List<String> message, String toLanguage, Consumer<List<String>> handleTranslation) {
         if (message.isEmpty()) {
-            TaskUtils.runAsync(() -> handleTranslation.accept(List.of()));
+            Managers.Scheduler.runAsync(() -> handleTranslation.accept(List.of()));
             return;
         }
 
@@ -50,7 +50,7 @@ public abstract class CachingTranslationProvider implements TranslationProvider
                 translationCaches.computeIfAbsent(toLanguage, k -> new ConcurrentHashMap<>());
         List<String> cachedTranslation = translationCache.get(createKey(message));
         if (cachedTranslation != null) {
-            TaskUtils.runAsync(() -> handleTranslation.accept(cachedTranslation));
+            Managers.Scheduler.runAsync(() -> handleTranslation.accept(cachedTranslation));
             return;
         }
 
@@ -5,11 +5,11 @@
 package com.wynntils.services.translation;
 
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Service;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.services.translation.type.TranslationProvider;
-import com.wynntils.utils.TaskUtils;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,7 +26,6 @@ public final class TranslationService extends Service {
         super(List.of());
 
         addShutdownHook();
-        CachingTranslationProvider.loadTranslationCache();
     }
 
     @Override
@@ -34,6 +33,11 @@ public final class TranslationService extends Service {
         CachingTranslationProvider.loadTranslationCache();
     }
 
+    @Override
+    public boolean canLoadDataInParallel() {
+        return true;
+    }
+
     @SubscribeEvent
     public void onWorldStateChange(WorldStateEvent event) {
         // We don't need to save on world join, as there is no changes
@@ -43,7 +47,7 @@ public final class TranslationService extends Service {
         if (!translationServiceSavingFuture.isDone() && !translationServiceSavingFuture.isCancelled()) return;
 
         // Save translation cache when world is unloaded
-        translationServiceSavingFuture = TaskUtils.runAsync(CachingTranslationProvider::saveTranslationCache);
+        translationServiceSavingFuture = Managers.Scheduler.runAsync(CachingTranslationProvider::saveTranslationCache);
     }
 
     /**
@@ -129,7 +133,7 @@ public final class TranslationService extends Service {
                 }
                 resultList.add(latinString.toString());
             }
-            TaskUtils.runAsync(() -> handleTranslation.accept(resultList));
+            Managers.Scheduler.runAsync(() -> handleTranslation.accept(resultList));
         }
     }
 }
@@ -124,6 +124,19 @@ public final class EncodedByteBuffer {
         return new ArrayReader<>(bytes);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EncodedByteBuffer that = (EncodedByteBuffer) o;
+        return Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
     @Override
     public String toString() {
         return "EncodedByteBuffer{" + "bytes="
@@ -0,0 +1,174 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.mc;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+
+/**
+ * Reads and writes captures of clientbound play packets.
+ *
+ * A capture is a gzipped header followed by one record per packet, each holding the time since the previous packet,
+ * the packet id and the packet, encoded the same way as on the network. Captures are only readable by the same
+ * protocol version that recorded them.
+ *
+ * This class does not depend on a running client, so captures can also be read by the replay benchmark.
+ */
+public final class PacketCapture {
+    public static final String FILE_EXTENSION = ".wpc";
+
+    private static final int MAGIC = 0x57504341; // "WPCA"
+    private static final int FORMAT_VERSION = 1;
+
+    public static Writer createWriter(File file) throws IOException {
+        return new Writer(file);
+    }
+
+    public static List<CapturedPacket> read(File file) throws IOException {
+        ConnectionProtocol.CodecData<?> codec = ConnectionProtocol.PLAY.codec(PacketFlow.CLIENTBOUND);
+        List<CapturedPacket> packets = new ArrayList<>();
+
+        try (DataInputStream input = new DataInputStream(
+                new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a packet capture: " + file.getName());
+            }
+
+            int formatVersion = input.readInt();
+            int protocolVersion = input.readInt();
+            if (formatVersion != FORMAT_VERSION || protocolVersion != SharedConstants.getProtocolVersion()) {
+                throw new IOException("Unsupported packet capture, format " + formatVersion + " protocol "
+                        + protocolVersion + ": " + file.getName());
+            }
+
+            long timeNanos = 0;
+            while (true) {
+                long delta;
+                try {
+                    delta = readVarLong(input);
+                } catch (EOFException e) {
+                    // A capture ends after the last complete record
+                    break;
+                }
+
+                timeNanos += delta;
+                int packetId = readVarInt(input);
+                byte[] data = new byte[readVarInt(input)];
+                input.readFully(data);
+
+                Packet<?> packet = codec.createPacket(packetId, new FriendlyByteBuf(Unpooled.wrappedBuffer(data)));
+                if (packet == null) {
+                    throw new IOException("Unknown packet id " + packetId + " in " + file.getName());
+                }
+
+                packets.add(new CapturedPacket(timeNanos, packet));
+            }
+        }
+
+        return packets;
+    }
+
+    private static int readVarInt(InputStream input) throws IOException {
+        return (int) readVarLong(input);
+    }
+
+    private static long readVarLong(InputStream input) throws IOException {
+        long value = 0;
+        int position = 0;
+
+        while (true) {
+            int b = input.read();
+            if (b == -1) throw new EOFException();
+
+            value |= (long) (b & 0x7F) << position;
+            if ((b & 0x80) == 0) return value;
+
+            position += 7;
+            if (position >= 64) throw new IOException("VarLong is too big");
+        }
+    }
+
+    public record CapturedPacket(long timeNanos, Packet<?> packet) {}
+
+    /**
+     * Appends packets to a capture. Packets are received on the network thread, so writing is synchronized.
+     */
+    public static final class Writer implements Closeable {
+        private final ConnectionProtocol.CodecData<?> codec = ConnectionProtocol.PLAY.codec(PacketFlow.CLIENTBOUND);
+        private final DataOutputStream output;
+        private final ByteBuf recordBuffer = Unpooled.buffer();
+        private final ByteBuf packetBuffer = Unpooled.buffer();
+
+        private long lastPacketNanos = System.nanoTime();
+        private int packetCount = 0;
+
+        private Writer(File file) throws IOException {
+            output = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file))));
+
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(SharedConstants.getProtocolVersion());
+        }
+
+        public synchronized void write(Packet<?> packet) throws IOException {
+            // Bundles are not encoded themselves, only the packets in them
+            if (packet instanceof ClientboundBundlePacket bundlePacket) {
+                for (Packet<?> subPacket : bundlePacket.subPackets()) {
+                    write(subPacket);
+                }
+                return;
+            }
+
+            int packetId = codec.packetId(packet);
+            if (packetId == -1) return;
+
+            packetBuffer.clear();
+            packet.write(new FriendlyByteBuf(packetBuffer));
+
+            long now = System.nanoTime();
+            FriendlyByteBuf record = new FriendlyByteBuf(recordBuffer.clear());
+            record.writeVarLong(now - lastPacketNanos);
+            record.writeVarInt(packetId);
+            record.writeVarInt(packetBuffer.readableBytes());
+            record.writeBytes(packetBuffer);
+            record.readBytes(output, record.readableBytes());
+
+            lastPacketNanos = now;
+            packetCount++;
+        }
+
+        public synchronized int getPacketCount() {
+            return packetCount;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            output.close();
+            recordBuffer.release();
+            packetBuffer.release();
+        }
+    }
+}
@@ -1,12 +1,14 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.utils.mc;
 
+import java.util.function.LongConsumer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Position;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.phys.Vec3;
 
 public final class PosUtils {
@@ -37,6 +39,23 @@ public final class PosUtils {
         return pos1.x() == pos2.x() && pos1.z() == pos2.z();
     }
 
+    /**
+     * Calls the consumer with the key, as in {@link ChunkPos#asLong(int, int)}, of every chunk column
+     * overlapping the given radius around the position. This is for looking up things bucketed by chunk.
+     */
+    public static void forEachChunkNear(Position position, double radius, LongConsumer chunkKeyConsumer) {
+        int minChunkX = ((int) Math.floor(position.x() - radius)) >> 4;
+        int maxChunkX = ((int) Math.floor(position.x() + radius)) >> 4;
+        int minChunkZ = ((int) Math.floor(position.z() - radius)) >> 4;
+        int maxChunkZ = ((int) Math.floor(position.z() + radius)) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                chunkKeyConsumer.accept(ChunkPos.asLong(chunkX, chunkZ));
+            }
+        }
+    }
+
     public static boolean closerThanIgnoringY(Position pos1, Position pos2, double distance) {
         double xD = pos1.x() - pos2.x();
         double zD = pos1.z() - pos2.z();
@@ -1,43 +1,19 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.utils.mc;
 
 import com.wynntils.core.text.StyledText;
-import com.wynntils.utils.render.FontRenderer;
-import java.util.Arrays;
+import com.wynntils.utils.render.TextLayoutCache;
+import java.util.List;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.Font;
 import net.minecraft.network.chat.Component;
 
 public final class RenderedStringUtils {
     public static StyledText[] wrapTextBySize(StyledText s, int maxPixels) {
-        Font font = McUtils.mc().font;
-        int spaceSize = font.width(" ");
-
-        StyledText[] stringArray = s.split(" ");
-        StringBuilder result = new StringBuilder();
-        int length = 0;
-
-        for (StyledText string : stringArray) {
-            StyledText[] lines = string.split("\\\\n");
-            for (int i = 0; i < lines.length; i++) {
-                StyledText line = lines[i];
-                if (i > 0 || length + font.width(line.getString()) >= maxPixels) {
-                    result.append('\n');
-                    length = 0;
-                }
-                if (!line.isEmpty()) {
-                    result.append(line.getString()).append(' ');
-                    length += font.width(line.getString()) + spaceSize;
-                }
-            }
-        }
-
-        return Arrays.stream(result.toString().split("\n"))
-                .map(StyledText::fromString)
-                .toArray(StyledText[]::new);
+        return TextLayoutCache.getWordWrapped(s, maxPixels).lines().toArray(StyledText[]::new);
     }
 
     public static String getMaxFittingText(String text, float maxTextWidth, Font font) {
@@ -63,32 +39,11 @@ public final class RenderedStringUtils {
         return renderedText;
     }
 
-    public static StyledText trySplitOptimally(StyledText line, float maxWidth) {
-        String maxFitting = RenderedStringUtils.getMaxFittingText(
-                line.getStringWithoutFormatting(),
-                maxWidth,
-                FontRenderer.getInstance().getFont());
-
-        if (maxFitting.contains("[") && !maxFitting.contains("]")) { // Detail line did not appear to fit, force break
-            String color = "";
-
-            if (line.startsWith("§")) {
-                color = line.getString().substring(0, 2);
-            }
-
-            return StyledText.fromString(line.getString().replaceFirst(" \\[", "\n" + color + "["));
-        } else if (maxFitting.contains("(")
-                && !maxFitting.contains(")")) { // Detail line did not appear to fit, force break
-            String color = "";
-
-            if (line.startsWith("§")) {
-                color = line.getString().substring(0, 2);
-            }
-
-            return StyledText.fromString(line.getString().replaceFirst(" \\(", "\n" + color + "("));
-        } else { // Fits fine, give normal lines
-            return line;
-        }
+    /**
+     * @return the line, split before its bracketed detail if the detail does not fit the width
+     */
+    public static List<StyledText> trySplitOptimally(StyledText line, float maxWidth) {
+        return TextLayoutCache.getDetailSplit(line, maxWidth).lines();
     }
 
     public static String substringMaxWidth(String input, int maxWidth) {
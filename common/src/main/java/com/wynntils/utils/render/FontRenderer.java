@@ -9,7 +9,6 @@ import com.mojang.blaze3d.vertex.Tesselator;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.mc.mixin.accessors.MinecraftAccessor;
 import com.wynntils.utils.colors.CustomColor;
-import com.wynntils.utils.mc.ComponentUtils;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.render.buffered.BufferedFontRenderer;
 import com.wynntils.utils.render.type.HorizontalAlignment;
@@ -19,9 +18,6 @@ import java.util.List;
 import net.minecraft.Util;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.renderer.MultiBufferSource;
-import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.FormattedText;
-import net.minecraft.network.chat.Style;
 import net.minecraft.util.Mth;
 
 public final class FontRenderer {
@@ -277,21 +273,11 @@ public final class FontRenderer {
             return;
         }
 
-        List<FormattedText> parts =
-                font.getSplitter().splitLines(text.getComponent(), (int) (maxWidth / textScale), Style.EMPTY);
-
-        StyledText lastPart = StyledText.EMPTY;
-        for (int i = 0; i < parts.size(); i++) {
-            // copy the format codes to this part as well
-            Style lastStyle = ComponentUtils.getLastPartCodes(lastPart);
-
-            StyledText part = StyledText.fromComponent(Component.literal("").withStyle(lastStyle))
-                    .append(StyledText.fromComponent(ComponentUtils.formattedTextToComponent(parts.get(i))));
-            lastPart = part;
-
+        List<StyledText> lines = TextLayoutCache.getWrapped(text, (int) (maxWidth / textScale)).lines();
+        for (int i = 0; i < lines.size(); i++) {
             renderText(
                     poseStack,
-                    part,
+                    lines.get(i),
                     x,
                     y + (i * font.lineHeight * textScale),
                     customColor,
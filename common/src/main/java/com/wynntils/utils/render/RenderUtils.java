@@ -170,6 +170,60 @@ public final class RenderUtils {
         RenderSystem.disableBlend();
     }
 
+    /**
+     * Draws many lines of the same color and width in a single draw call.
+     *
+     * @param lineCoordinates the lines as consecutive {@code x1, y1, x2, y2} values
+     * @param lineCount the number of lines to draw from the start of the array
+     */
+    public static void drawLines(
+            PoseStack poseStack, CustomColor color, float[] lineCoordinates, int lineCount, float z, float width) {
+        if (lineCount == 0) return;
+
+        Matrix4f matrix = poseStack.last().pose();
+
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.setShader(GameRenderer::getPositionColorShader);
+        BufferBuilder bufferBuilder = Tesselator.getInstance().getBuilder();
+
+        float halfWidth = width / 2;
+
+        bufferBuilder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR);
+
+        for (int i = 0; i < lineCount; i++) {
+            float x1 = lineCoordinates[i * 4];
+            float y1 = lineCoordinates[i * 4 + 1];
+            float x2 = lineCoordinates[i * 4 + 2];
+            float y2 = lineCoordinates[i * 4 + 3];
+
+            // Offset perpendicular to the line, so every line is a quad of the same width
+            float length = (float) Math.sqrt((x2 - x1) * (x2 - x1) + (y2 - y1) * (y2 - y1));
+            float offsetX = length == 0 ? 0 : -(y2 - y1) / length * halfWidth;
+            float offsetY = length == 0 ? 0 : (x2 - x1) / length * halfWidth;
+
+            bufferBuilder
+                    .vertex(matrix, x1 + offsetX, y1 + offsetY, z)
+                    .color(color.r, color.g, color.b, color.a)
+                    .endVertex();
+            bufferBuilder
+                    .vertex(matrix, x2 + offsetX, y2 + offsetY, z)
+                    .color(color.r, color.g, color.b, color.a)
+                    .endVertex();
+            bufferBuilder
+                    .vertex(matrix, x2 - offsetX, y2 - offsetY, z)
+                    .color(color.r, color.g, color.b, color.a)
+                    .endVertex();
+            bufferBuilder
+                    .vertex(matrix, x1 - offsetX, y1 - offsetY, z)
+                    .color(color.r, color.g, color.b, color.a)
+                    .endVertex();
+        }
+
+        BufferUploader.drawWithShader(bufferBuilder.end());
+        RenderSystem.disableBlend();
+    }
+
     public static void drawRectBorders(
             PoseStack poseStack, CustomColor color, float x1, float y1, float x2, float y2, float z, float lineWidth) {
         drawLine(poseStack, color, x1, y1, x2, y1, z, lineWidth);
@@ -0,0 +1,21 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.render;
+
+import com.wynntils.core.text.StyledText;
+import java.util.List;
+
+/**
+ * Text split into the lines it is rendered as, with the width of each line in unscaled pixels.
+ */
+public record TextLayout(List<StyledText> lines, List<Integer> lineWidths) {
+    public int getWidth() {
+        return lineWidths.stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    public int getLineCount() {
+        return lines.size();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.render;
+
+import com.wynntils.core.text.StyledText;
+import com.wynntils.utils.mc.ComponentUtils;
+import com.wynntils.utils.mc.RenderedStringUtils;
+import com.wynntils.utils.type.BoundedCache;
+import com.wynntils.utils.type.CacheStats;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.minecraft.client.gui.Font;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.FormattedText;
+import net.minecraft.network.chat.Style;
+
+/**
+ * Caches how text is split into lines when it does not fit a width.
+ *
+ * Overlays, tooltips and screens wrap the same text every frame, while the text itself
+ * usually only changes a few times a second. Splitting is done once per text and width,
+ * and reused until the entry is evicted. As the layouts depend on the font, they are all dropped
+ * when resources are reloaded.
+ */
+public final class TextLayoutCache {
+    private static final int MAX_LAYOUTS = 512;
+
+    private static final BoundedCache<LayoutKey, TextLayout> LAYOUTS = new BoundedCache<>(MAX_LAYOUTS);
+
+    /**
+     * Wraps the text the same way Minecraft does, carrying the formatting at the end of
+     * each line over to the next.
+     */
+    public static TextLayout getWrapped(StyledText text, int maxWidth) {
+        return LAYOUTS.get(new LayoutKey(LayoutType.WRAPPED, text, maxWidth), TextLayoutCache::wrap);
+    }
+
+    /**
+     * Wraps the text at spaces, so no line is wider than the given width unless it is a single word.
+     * A literal "\n" in the text forces a line break. Formatting is not carried over between lines.
+     */
+    public static TextLayout getWordWrapped(StyledText text, int maxWidth) {
+        return LAYOUTS.get(new LayoutKey(LayoutType.WORD_WRAPPED, text, maxWidth), TextLayoutCache::wrapWords);
+    }
+
+    /**
+     * Breaks a line before its bracketed detail, like " [16 m]" or " (4:11)", if the detail would not
+     * fit the width, keeping the detail together on the next line.
+     */
+    public static TextLayout getDetailSplit(StyledText text, float maxWidth) {
+        return LAYOUTS.get(new LayoutKey(LayoutType.DETAIL_SPLIT, text, maxWidth), TextLayoutCache::splitDetail);
+    }
+
+    public static CacheStats getStats() {
+        return LAYOUTS.getStats();
+    }
+
+    public static void resetStats() {
+        LAYOUTS.resetStats();
+    }
+
+    public static void invalidateAll() {
+        LAYOUTS.invalidateAll();
+    }
+
+    private static TextLayout wrap(LayoutKey key) {
+        Font font = FontRenderer.getInstance().getFont();
+        List<FormattedText> parts =
+                font.getSplitter().splitLines(key.text().getComponent(), (int) key.width(), Style.EMPTY);
+
+        List<StyledText> lines = new ArrayList<>(parts.size());
+        StyledText lastPart = StyledText.EMPTY;
+        for (FormattedText formattedPart : parts) {
+            // copy the format codes to this part as well
+            Style lastStyle = ComponentUtils.getLastPartCodes(lastPart);
+
+            StyledText part = StyledText.fromComponent(Component.literal("").withStyle(lastStyle))
+                    .append(StyledText.fromComponent(ComponentUtils.formattedTextToComponent(formattedPart)));
+            lastPart = part;
+
+            lines.add(part);
+        }
+
+        return createLayout(lines);
+    }
+
+    private static TextLayout wrapWords(LayoutKey key) {
+        Font font = FontRenderer.getInstance().getFont();
+        int spaceSize = font.width(" ");
+
+        StyledText[] stringArray = key.text().split(" ");
+        StringBuilder result = new StringBuilder();
+        int length = 0;
+
+        for (StyledText string : stringArray) {
+            StyledText[] lines = string.split("\\\\n");
+            for (int i = 0; i < lines.length; i++) {
+                StyledText line = lines[i];
+                if (i > 0 || length + font.width(line.getString()) >= key.width()) {
+                    result.append('\n');
+                    length = 0;
+                }
+                if (!line.isEmpty()) {
+                    result.append(line.getString()).append(' ');
+                    length += font.width(line.getString()) + spaceSize;
+                }
+            }
+        }
+
+        return createLayout(Arrays.stream(result.toString().split("\n"))
+                .map(StyledText::fromString)
+                .toList());
+    }
+
+    private static TextLayout splitDetail(LayoutKey key) {
+        StyledText line = key.text();
+        String maxFitting = RenderedStringUtils.getMaxFittingText(
+                line.getStringWithoutFormatting(),
+                key.width(),
+                FontRenderer.getInstance().getFont());
+
+        StyledText splitLine = line;
+        if (maxFitting.contains("[") && !maxFitting.contains("]")) { // Detail line did not appear to fit, force break
+            splitLine = StyledText.fromString(line.getString().replaceFirst(" \\[", "\n" + getColorCode(line) + "["));
+        } else if (maxFitting.contains("(")
+                && !maxFitting.contains(")")) { // Detail line did not appear to fit, force break
+            splitLine = StyledText.fromString(line.getString().replaceFirst(" \\(", "\n" + getColorCode(line) + "("));
+        }
+
+        return createLayout(Arrays.asList(splitLine.split("\n")));
+    }
+
+    private static String getColorCode(StyledText line) {
+        return line.startsWith("§") ? line.getString().substring(0, 2) : "";
+    }
+
+    private static TextLayout createLayout(List<StyledText> lines) {
+        Font font = FontRenderer.getInstance().getFont();
+
+        return new TextLayout(
+                List.copyOf(lines),
+                lines.stream().map(line -> font.width(line.getString())).toList());
+    }
+
+    private enum LayoutType {
+        WRAPPED,
+        WORD_WRAPPED,
+        DETAIL_SPLIT
+    }
+
+    private record LayoutKey(LayoutType type, StyledText text, float width) {}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A size-bounded cache which evicts the least recently used entry when full.
+ * Values computed as {@code null} are not cached.
+ */
+public final class BoundedCache<K, V> {
+    private final int maxSize;
+    private final Map<K, V> entries;
+
+    private long hits = 0;
+    private long misses = 0;
+
+    public BoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > BoundedCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+
+        return value;
+    }
+
+    public synchronized V get(K key, Function<K, V> loader) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+            return value;
+        }
+
+        misses++;
+        value = loader.apply(key);
+        if (value != null) {
+            entries.put(key, value);
+        }
+
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(entries.size(), maxSize, hits, misses);
+    }
+
+    public synchronized void resetStats() {
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import com.wynntils.utils.MathUtils;
+import java.util.function.LongSupplier;
+
+/**
+ * A position which is only known at the times it is updated, like a remote player. Reading it
+ * moves smoothly from where it was drawn to the latest update, instead of jumping on each update.
+ *
+ * Each move takes as long as the time between the last two updates, so the movement keeps pace
+ * with how often updates arrive. Updates far away from the current position are treated as
+ * teleports, and are not interpolated.
+ *
+ * Updates and reads may happen on different threads.
+ */
+public final class InterpolatedPosition {
+    private static final long MIN_MOVE_MILLIS = 50;
+    private static final long MAX_MOVE_MILLIS = 1000;
+    private static final float TELEPORT_DISTANCE = 32;
+
+    private final LongSupplier clock;
+
+    private volatile Move move;
+
+    public InterpolatedPosition(float x, float y, float z) {
+        this(x, y, z, System::currentTimeMillis);
+    }
+
+    public InterpolatedPosition(float x, float y, float z, LongSupplier clock) {
+        this.clock = clock;
+        this.move = new Move(x, y, z, x, y, z, clock.getAsLong(), 0);
+    }
+
+    public synchronized void update(float x, float y, float z) {
+        long now = clock.getAsLong();
+        Move current = move;
+
+        // Start from where the position is drawn right now, so it does not jump back
+        float progress = current.getProgress(now);
+        float fromX = MathUtils.lerp(current.fromX(), current.toX(), progress);
+        float fromY = MathUtils.lerp(current.fromY(), current.toY(), progress);
+        float fromZ = MathUtils.lerp(current.fromZ(), current.toZ(), progress);
+
+        float dx = x - fromX;
+        float dy = y - fromY;
+        float dz = z - fromZ;
+        boolean teleported = dx * dx + dy * dy + dz * dz > TELEPORT_DISTANCE * TELEPORT_DISTANCE;
+
+        long sinceLastUpdate = now - current.start();
+        long duration = teleported ? 0 : Math.max(MIN_MOVE_MILLIS, Math.min(MAX_MOVE_MILLIS, sinceLastUpdate));
+        move = new Move(fromX, fromY, fromZ, x, y, z, now, duration);
+    }
+
+    public float getX() {
+        Move current = move;
+        return MathUtils.lerp(current.fromX(), current.toX(), current.getProgress(clock.getAsLong()));
+    }
+
+    public float getY() {
+        Move current = move;
+        return MathUtils.lerp(current.fromY(), current.toY(), current.getProgress(clock.getAsLong()));
+    }
+
+    public float getZ() {
+        Move current = move;
+        return MathUtils.lerp(current.fromZ(), current.toZ(), current.getProgress(clock.getAsLong()));
+    }
+
+    private record Move(
+            float fromX, float fromY, float fromZ, float toX, float toY, float toZ, long start, long duration) {
+        private float getProgress(long now) {
+            if (duration <= 0) return 1f;
+
+            return MathUtils.clamp((float) (now - start) / duration, 0f, 1f);
+        }
+    }
+}
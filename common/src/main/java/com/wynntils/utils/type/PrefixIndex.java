@@ -0,0 +1,57 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the values that a string might match by prefix, without trying every value.
+ *
+ * Values are keyed on the first few characters of their prefixes, like a formatting code. Looking up a
+ * string gives the values keyed on its first characters, followed by the values without a usable prefix,
+ * in the order they were added. The string still has to be checked against the full prefixes.
+ */
+public final class PrefixIndex<T> {
+    private final int keyLength;
+
+    // Every key also gets the unkeyed values, so each list can keep the order they were added in
+    private final Map<String, List<T>> valuesByKey = new HashMap<>();
+    private final List<T> unkeyedValues = new ArrayList<>();
+
+    public PrefixIndex(int keyLength) {
+        this.keyLength = keyLength;
+    }
+
+    /**
+     * Adds a value, which can only match strings starting with one of the prefixes. If there are no
+     * prefixes, or any of them is shorter than the key length, the value is tried for all strings.
+     */
+    public void add(T value, Collection<String> prefixes) {
+        if (prefixes.isEmpty() || prefixes.stream().anyMatch(prefix -> prefix.length() < keyLength)) {
+            unkeyedValues.add(value);
+            valuesByKey.values().forEach(keyedValues -> keyedValues.add(value));
+            return;
+        }
+
+        prefixes.stream().map(this::getKey).distinct().forEach(key -> valuesByKey
+                .computeIfAbsent(key, k -> new ArrayList<>(unkeyedValues))
+                .add(value));
+    }
+
+    /**
+     * @return the values the string might match, which must not be modified
+     */
+    public List<T> get(String string) {
+        return valuesByKey.getOrDefault(getKey(string), unkeyedValues);
+    }
+
+    private String getKey(String string) {
+        return string.length() < keyLength ? string : string.substring(0, keyLength);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A time series of values over a rolling window, backed by a fixed ring buffer of time buckets.
+ * Each bucket keeps the sum, count and max of the values added during its time span.
+ *
+ * Adding a value is O(1) and does not allocate. Queries are O(buckets in the queried window).
+ * Values older than the full window (bucket count * bucket duration) are dropped automatically.
+ * Queries are bucket aligned, so a query covers the bucket containing the current time and
+ * the buckets immediately before it, up to the requested duration.
+ */
+public final class RollingTimeSeries {
+    private final long bucketMillis;
+    private final LongSupplier clock;
+
+    // Absolute bucket index (time / bucketMillis) each slot currently represents
+    private final long[] bucketIndices;
+    private final long[] sums;
+    private final int[] counts;
+    private final long[] maxes;
+
+    private long lastAddedTimestamp = 0;
+
+    public RollingTimeSeries(int bucketCount, long bucketDuration, TimeUnit unit) {
+        this(bucketCount, bucketDuration, unit, System::currentTimeMillis);
+    }
+
+    public RollingTimeSeries(int bucketCount, long bucketDuration, TimeUnit unit, LongSupplier clock) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket count must be positive: " + bucketCount);
+        }
+
+        this.bucketMillis = Math.max(1, unit.toMillis(bucketDuration));
+        this.clock = clock;
+
+        bucketIndices = new long[bucketCount];
+        sums = new long[bucketCount];
+        counts = new int[bucketCount];
+        maxes = new long[bucketCount];
+
+        clear();
+    }
+
+    public synchronized void add(long value) {
+        long now = clock.getAsLong();
+        long bucketIndex = now / bucketMillis;
+        int slot = getSlot(bucketIndex);
+
+        if (bucketIndices[slot] != bucketIndex) {
+            // The slot holds an expired bucket, reuse it
+            bucketIndices[slot] = bucketIndex;
+            sums[slot] = 0;
+            counts[slot] = 0;
+            maxes[slot] = Long.MIN_VALUE;
+        }
+
+        sums[slot] += value;
+        counts[slot]++;
+        maxes[slot] = Math.max(maxes[slot], value);
+
+        lastAddedTimestamp = now;
+    }
+
+    /**
+     * Records an occurrence without a meaningful value, for series where only the count matters.
+     */
+    public void increment() {
+        add(1);
+    }
+
+    public synchronized long getSum(long duration, TimeUnit unit) {
+        long sum = 0;
+
+        long currentIndex = clock.getAsLong() / bucketMillis;
+        for (long index = getFirstBucketIndex(currentIndex, duration, unit); index <= currentIndex; index++) {
+            int slot = getSlot(index);
+            if (bucketIndices[slot] != index) continue;
+
+            sum += sums[slot];
+        }
+
+        return sum;
+    }
+
+    public synchronized int getCount(long duration, TimeUnit unit) {
+        int count = 0;
+
+        long currentIndex = clock.getAsLong() / bucketMillis;
+        for (long index = getFirstBucketIndex(currentIndex, duration, unit); index <= currentIndex; index++) {
+            int slot = getSlot(index);
+            if (bucketIndices[slot] != index) continue;
+
+            count += counts[slot];
+        }
+
+        return count;
+    }
+
+    /**
+     * @return the largest single value added in the given duration, or 0 if no values were added
+     */
+    public synchronized long getMax(long duration, TimeUnit unit) {
+        long max = Long.MIN_VALUE;
+
+        long currentIndex = clock.getAsLong() / bucketMillis;
+        for (long index = getFirstBucketIndex(currentIndex, duration, unit); index <= currentIndex; index++) {
+            int slot = getSlot(index);
+            if (bucketIndices[slot] != index) continue;
+
+            max = Math.max(max, maxes[slot]);
+        }
+
+        return max == Long.MIN_VALUE ? 0 : max;
+    }
+
+    public double getAveragePerSecond(long duration, TimeUnit unit) {
+        double seconds = unit.toMillis(duration) / 1000d;
+        if (seconds <= 0) return 0;
+
+        return getSum(duration, unit) / seconds;
+    }
+
+    public synchronized long getLastAddedTimestamp() {
+        return lastAddedTimestamp;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(bucketIndices, -1);
+        Arrays.fill(sums, 0);
+        Arrays.fill(counts, 0);
+        Arrays.fill(maxes, Long.MIN_VALUE);
+        lastAddedTimestamp = 0;
+    }
+
+    public long getWindowMillis() {
+        return bucketMillis * bucketIndices.length;
+    }
+
+    private long getFirstBucketIndex(long currentIndex, long duration, TimeUnit unit) {
+        long bucketsInDuration = (unit.toMillis(duration) + bucketMillis - 1) / bucketMillis;
+        long buckets = Math.max(1, Math.min(bucketsInDuration, bucketIndices.length));
+
+        return currentIndex - buckets + 1;
+    }
+
+    private int getSlot(long bucketIndex) {
+        return (int) Math.floorMod(bucketIndex, (long) bucketIndices.length);
+    }
+}
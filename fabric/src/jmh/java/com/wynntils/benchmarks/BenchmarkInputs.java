@@ -0,0 +1,56 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+
+/**
+ * Loads the benchmark inputs from {@code src/jmh/resources/benchmarks}.
+ *
+ * The inputs should be taken from real game data, so the benchmarks measure what the client actually parses.
+ * Chat messages are stored as component json, and lore lines as legacy formatted strings.
+ */
+public final class BenchmarkInputs {
+    private BenchmarkInputs() {}
+
+    public static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    public static List<Component> loadComponents(String fileName) {
+        return load(fileName).asList().stream()
+                .<Component>map(Component.Serializer::fromJson)
+                .toList();
+    }
+
+    public static List<String> loadStrings(String fileName) {
+        return load(fileName).asList().stream().map(JsonElement::getAsString).toList();
+    }
+
+    private static JsonArray load(String fileName) {
+        try (InputStream inputStream = BenchmarkInputs.class.getResourceAsStream("/benchmarks/" + fileName)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Missing benchmark input " + fileName);
+            }
+
+            return JsonParser.parseReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))
+                    .getAsJsonArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.models.character.type.ClassType;
+import com.wynntils.models.elements.type.Element;
+import com.wynntils.models.elements.type.Powder;
+import com.wynntils.models.elements.type.Skill;
+import com.wynntils.models.gear.type.GearAttackSpeed;
+import com.wynntils.models.gear.type.GearRequirements;
+import com.wynntils.models.gear.type.GearType;
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.models.items.encoding.ItemTransformerRegistry;
+import com.wynntils.models.items.encoding.type.EncodingSettings;
+import com.wynntils.models.items.items.game.CraftedGearItem;
+import com.wynntils.models.stats.type.DamageType;
+import com.wynntils.utils.EncodedByteBuffer;
+import com.wynntils.utils.type.CappedValue;
+import com.wynntils.utils.type.Pair;
+import com.wynntils.utils.type.RangedValue;
+import java.util.List;
+import java.util.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the item sharing path, from item to the string sent in chat and back.
+ *
+ * Gear, charms and tomes are looked up in the item database when decoding, which is only available
+ * in a running client, so crafted gear (which is fully described by its encoding) is used here.
+ */
+@State(Scope.Benchmark)
+public class ItemEncodingBenchmark {
+    private static final EncodingSettings ENCODING_SETTINGS = new EncodingSettings(false, true);
+
+    private ItemTransformerRegistry registry;
+    private List<WynnItem> items;
+    private List<EncodedByteBuffer> encodedItems;
+    private List<String> encodedStrings;
+
+    @Setup
+    public void setup() {
+        BenchmarkInputs.bootstrap();
+
+        registry = new ItemTransformerRegistry();
+        items = List.of(
+                new CraftedGearItem(
+                        "Legendary Crafted Spear",
+                        100,
+                        GearType.SPEAR,
+                        GearAttackSpeed.NORMAL,
+                        0,
+                        List.of(
+                                Pair.of(DamageType.NEUTRAL, RangedValue.of(143, 172)),
+                                Pair.of(DamageType.EARTH, RangedValue.of(96, 120))),
+                        List.of(),
+                        new GearRequirements(
+                                103,
+                                Optional.of(ClassType.WARRIOR),
+                                List.of(Pair.of(Skill.STRENGTH, 45)),
+                                Optional.empty()),
+                        List.of(),
+                        List.of(),
+                        List.of(Powder.EARTH, Powder.EARTH, Powder.THUNDER),
+                        3,
+                        true,
+                        new CappedValue(170, 210)),
+                new CraftedGearItem(
+                        "Crafted Boots",
+                        89,
+                        GearType.BOOTS,
+                        null,
+                        2950,
+                        List.of(),
+                        List.of(Pair.of(Element.FIRE, 120), Pair.of(Element.WATER, -30)),
+                        new GearRequirements(95, Optional.empty(), List.of(), Optional.empty()),
+                        List.of(),
+                        List.of(),
+                        List.of(Powder.FIRE, Powder.FIRE),
+                        2,
+                        true,
+                        new CappedValue(144, 144)));
+
+        encodedItems = items.stream()
+                .map(item -> registry.encodeItem(item, ENCODING_SETTINGS).getValue())
+                .toList();
+        encodedStrings = encodedItems.stream().map(EncodedByteBuffer::toUtf16String).toList();
+    }
+
+    @Benchmark
+    public void encodeItem(Blackhole blackhole) {
+        for (WynnItem item : items) {
+            blackhole.consume(registry.encodeItem(item, ENCODING_SETTINGS));
+        }
+    }
+
+    @Benchmark
+    public void decodeItem(Blackhole blackhole) {
+        for (EncodedByteBuffer encodedItem : encodedItems) {
+            blackhole.consume(registry.decodeItem(encodedItem));
+        }
+    }
+
+    @Benchmark
+    public void toUtf16String(Blackhole blackhole) {
+        for (EncodedByteBuffer encodedItem : encodedItems) {
+            blackhole.consume(encodedItem.toUtf16String());
+        }
+    }
+
+    @Benchmark
+    public void fromUtf16String(Blackhole blackhole) {
+        for (String encodedString : encodedStrings) {
+            blackhole.consume(EncodedByteBuffer.fromUtf16String(encodedString));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.services.lootrunpaths.LootrunCompiler;
+import com.wynntils.services.lootrunpaths.LootrunPathInstance;
+import com.wynntils.services.lootrunpaths.UncompiledLootrunPath;
+import com.wynntils.services.lootrunpaths.type.LootrunPath;
+import com.wynntils.utils.colors.CommonColors;
+import com.wynntils.utils.mc.PosUtils;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.Vec3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures compiling a lootrun path, which happens when a lootrun is loaded, and on every change while recording.
+ *
+ * The path is generated, as a walk with a fixed seed, with a length and point spacing like recorded lootruns.
+ */
+@State(Scope.Benchmark)
+public class LootrunCompilerBenchmark {
+    private static final int PATH_POINTS = 3000;
+    private static final int CHEST_INTERVAL = 50;
+    private static final long SEED = 1;
+
+    private static final LootrunCompiler.PathStyle SOLID_STYLE =
+            new LootrunCompiler.PathStyle(false, 0, CommonColors.LIGHT_BLUE.asInt());
+    private static final LootrunCompiler.PathStyle RAINBOW_STYLE =
+            new LootrunCompiler.PathStyle(true, 20, CommonColors.LIGHT_BLUE.asInt());
+
+    private UncompiledLootrunPath lootrun;
+
+    @Setup
+    public void setup() {
+        BenchmarkInputs.bootstrap();
+
+        Random random = new Random(SEED);
+        List<Vec3> points = new ArrayList<>();
+        Set<BlockPos> chests = new HashSet<>();
+
+        double x = 0;
+        double y = 64;
+        double z = 0;
+        double heading = 0;
+        for (int i = 0; i < PATH_POINTS; i++) {
+            // Players mostly run straight, about a block between recorded points
+            heading += (random.nextDouble() - 0.5) * 0.3;
+            x += Math.cos(heading);
+            z += Math.sin(heading);
+            y += (random.nextDouble() - 0.5) * 0.5;
+            points.add(new Vec3(x, y, z));
+
+            if (i % CHEST_INTERVAL == 0) {
+                chests.add(PosUtils.newBlockPos(x + 2, y, z + 2));
+            }
+        }
+
+        lootrun = new UncompiledLootrunPath(new LootrunPath(points), chests, List.of(), null);
+    }
+
+    @Benchmark
+    public LootrunPathInstance compile() {
+        return LootrunCompiler.compile(lootrun, false, SOLID_STYLE);
+    }
+
+    @Benchmark
+    public LootrunPathInstance compileRainbow() {
+        return LootrunCompiler.compile(lootrun, false, RAINBOW_STYLE);
+    }
+}
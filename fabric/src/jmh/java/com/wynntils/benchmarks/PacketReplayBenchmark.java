@@ -0,0 +1,140 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Handlers;
+import com.wynntils.core.components.Models;
+import com.wynntils.core.events.EventBusWrapper;
+import com.wynntils.core.events.type.EventListenerMetrics;
+import com.wynntils.models.worlds.type.WorldState;
+import com.wynntils.utils.mc.PacketCapture;
+import java.io.File;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.commons.lang3.reflect.MethodUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Replays a packet capture, recorded with the capture option of the packet debugger feature, through the
+ * handlers. The score is the time to replay the whole capture. Set the capture with
+ * {@code -PpacketCapture=<file>}; without one, nothing is replayed.
+ *
+ * The handlers, and the models parsing what they find, are the ones the mod uses, so the models' segments, parts,
+ * parsers and annotators are measured as well. They run against a {@link ReplayClient}, on a world, and the run
+ * fails if any replayed packet throws. After the run, the time spent in each event listener, and in each packet
+ * type, is printed.
+ */
+@State(Scope.Benchmark)
+public class PacketReplayBenchmark {
+    private static final String CAPTURE_PROPERTY = "wynntils.packetCapture";
+    private static final int PRINTED_LISTENERS = 30;
+
+    private EventBusWrapper eventBus;
+    private ReplayClient client;
+    private List<PacketCapture.CapturedPacket> packets = List.of();
+    private PacketReplayer.ReplayResult lastResult;
+
+    @Setup
+    public void setup() throws IOException, ReflectiveOperationException {
+        BenchmarkInputs.bootstrap();
+        client = ReplayClient.install();
+
+        String capturePath = System.getProperty(CAPTURE_PROPERTY);
+        if (capturePath != null) {
+            packets = PacketCapture.read(new File(capturePath));
+        }
+
+        eventBus = EventBusWrapper.createEventBus(false);
+        eventBus.setMetricsEnabled(true);
+        // Events posted by the handlers themselves go through the mod, so they must reach this bus as well
+        FieldUtils.writeStaticField(WynntilsMod.class, "eventBus", eventBus, true);
+
+        List.of(
+                        Handlers.ActionBar,
+                        Handlers.BossBar,
+                        Handlers.Chat,
+                        Handlers.ContainerQuery,
+                        Handlers.Item,
+                        Handlers.Label,
+                        Handlers.Particle,
+                        Handlers.Scoreboard)
+                .forEach(eventBus::register);
+        List.of(
+                        Models.WorldState,
+                        Models.CharacterStats,
+                        Models.NpcDialogue,
+                        Models.Item,
+                        Models.WynnItem,
+                        Models.Party,
+                        Models.Objectives,
+                        Models.Lootrun,
+                        Models.War,
+                        Models.Profession,
+                        Models.Bomb)
+                .forEach(eventBus::register);
+
+        // Most parsing only happens on a world, which is normally detected from packets before the capture starts
+        MethodUtils.invokeMethod(
+                Models.WorldState,
+                true,
+                "setState",
+                new Object[] {WorldState.WORLD, "", false},
+                new Class<?>[] {WorldState.class, String.class, boolean.class});
+    }
+
+    @Benchmark
+    public PacketReplayer.ReplayResult replay() {
+        lastResult = PacketReplayer.replay(eventBus, client, packets);
+        return lastResult;
+    }
+
+    @TearDown
+    public void printMetrics() {
+        if (lastResult == null || lastResult.getTotalCount() == 0) {
+            System.out.println("No packets replayed, set a capture with -PpacketCapture=<file>");
+            return;
+        }
+
+        System.out.println();
+        System.out.printf(
+                Locale.ROOT,
+                "Replayed %d packets and ticks in %.2f ms%n",
+                lastResult.getTotalCount(),
+                lastResult.getTotalTimeNanos() / 1_000_000d);
+
+        lastResult.timeNanos().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> System.out.printf(
+                        Locale.ROOT,
+                        "  %s: %d times, %.2f ms, %d KiB%n",
+                        entry.getKey(),
+                        lastResult.counts().get(entry.getKey()),
+                        entry.getValue() / 1_000_000d,
+                        lastResult.allocatedBytes().get(entry.getKey()) / 1024));
+
+        // Listener times add up over all benchmark iterations
+        System.out.println("Slowest listeners:");
+        eventBus.getListenerMetrics().stream()
+                .sorted(Comparator.comparingDouble(EventListenerMetrics::totalTimeMs).reversed())
+                .limit(PRINTED_LISTENERS)
+                .forEach(metrics -> System.out.printf(
+                        Locale.ROOT,
+                        "  %s.%s: %d calls, %.2f ms total, %.3f ms max%n",
+                        metrics.owner(),
+                        metrics.listener(),
+                        metrics.invocations(),
+                        metrics.totalTimeMs(),
+                        metrics.maxTimeMs()));
+    }
+}
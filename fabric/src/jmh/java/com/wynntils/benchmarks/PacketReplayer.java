@@ -0,0 +1,111 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.core.events.EventBusWrapper;
+import com.wynntils.mc.event.TickAlwaysEvent;
+import com.wynntils.mc.event.TickEvent;
+import com.wynntils.utils.mc.PacketCapture;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+
+/**
+ * Replays a packet capture through a {@link ReplayPacketListener}, and measures the time and memory spent on each
+ * packet type. The time spent in each event listener is kept by the event bus metrics.
+ *
+ * Ticks are simulated between packets from the recorded timing, as several handlers batch their work per tick.
+ * If a packet, or a tick, throws, the replay fails, as the measurement would not be comparable.
+ */
+public final class PacketReplayer {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final String TICK_NAME = "Tick";
+
+    private final EventBusWrapper eventBus;
+    private final ReplayClient client;
+    private final ClientGamePacketListener listener;
+
+    private final Map<String, Long> timeNanos = new HashMap<>();
+    private final Map<String, Long> allocatedBytes = new HashMap<>();
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    private PacketReplayer(EventBusWrapper eventBus, ReplayClient client) {
+        this.eventBus = eventBus;
+        this.client = client;
+        this.listener = ReplayPacketListener.create(eventBus::post);
+    }
+
+    public static ReplayResult replay(
+            EventBusWrapper eventBus, ReplayClient client, List<PacketCapture.CapturedPacket> packets) {
+        PacketReplayer replayer = new PacketReplayer(eventBus, client);
+        replayer.replayAll(packets);
+
+        return new ReplayResult(
+                Map.copyOf(replayer.timeNanos),
+                Map.copyOf(replayer.allocatedBytes),
+                Map.copyOf(replayer.counts));
+    }
+
+    private void replayAll(List<PacketCapture.CapturedPacket> packets) {
+        if (packets.isEmpty()) return;
+
+        long nextTickNanos = packets.get(0).timeNanos() + TICK_NANOS;
+
+        for (PacketCapture.CapturedPacket capturedPacket : packets) {
+            while (capturedPacket.timeNanos() >= nextTickNanos) {
+                measure(TICK_NAME, () -> {
+                    client.tick();
+                    eventBus.post(new TickAlwaysEvent());
+                    eventBus.post(new TickEvent());
+                });
+                nextTickNanos += TICK_NANOS;
+            }
+
+            Packet<ClientGamePacketListener> packet = (Packet<ClientGamePacketListener>) capturedPacket.packet();
+            measure(packet.getClass().getSimpleName(), () -> packet.handle(listener));
+        }
+    }
+
+    private void measure(String name, Runnable runnable) {
+        long bytesBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Replaying " + name + " failed", e);
+        }
+
+        timeNanos.merge(name, System.nanoTime() - start, Long::sum);
+        allocatedBytes.merge(name, getAllocatedBytes() - bytesBefore, Long::sum);
+        counts.merge(name, 1, Integer::sum);
+    }
+
+    private static long getAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+
+        return 0;
+    }
+
+    /**
+     * The replay measurements, keyed by packet type, or Tick for the simulated ticks.
+     */
+    public record ReplayResult(
+            Map<String, Long> timeNanos, Map<String, Long> allocatedBytes, Map<String, Integer> counts) {
+        public int getTotalCount() {
+            return counts.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        public long getTotalTimeNanos() {
+            return timeNanos.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
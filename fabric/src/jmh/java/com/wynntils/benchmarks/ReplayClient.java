@@ -0,0 +1,96 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.mojang.authlib.GameProfile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.world.Difficulty;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.inventory.InventoryMenu;
+import net.minecraft.world.level.entity.LevelCallback;
+import net.minecraft.world.level.entity.TransientEntitySectionManager;
+import net.minecraft.world.scores.Scoreboard;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import sun.misc.Unsafe;
+
+/**
+ * A stand-in for the client state which the handlers and models read while packets are replayed: the Minecraft
+ * instance, an empty world with a scoreboard, and a player with an inventory.
+ *
+ * The real objects need a window, a server connection and registries, so they are created without running their
+ * constructors, and only the fields the handlers use are set. Entities are never added to the world, so looking one
+ * up finds nothing, as if it was out of range. Messages can not be shown, as there is no chat.
+ */
+public final class ReplayClient {
+    private static final UUID PLAYER_UUID = UUID.fromString("b1a3c5d7-0000-4000-8000-000000000001");
+    private static final String PLAYER_NAME = "Replay";
+
+    private final ClientLevel.ClientLevelData levelData;
+
+    private ReplayClient(ClientLevel.ClientLevelData levelData) {
+        this.levelData = levelData;
+    }
+
+    /**
+     * Creates the client state, and makes it the current Minecraft instance.
+     */
+    public static ReplayClient install() throws ReflectiveOperationException {
+        Unsafe unsafe = getUnsafe();
+
+        ClientLevel.ClientLevelData levelData = new ClientLevel.ClientLevelData(Difficulty.NORMAL, false, false);
+        ClientLevel level = (ClientLevel) unsafe.allocateInstance(ClientLevel.class);
+        FieldUtils.writeField(level, "levelData", levelData, true);
+        FieldUtils.writeField(level, "clientLevelData", levelData, true);
+        FieldUtils.writeField(
+                level, "entityStorage", new TransientEntitySectionManager<>(Entity.class, createLevelCallback()), true);
+        FieldUtils.writeField(level, "scoreboard", new Scoreboard(), true);
+
+        LocalPlayer player = (LocalPlayer) unsafe.allocateInstance(LocalPlayer.class);
+        FieldUtils.writeField(player, "gameProfile", new GameProfile(PLAYER_UUID, PLAYER_NAME), true);
+        FieldUtils.writeField(player, "uuid", PLAYER_UUID, true);
+        FieldUtils.writeField(player, "stringUUID", PLAYER_UUID.toString(), true);
+        FieldUtils.writeField(player, "level", level, true);
+
+        Inventory inventory = new Inventory(player);
+        InventoryMenu inventoryMenu = new InventoryMenu(inventory, true, player);
+        FieldUtils.writeField(player, "inventory", inventory, true);
+        FieldUtils.writeField(player, "inventoryMenu", inventoryMenu, true);
+        FieldUtils.writeField(player, "containerMenu", inventoryMenu, true);
+
+        Minecraft minecraft = (Minecraft) unsafe.allocateInstance(Minecraft.class);
+        minecraft.level = level;
+        minecraft.player = player;
+        FieldUtils.writeStaticField(Minecraft.class, "instance", minecraft, true);
+
+        return new ReplayClient(levelData);
+    }
+
+    /**
+     * Advances the world time by a tick, which several handlers use to group packets.
+     */
+    public void tick() {
+        levelData.setGameTime(levelData.getGameTime() + 1);
+    }
+
+    private static LevelCallback<Entity> createLevelCallback() {
+        // The world never gets entities, so the callbacks are never needed
+        return (LevelCallback<Entity>) Proxy.newProxyInstance(
+                LevelCallback.class.getClassLoader(),
+                new Class<?>[] {LevelCallback.class},
+                (proxy, method, args) -> null);
+    }
+
+    private static Unsafe getUnsafe() throws ReflectiveOperationException {
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return (Unsafe) field.get(null);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.google.common.collect.Maps;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.mc.event.BossHealthUpdateEvent;
+import com.wynntils.mc.event.ChatPacketReceivedEvent;
+import com.wynntils.mc.event.ContainerSetContentEvent;
+import com.wynntils.mc.event.ContainerSetSlotEvent;
+import com.wynntils.mc.event.MenuEvent;
+import com.wynntils.mc.event.ParticleAddedEvent;
+import com.wynntils.mc.event.RemoveEntitiesEvent;
+import com.wynntils.mc.event.ScoreboardSetDisplayObjectiveEvent;
+import com.wynntils.mc.event.ScoreboardSetObjectiveEvent;
+import com.wynntils.mc.event.ScoreboardSetScoreEvent;
+import com.wynntils.mc.event.SetEntityDataEvent;
+import com.wynntils.mc.event.SetPlayerTeamEvent;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import net.minecraft.client.gui.components.LerpingBossEvent;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBossEventPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerClosePacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket;
+import net.minecraft.network.protocol.game.ClientboundLevelParticlesPacket;
+import net.minecraft.network.protocol.game.ClientboundOpenScreenPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerChatPacket;
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket;
+import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetPlayerTeamPacket;
+import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraftforge.eventbus.api.Event;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+/**
+ * A stand-in for the client packet listener, which does not touch any client state. Instead, it posts the same
+ * Wynntils events as the packet listener mixins would, so replayed packets only reach the Wynntils listeners.
+ *
+ * Packets which need a client world to create their events, like added or teleported entities, are ignored.
+ */
+public final class ReplayPacketListener {
+    private final Consumer<Event> eventPoster;
+    private final Map<UUID, LerpingBossEvent> bossEvents = Maps.newConcurrentMap();
+
+    private ReplayPacketListener(Consumer<Event> eventPoster) {
+        this.eventPoster = eventPoster;
+    }
+
+    public static ClientGamePacketListener create(Consumer<Event> eventPoster) {
+        ReplayPacketListener listener = new ReplayPacketListener(eventPoster);
+
+        return (ClientGamePacketListener) Proxy.newProxyInstance(
+                ClientGamePacketListener.class.getClassLoader(),
+                new Class<?>[] {ClientGamePacketListener.class},
+                (proxy, method, args) -> {
+                    if (args != null && args.length == 1) {
+                        listener.handle(args[0]);
+                    }
+
+                    return getDefaultValue(method);
+                });
+    }
+
+    private void handle(Object packet) throws IllegalAccessException {
+        if (packet instanceof ClientboundOpenScreenPacket p) {
+            post(new MenuEvent.MenuOpenedEvent.Pre(p.getType(), p.getTitle(), p.getContainerId()));
+            post(new MenuEvent.MenuOpenedEvent.Post(p.getType(), p.getTitle(), p.getContainerId()));
+        } else if (packet instanceof ClientboundContainerClosePacket p) {
+            post(new MenuEvent.MenuClosedEvent(p.getContainerId()));
+        } else if (packet instanceof ClientboundContainerSetContentPacket p) {
+            post(new ContainerSetContentEvent.Pre(
+                    p.getItems(), p.getCarriedItem(), p.getContainerId(), p.getStateId()));
+            post(new ContainerSetContentEvent.Post(
+                    p.getItems(), p.getCarriedItem(), p.getContainerId(), p.getStateId()));
+        } else if (packet instanceof ClientboundContainerSetSlotPacket p) {
+            post(new ContainerSetSlotEvent.Pre(p.getContainerId(), p.getStateId(), p.getSlot(), p.getItem()));
+            post(new ContainerSetSlotEvent.Post(p.getContainerId(), p.getStateId(), p.getSlot(), p.getItem()));
+        } else if (packet instanceof ClientboundSetPlayerTeamPacket p) {
+            // The method is read with an accessor mixin in the client, which is not applied here
+            post(new SetPlayerTeamEvent((int) FieldUtils.readField(p, "method", true), p.getName()));
+        } else if (packet instanceof ClientboundSystemChatPacket p) {
+            post(p.overlay()
+                    ? new ChatPacketReceivedEvent.GameInfo(p.content())
+                    : new ChatPacketReceivedEvent.System(p.content()));
+        } else if (packet instanceof ClientboundPlayerChatPacket p) {
+            post(new ChatPacketReceivedEvent.Player(p.unsignedContent()));
+        } else if (packet instanceof ClientboundSetObjectivePacket p) {
+            post(new ScoreboardSetObjectiveEvent(
+                    p.getObjectiveName(), p.getDisplayName(), p.getRenderType(), p.getMethod()));
+        } else if (packet instanceof ClientboundSetScorePacket p) {
+            post(new ScoreboardSetScoreEvent(
+                    StyledText.fromString(p.getOwner()), p.getObjectiveName(), p.getScore(), p.getMethod()));
+        } else if (packet instanceof ClientboundSetDisplayObjectivePacket p) {
+            post(new ScoreboardSetDisplayObjectiveEvent(p.getSlot(), p.getObjectiveName()));
+        } else if (packet instanceof ClientboundSetEntityDataPacket p) {
+            post(new SetEntityDataEvent(p));
+        } else if (packet instanceof ClientboundRemoveEntitiesPacket p) {
+            post(new RemoveEntitiesEvent(p));
+        } else if (packet instanceof ClientboundLevelParticlesPacket p) {
+            post(new ParticleAddedEvent(p));
+        } else if (packet instanceof ClientboundBossEventPacket p) {
+            post(new BossHealthUpdateEvent(p, bossEvents));
+        }
+    }
+
+    private void post(Event event) {
+        eventPoster.accept(event);
+    }
+
+    private static Object getDefaultValue(Method method) {
+        Class<?> returnType = method.getReturnType();
+        // The listener only has boolean queries, like whether it accepts messages
+        return returnType == boolean.class ? false : null;
+    }
+}
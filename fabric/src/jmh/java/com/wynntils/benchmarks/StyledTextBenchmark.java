@@ -0,0 +1,72 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.core.text.PartStyle;
+import com.wynntils.core.text.StyledText;
+import java.util.List;
+import net.minecraft.network.chat.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Each benchmark processes the whole input set, so the score is the time per batch of chat messages or lore lines.
+ */
+@State(Scope.Benchmark)
+public class StyledTextBenchmark {
+    private List<Component> chatMessages;
+    private List<String> loreLines;
+    private List<StyledText> styledChatMessages;
+    private List<StyledText> styledLoreLines;
+
+    @Setup
+    public void setup() {
+        BenchmarkInputs.bootstrap();
+
+        chatMessages = BenchmarkInputs.loadComponents("chat_messages.json");
+        loreLines = BenchmarkInputs.loadStrings("item_lore.json");
+
+        styledChatMessages = chatMessages.stream().map(StyledText::fromComponent).toList();
+        styledLoreLines = loreLines.stream().map(StyledText::fromString).toList();
+    }
+
+    @Benchmark
+    public void fromComponent(Blackhole blackhole) {
+        for (Component component : chatMessages) {
+            blackhole.consume(StyledText.fromComponent(component));
+        }
+    }
+
+    @Benchmark
+    public void fromString(Blackhole blackhole) {
+        for (String line : loreLines) {
+            blackhole.consume(StyledText.fromString(line));
+        }
+    }
+
+    @Benchmark
+    public void getString(Blackhole blackhole) {
+        for (StyledText styledText : styledChatMessages) {
+            blackhole.consume(styledText.getString());
+        }
+    }
+
+    @Benchmark
+    public void getStringIncludeEvents(Blackhole blackhole) {
+        for (StyledText styledText : styledChatMessages) {
+            blackhole.consume(styledText.getString(PartStyle.StyleType.INCLUDE_EVENTS));
+        }
+    }
+
+    @Benchmark
+    public void getNormalized(Blackhole blackhole) {
+        for (StyledText styledText : styledLoreLines) {
+            blackhole.consume(styledText.getNormalized());
+        }
+    }
+}
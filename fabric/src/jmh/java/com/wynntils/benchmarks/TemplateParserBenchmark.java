@@ -0,0 +1,38 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.core.consumers.functions.templates.parser.TemplateParser;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures splitting templates into their parts, on the item lore lines, as a batch of plain strings.
+ *
+ * Only templates without expressions are parsed, as parsing an expression looks up its functions, which needs the
+ * function registry of a running client.
+ */
+@State(Scope.Benchmark)
+public class TemplateParserBenchmark {
+    private List<String> templates;
+
+    @Setup
+    public void setup() {
+        templates = BenchmarkInputs.loadStrings("item_lore.json").stream()
+                .filter(line -> line.indexOf('{') == -1)
+                .toList();
+    }
+
+    @Benchmark
+    public void getTemplateFromString(Blackhole blackhole) {
+        for (String template : templates) {
+            blackhole.consume(TemplateParser.getTemplateFromString(template));
+        }
+    }
+}
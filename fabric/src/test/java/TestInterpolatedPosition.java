@@ -0,0 +1,61 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.utils.type.InterpolatedPosition;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestInterpolatedPosition {
+    @Test
+    public void update_movesOverTimeBetweenUpdates() {
+        AtomicLong clock = new AtomicLong(10_000);
+        InterpolatedPosition position = new InterpolatedPosition(0, 64, 0, clock::get);
+
+        clock.addAndGet(100);
+        position.update(4, 64, -2);
+
+        Assertions.assertEquals(0, position.getX(), 0.001f, "Position moved before any time passed");
+
+        clock.addAndGet(50);
+
+        Assertions.assertEquals(2, position.getX(), 0.001f, "Position was not halfway after half the time");
+        Assertions.assertEquals(-1, position.getZ(), 0.001f, "Position was not halfway after half the time");
+        Assertions.assertEquals(64, position.getY(), 0.001f, "Unchanged coordinate moved");
+
+        clock.addAndGet(500);
+
+        Assertions.assertEquals(4, position.getX(), 0.001f, "Position did not stop at the update");
+        Assertions.assertEquals(-2, position.getZ(), 0.001f, "Position did not stop at the update");
+    }
+
+    @Test
+    public void update_continuesFromCurrentlyDrawnPosition() {
+        AtomicLong clock = new AtomicLong(10_000);
+        InterpolatedPosition position = new InterpolatedPosition(0, 0, 0, clock::get);
+
+        clock.addAndGet(100);
+        position.update(10, 0, 0);
+        clock.addAndGet(50);
+        position.update(20, 0, 0);
+
+        Assertions.assertEquals(5, position.getX(), 0.001f, "Position jumped on update");
+
+        clock.addAndGet(25);
+
+        Assertions.assertEquals(12.5f, position.getX(), 0.001f, "Position did not move towards the new update");
+    }
+
+    @Test
+    public void update_farAway_isNotInterpolated() {
+        AtomicLong clock = new AtomicLong(10_000);
+        InterpolatedPosition position = new InterpolatedPosition(0, 0, 0, clock::get);
+
+        clock.addAndGet(100);
+        position.update(500, 0, 500);
+
+        Assertions.assertEquals(500, position.getX(), 0.001f, "Teleport was interpolated");
+        Assertions.assertEquals(500, position.getZ(), 0.001f, "Teleport was interpolated");
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.services.hades.type.PlayerStatus;
+import com.wynntils.utils.type.CappedValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPlayerStatus {
+    private static final CappedValue HEALTH = new CappedValue(100, 200);
+    private static final CappedValue MANA = new CappedValue(50, 100);
+
+    @Test
+    public void quantized_roundsToAnEighthOfABlock() {
+        PlayerStatus status = PlayerStatus.quantized(1.06, -2.3, 10.9999, HEALTH, MANA);
+
+        Assertions.assertEquals(1.0f, status.x(), "x was not rounded to an eighth");
+        Assertions.assertEquals(-2.25f, status.y(), "y was not rounded to an eighth");
+        Assertions.assertEquals(11.0f, status.z(), "z was not rounded to an eighth");
+    }
+
+    @Test
+    public void differsFrom_nothingSent_isTrue() {
+        PlayerStatus status = new PlayerStatus(0, 0, 0, HEALTH, MANA);
+
+        Assertions.assertTrue(status.differsFrom(null, 0.5f), "First status was not worth sending");
+    }
+
+    @Test
+    public void differsFrom_comparesDistanceToMinimum() {
+        PlayerStatus sent = new PlayerStatus(0, 64, 0, HEALTH, MANA);
+
+        Assertions.assertFalse(
+                new PlayerStatus(0.25f, 64, 0.25f, HEALTH, MANA).differsFrom(sent, 0.5f),
+                "Move shorter than the minimum was worth sending");
+        Assertions.assertTrue(
+                new PlayerStatus(0, 64.5f, 0, HEALTH, MANA).differsFrom(sent, 0.5f),
+                "Move of exactly the minimum was not worth sending");
+        Assertions.assertTrue(
+                new PlayerStatus(0.375f, 64, 0.375f, HEALTH, MANA).differsFrom(sent, 0.5f),
+                "Diagonal move longer than the minimum was not worth sending");
+    }
+
+    @Test
+    public void differsFrom_healthOrManaChange_isTrue() {
+        PlayerStatus sent = new PlayerStatus(0, 64, 0, HEALTH, MANA);
+
+        Assertions.assertTrue(
+                new PlayerStatus(0, 64, 0, HEALTH.withCurrent(99), MANA).differsFrom(sent, 0.5f),
+                "Health change was not worth sending");
+        Assertions.assertTrue(
+                new PlayerStatus(0, 64, 0, HEALTH, new CappedValue(50, 120)).differsFrom(sent, 0.5f),
+                "Max mana change was not worth sending");
+        Assertions.assertFalse(
+                new PlayerStatus(0, 64, 0, new CappedValue(100, 200), MANA).differsFrom(sent, 0.5f),
+                "Equal status was worth sending");
+    }
+}
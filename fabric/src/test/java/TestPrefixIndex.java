@@ -0,0 +1,61 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.utils.type.PrefixIndex;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPrefixIndex {
+    @Test
+    public void get_returnsKeyedAndUnkeyedValuesInAddedOrder() {
+        PrefixIndex<String> index = new PrefixIndex<>(2);
+
+        index.add("any1", List.of());
+        index.add("red", List.of("§cHealth", "§cMana"));
+        index.add("any2", List.of());
+        index.add("gold", List.of("§6Gold"));
+
+        Assertions.assertEquals(
+                List.of("any1", "red", "any2"),
+                index.get("§cHealth 100"),
+                "get() did not return the keyed values along with the unkeyed ones in order");
+        Assertions.assertEquals(
+                List.of("any1", "any2", "gold"),
+                index.get("§6Gold bar"),
+                "get() did not give a key added later the unkeyed values added before it");
+    }
+
+    @Test
+    public void get_withUnknownKey_returnsUnkeyedValues() {
+        PrefixIndex<String> index = new PrefixIndex<>(2);
+
+        index.add("red", List.of("§cHealth"));
+        index.add("any", List.of());
+
+        Assertions.assertEquals(List.of("any"), index.get("§aName"), "get() did not fall back to unkeyed values");
+        Assertions.assertEquals(List.of("any"), index.get("§"), "get() of a string shorter than the key failed");
+    }
+
+    @Test
+    public void add_withShortPrefix_isTriedForAllStrings() {
+        PrefixIndex<String> index = new PrefixIndex<>(2);
+
+        index.add("short", List.of("§"));
+        index.add("red", List.of("§cHealth"));
+
+        Assertions.assertEquals(
+                List.of("short", "red"), index.get("§cHealth"), "get() skipped a value with a short prefix");
+        Assertions.assertEquals(List.of("short"), index.get("§aName"), "get() skipped a value with a short prefix");
+    }
+
+    @Test
+    public void add_withSharedKey_addsValueOnce() {
+        PrefixIndex<String> index = new PrefixIndex<>(2);
+
+        index.add("red", List.of("§cHealth", "§cMana"));
+
+        Assertions.assertEquals(List.of("red"), index.get("§cMana"), "get() returned a value more than once");
+    }
+}
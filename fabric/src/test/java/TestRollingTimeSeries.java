@@ -0,0 +1,81 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.utils.type.RollingTimeSeries;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestRollingTimeSeries {
+    @Test
+    public void valuesInWindow_areSummedCountedAndMaxed() {
+        AtomicLong clock = new AtomicLong(10_000);
+        RollingTimeSeries series = new RollingTimeSeries(60, 1, TimeUnit.SECONDS, clock::get);
+
+        series.add(5);
+        series.add(20);
+        clock.addAndGet(1000);
+        series.add(10);
+
+        Assertions.assertEquals(35, series.getSum(60, TimeUnit.SECONDS), "getSum() did not sum all values");
+        Assertions.assertEquals(3, series.getCount(60, TimeUnit.SECONDS), "getCount() did not count all values");
+        Assertions.assertEquals(20, series.getMax(60, TimeUnit.SECONDS), "getMax() did not return the largest value");
+
+        Assertions.assertEquals(10, series.getSum(1, TimeUnit.SECONDS), "getSum() included values outside window");
+        Assertions.assertEquals(10, series.getMax(1, TimeUnit.SECONDS), "getMax() included values outside window");
+    }
+
+    @Test
+    public void valuesOlderThanWindow_areDropped() {
+        AtomicLong clock = new AtomicLong(10_000);
+        RollingTimeSeries series = new RollingTimeSeries(10, 100, TimeUnit.MILLISECONDS, clock::get);
+
+        series.add(7);
+        clock.addAndGet(500);
+        series.add(3);
+
+        Assertions.assertEquals(10, series.getSum(1, TimeUnit.SECONDS), "getSum() did not sum all values");
+
+        clock.addAndGet(600);
+
+        Assertions.assertEquals(3, series.getSum(1, TimeUnit.SECONDS), "getSum() did not drop the expired value");
+
+        clock.addAndGet(1000);
+
+        Assertions.assertEquals(0, series.getSum(1, TimeUnit.SECONDS), "getSum() did not drop all expired values");
+        Assertions.assertEquals(0, series.getMax(1, TimeUnit.SECONDS), "getMax() of an empty window was not 0");
+    }
+
+    @Test
+    public void reusedBucket_doesNotKeepStaleValues() {
+        AtomicLong clock = new AtomicLong(0);
+        RollingTimeSeries series = new RollingTimeSeries(4, 1, TimeUnit.SECONDS, clock::get);
+
+        series.add(100);
+        // Wraps around to the same slot as the first value
+        clock.addAndGet(4000);
+        series.add(1);
+
+        Assertions.assertEquals(1, series.getSum(4, TimeUnit.SECONDS), "getSum() kept a value from a reused bucket");
+        Assertions.assertEquals(1, series.getCount(4, TimeUnit.SECONDS), "getCount() kept a reused bucket's count");
+    }
+
+    @Test
+    public void averagePerSecond_dividesByRequestedDuration() {
+        AtomicLong clock = new AtomicLong(0);
+        RollingTimeSeries series = new RollingTimeSeries(600, 100, TimeUnit.MILLISECONDS, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(1000);
+            series.add(100);
+        }
+
+        Assertions.assertEquals(
+                100.0,
+                series.getAveragePerSecond(10, TimeUnit.SECONDS),
+                0.0001,
+                "getAveragePerSecond() did not return the expected average");
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.character.SkillPointSolver;
+import com.wynntils.models.character.type.SkillPointGear;
+import com.wynntils.models.character.type.SkillPointSolution;
+import com.wynntils.models.elements.type.Skill;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSkillPointSolver {
+    private static final int[] NO_BASE_POINTS = new int[5];
+
+    @Test
+    public void noGear_isPossibleWithoutPoints() {
+        SkillPointSolution solution = SkillPointSolver.solve(List.of(), NO_BASE_POINTS, 0);
+
+        Assertions.assertTrue(solution.isPossible(), "Empty build was not possible");
+        Assertions.assertEquals(0, solution.getAssignedSum(), "Empty build needed assigned points");
+        Assertions.assertTrue(solution.equipOrder().isEmpty(), "Empty build had an equip order");
+    }
+
+    @Test
+    public void equipOrder_usesBonusesOfEarlierGear() {
+        // Equipping the helmet first gives the dexterity the boots need, the other way around needs 70 points
+        SkillPointGear boots = new SkillPointGear("Boots", new int[] {0, 30, 0, 0, 0}, new int[] {10, 0, 0, 0, 0});
+        SkillPointGear helmet = new SkillPointGear("Helmet", new int[] {50, 0, 0, 0, 0}, new int[] {0, 30, 0, 0, 0});
+
+        SkillPointSolution solution = SkillPointSolver.solve(List.of(boots, helmet), NO_BASE_POINTS, 200);
+
+        Assertions.assertTrue(solution.isPossible(), "Build was not possible");
+        Assertions.assertEquals(List.of(helmet, boots), solution.equipOrder(), "Equip order was not optimal");
+        Assertions.assertEquals(50, solution.getAssignedSkillPoints(Skill.STRENGTH), "Wrong strength assigned");
+        Assertions.assertEquals(0, solution.getAssignedSkillPoints(Skill.DEXTERITY), "Wrong dexterity assigned");
+    }
+
+    @Test
+    public void bonusesOfLastGear_doNotCountForItself() {
+        SkillPointGear ring = new SkillPointGear("Ring", new int[] {0, 0, 40, 0, 0}, new int[] {0, 0, 20, 0, 0});
+
+        SkillPointSolution solution = SkillPointSolver.solve(List.of(ring), NO_BASE_POINTS, 200);
+
+        Assertions.assertEquals(
+                40, solution.getAssignedSkillPoints(Skill.INTELLIGENCE), "Gear bonus counted for its own requirement");
+    }
+
+    @Test
+    public void negativeBonusOfLaterGear_countsForEarlierGear() {
+        // Equipping the helmet first only needs 40 strength, but the ring then takes 10 of it away again
+        SkillPointGear helmet = new SkillPointGear("Helmet", new int[] {40, 0, 0, 0, 0}, new int[5]);
+        SkillPointGear ring = new SkillPointGear("Ring", new int[5], new int[] {-10, 0, 0, 0, 0});
+
+        SkillPointSolution solution = SkillPointSolver.solve(List.of(helmet, ring), NO_BASE_POINTS, 200);
+
+        Assertions.assertTrue(solution.isPossible(), "Build was not possible");
+        Assertions.assertEquals(
+                50,
+                solution.getAssignedSkillPoints(Skill.STRENGTH),
+                "Negative bonus of later gear did not count for the earlier requirement");
+    }
+
+    @Test
+    public void negativeBonusOfGear_doesNotCountForItself() {
+        SkillPointGear boots = new SkillPointGear("Boots", new int[] {0, 0, 0, 0, 30}, new int[] {0, 0, 0, 0, -5});
+
+        SkillPointSolution solution = SkillPointSolver.solve(List.of(boots), NO_BASE_POINTS, 200);
+
+        Assertions.assertEquals(
+                30, solution.getAssignedSkillPoints(Skill.AGILITY), "Gear bonus counted for its own requirement");
+    }
+
+    @Test
+    public void basePoints_reduceAssignedPoints() {
+        SkillPointGear ring = new SkillPointGear("Ring", new int[] {0, 0, 40, 0, 0}, new int[5]);
+
+        SkillPointSolution solution = SkillPointSolver.solve(List.of(ring), new int[] {0, 0, 15, 0, 0}, 200);
+
+        Assertions.assertEquals(
+                25, solution.getAssignedSkillPoints(Skill.INTELLIGENCE), "Base points were not subtracted");
+    }
+
+    @Test
+    public void tooFewAvailablePoints_isReported() {
+        SkillPointGear spear = new SkillPointGear("Spear", new int[] {0, 0, 0, 60, 0}, new int[5]);
+
+        SkillPointSolution solution = SkillPointSolver.solve(List.of(spear), NO_BASE_POINTS, 40);
+
+        Assertions.assertEquals(
+                SkillPointSolution.Result.EXCEEDS_AVAILABLE_POINTS,
+                solution.result(),
+                "Missing points were not reported");
+        Assertions.assertEquals(60, solution.getAssignedSum(), "Needed points were not returned");
+    }
+
+    @Test
+    public void requirementAboveSkillLimit_isImpossible() {
+        SkillPointGear bow = new SkillPointGear("Bow", new int[] {0, 0, 0, 0, 120}, new int[5]);
+
+        SkillPointSolution solution = SkillPointSolver.solve(List.of(bow), NO_BASE_POINTS, 200);
+
+        Assertions.assertEquals(
+                SkillPointSolution.Result.EXCEEDS_SKILL_LIMIT, solution.result(), "Skill limit was not enforced");
+    }
+}
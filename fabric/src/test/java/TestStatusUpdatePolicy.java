@@ -0,0 +1,93 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.services.hades.StatusUpdatePolicy;
+import com.wynntils.services.hades.type.PlayerStatus;
+import com.wynntils.utils.type.CappedValue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestStatusUpdatePolicy {
+    private static final CappedValue HEALTH = new CappedValue(100, 200);
+    private static final CappedValue MANA = new CappedValue(50, 100);
+
+    @Test
+    public void firstTick_sendsStatus() {
+        StatusUpdatePolicy policy = new StatusUpdatePolicy();
+
+        Assertions.assertNotNull(policy.onTick(() -> status(0, 0)), "First status was not sent");
+    }
+
+    @Test
+    public void movingPlayer_sendsEverySecondTick() {
+        StatusUpdatePolicy policy = new StatusUpdatePolicy();
+
+        List<Integer> sentTicks = new ArrayList<>();
+        for (int tick = 0; tick < 10; tick++) {
+            float x = tick;
+            if (policy.onTick(() -> status(x, 0)) != null) {
+                sentTicks.add(tick);
+            }
+        }
+
+        Assertions.assertEquals(List.of(0, 2, 4, 6, 8), sentTicks, "Moving player was not sent every second tick");
+    }
+
+    @Test
+    public void smallMove_waitsForKeyframe() {
+        StatusUpdatePolicy policy = new StatusUpdatePolicy();
+        policy.onTick(() -> status(0, 0));
+
+        int sentTick = -1;
+        for (int tick = 1; tick <= 200 && sentTick < 0; tick++) {
+            if (policy.onTick(() -> status(0.25f, 0)) != null) {
+                sentTick = tick;
+            }
+        }
+
+        Assertions.assertEquals(100, sentTick, "Small move was not sent with the keyframe after 100 ticks");
+    }
+
+    @Test
+    public void stillPlayer_sendsNoKeyframes() {
+        StatusUpdatePolicy policy = new StatusUpdatePolicy();
+        policy.onTick(() -> status(0, 0));
+
+        for (int tick = 1; tick <= 500; tick++) {
+            Assertions.assertNull(policy.onTick(() -> status(0, 0)), "Unchanged status was sent on tick " + tick);
+        }
+
+        Assertions.assertNotNull(
+                policy.onTick(() -> status(0.25f, 0)), "Small move was not sent right away after an overdue keyframe");
+    }
+
+    @Test
+    public void reset_sendsUnchangedStatusOnNextCheck() {
+        StatusUpdatePolicy policy = new StatusUpdatePolicy();
+        policy.onTick(() -> status(0, 0));
+        policy.onTick(() -> status(0, 0));
+
+        policy.reset();
+
+        Assertions.assertNotNull(policy.onTick(() -> status(0, 0)), "Status was not resent after reset");
+    }
+
+    @Test
+    public void healthChange_isSentRightAway() {
+        StatusUpdatePolicy policy = new StatusUpdatePolicy();
+        policy.onTick(() -> status(0, 0));
+        policy.onTick(() -> status(0, 0));
+
+        PlayerStatus sent = policy.onTick(() -> new PlayerStatus(0, 0, 0, HEALTH.withCurrent(10), MANA));
+
+        Assertions.assertNotNull(sent, "Health change was not sent");
+        Assertions.assertEquals(10, sent.health().current(), "Sent status did not have the new health");
+    }
+
+    private static PlayerStatus status(float x, float z) {
+        return new PlayerStatus(x, 64, z, HEALTH, MANA);
+    }
+}
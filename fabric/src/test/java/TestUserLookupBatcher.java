@@ -0,0 +1,241 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.wynntils.models.players.AthenaUserReply;
+import com.wynntils.models.players.UserLookupBatcher;
+import com.wynntils.models.players.type.CachedUserLookup;
+import com.wynntils.models.players.type.UserLookupMetrics;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestUserLookupBatcher {
+    private static final String USER_JSON = "{\"user\":{\"accountType\":\"NORMAL\",\"cosmetics\":"
+            + "{\"hasEars\":false,\"hasCape\":true,\"hasElytra\":false,\"texture\":\"\"}}}";
+    private static final String NOT_FOUND_JSON = "{\"message\":\"User not found\"}";
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    // Athena stand-in, which knows the users and the broken lookups, and counts the requests
+    private final Set<UUID> knownUsers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> brokenUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final BlockingQueue<CachedUserLookup> results = new LinkedBlockingQueue<>();
+    private final AtomicInteger cacheChanges = new AtomicInteger();
+    private final AtomicInteger userFailures = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ScheduledExecutorService executor;
+    private UserLookupBatcher batcher;
+
+    @BeforeAll
+    public static void setupMinecraft() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/user/", this::handleRequest);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        executor = Executors.newSingleThreadScheduledExecutor();
+        batcher = new UserLookupBatcher(
+                this::lookupUser,
+                (task, delayMillis) -> executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS),
+                clock::get,
+                (uuid, lookup) -> results.add(lookup),
+                cacheChanges::incrementAndGet);
+    }
+
+    @AfterEach
+    public void teardown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void manyLookups_areSentInCappedBatchesOneAtATime() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            UUID uuid = UUID.randomUUID();
+            knownUsers.add(uuid);
+            batcher.lookup(uuid);
+        }
+
+        awaitResults(20);
+
+        UserLookupMetrics metrics = batcher.getMetrics();
+        Assertions.assertEquals(20, requests.get(), "Each player was not requested exactly once");
+        Assertions.assertEquals(2, metrics.batches(), "20 lookups were not sent as a batch of 16 and one of 4");
+        Assertions.assertEquals(20, metrics.lookups(), "Batched lookups were not counted");
+        Assertions.assertTrue(maxInFlight.get() <= 16, "More requests than a batch were sent at once");
+        Assertions.assertEquals(20, metrics.cachedUsers(), "Found users were not cached");
+    }
+
+    @Test
+    public void repeatedLookup_whilePending_isSentOnce() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+        knownUsers.add(uuid);
+
+        batcher.lookup(uuid);
+        batcher.lookup(uuid);
+        awaitResults(1);
+
+        Assertions.assertEquals(1, requests.get(), "A pending player was requested again");
+    }
+
+    @Test
+    public void cachedUser_isReusedUntilExpired() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+        knownUsers.add(uuid);
+
+        batcher.lookup(uuid);
+        CachedUserLookup lookup = awaitResults(1);
+        Assertions.assertTrue(lookup.isWynntilsUser(), "Known player was not found");
+        Assertions.assertTrue(lookup.user().cosmetics().hasCape(), "User was not parsed from the reply");
+        Assertions.assertEquals(1, cacheChanges.get(), "Cache change was not reported");
+
+        clock.addAndGet(TimeUnit.HOURS.toMillis(5));
+        batcher.lookup(uuid);
+        Assertions.assertNotNull(results.poll(), "Cached user was not answered right away");
+        Assertions.assertEquals(1, requests.get(), "Cached user was requested again");
+        Assertions.assertEquals(1, batcher.getMetrics().cacheHits(), "Cache hit was not counted");
+
+        clock.addAndGet(TimeUnit.HOURS.toMillis(2));
+        batcher.lookup(uuid);
+        awaitResults(1);
+        Assertions.assertEquals(2, requests.get(), "Expired user was not requested again");
+    }
+
+    @Test
+    public void notFound_isCachedLongerThanUsers() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+
+        batcher.lookup(uuid);
+        CachedUserLookup lookup = awaitResults(1);
+        Assertions.assertFalse(lookup.isWynntilsUser(), "Unknown player was found");
+        Assertions.assertEquals(1, batcher.getMetrics().cachedNonUsers(), "Unknown player was not cached");
+
+        clock.addAndGet(TimeUnit.HOURS.toMillis(7));
+        batcher.lookup(uuid);
+        Assertions.assertNotNull(results.poll(), "Cached unknown player was not answered right away");
+        Assertions.assertEquals(1, requests.get(), "Unknown player was requested again before 12 hours");
+
+        clock.addAndGet(TimeUnit.HOURS.toMillis(6));
+        batcher.lookup(uuid);
+        awaitResults(1);
+        Assertions.assertEquals(2, requests.get(), "Expired unknown player was not requested again");
+    }
+
+    @Test
+    public void failedLookup_isNotCached() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+        brokenUsers.add(uuid);
+
+        batcher.lookup(uuid);
+        awaitCondition(() -> batcher.getMetrics().batches() == 1, "Failed lookup did not finish the batch");
+
+        batcher.lookup(uuid);
+        awaitCondition(() -> batcher.getMetrics().batches() == 2, "Failed player was not looked up again");
+
+        Assertions.assertEquals(2, requests.get(), "Failed player was not requested again");
+        Assertions.assertTrue(results.isEmpty(), "Failed lookup was answered");
+        Assertions.assertEquals(0, cacheChanges.get(), "Failed lookup was cached");
+        Assertions.assertEquals(2, userFailures.get(), "Failed lookups were not reported");
+    }
+
+    private void lookupUser(UUID uuid, UserLookupBatcher.Answer answer) {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/user/" + uuid);
+
+        client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString())
+                .thenAccept(response -> AthenaUserReply.answer(
+                        JsonParser.parseString(response.body()).getAsJsonObject(),
+                        answer,
+                        userFailures::incrementAndGet))
+                .exceptionally(e -> {
+                    userFailures.incrementAndGet();
+                    answer.failed();
+                    return null;
+                });
+    }
+
+    private void handleRequest(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+        try {
+            // Answer slowly enough for the requests of a batch to overlap
+            Thread.sleep(20);
+
+            String path = exchange.getRequestURI().getPath();
+            UUID uuid = UUID.fromString(path.substring(path.lastIndexOf('/') + 1));
+            String body = brokenUsers.contains(uuid) ? "{}" : knownUsers.contains(uuid) ? USER_JSON : NOT_FOUND_JSON;
+
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private CachedUserLookup awaitResults(int count) throws InterruptedException {
+        CachedUserLookup last = null;
+        for (int i = 0; i < count; i++) {
+            last = results.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            Assertions.assertNotNull(last, "Lookup was not answered in time");
+        }
+
+        return last;
+    }
+
+    private void awaitCondition(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, message);
+            Thread.sleep(10);
+        }
+    }
+}